@@ -0,0 +1,40 @@
+package tech.remiges.serversage.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * Without arguments every benchmark runs with the GC profiler, so each result carries
+ * throughput, latency percentiles (sample mode) and allocation rate per operation; the
+ * JSON report is written to {@code jmh-result.json} for comparison against a baseline.
+ * Any arguments are handed to the standard JMH command line instead.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        runAll();
+    }
+
+    private static void runAll() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("tech\\.remiges\\.serversage\\.benchmarks\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,70 @@
+package tech.remiges.serversage.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tech.remiges.serversage.observability.ObservabilityAspect;
+import tech.remiges.serversage.observability.ObservabilityService;
+import tech.remiges.serversage.service.BenchmarkTargetService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead {@link ObservabilityAspect} adds to a service call, compared with the same
+ * call made directly on the target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ObservabilityAspectBenchmark {
+
+    private TelemetryFixture telemetry;
+    private BenchmarkTargetService direct;
+    private BenchmarkTargetService advised;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        telemetry = new TelemetryFixture();
+        ObservabilityService observabilityService = new ObservabilityService(telemetry.openTelemetry());
+
+        direct = new BenchmarkTargetService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ObservabilityAspect(observabilityService));
+        advised = factory.getProxy();
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetExporters() {
+        telemetry.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        telemetry.close();
+    }
+
+    @Benchmark
+    public long baseline() {
+        return direct.lookup(++id);
+    }
+
+    @Benchmark
+    public long serviceAdvice() {
+        return advised.lookup(++id);
+    }
+}
@@ -0,0 +1,69 @@
+package tech.remiges.serversage.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.remiges.serversage.observability.ObservabilityService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link ObservabilityService} calls made on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ObservabilityServiceBenchmark {
+
+    private TelemetryFixture telemetry;
+    private ObservabilityService observabilityService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        telemetry = new TelemetryFixture();
+        observabilityService = new ObservabilityService(telemetry.openTelemetry());
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetExporters() {
+        telemetry.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        telemetry.close();
+    }
+
+    @Benchmark
+    public void recordHttpRequest() {
+        observabilityService.recordHttpRequest("GET", "/api/users/{id}", 200, 12L);
+    }
+
+    @Benchmark
+    public void recordDatabaseOperation() {
+        observabilityService.recordDatabaseOperation("findById", "users", 3L, true);
+    }
+
+    @Benchmark
+    public String executeInSpan() {
+        return observabilityService.executeInSpan("UserService.getUserById", "service", () -> "user");
+    }
+
+    /** {@code logWithTraceContext} is private; {@code logInfo} is its thinnest public entry point. */
+    @Benchmark
+    public void logWithTraceContext() {
+        observabilityService.logInfo("User fetched");
+    }
+}
@@ -0,0 +1,46 @@
+package tech.remiges.serversage.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.remiges.serversage.observability.RouteNormalizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RouteNormalizer} against the regular-expression normalisation it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteNormalizerBenchmark {
+
+    @Param({
+            "/api/users",
+            "/api/users/42",
+            "/api/orders/123e4567-e89b-12d3-a456-426614174000/items/7",
+            "/api/products/category/electronics?page=2"
+    })
+    public String uri;
+
+    @Benchmark
+    public String routeNormalizer() {
+        return RouteNormalizer.normalize(uri);
+    }
+
+    @Benchmark
+    public String regexBaseline() {
+        return uri.replaceAll("/\\d+", "/{id}")
+                .replaceAll("/[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{12}", "/{uuid}");
+    }
+}
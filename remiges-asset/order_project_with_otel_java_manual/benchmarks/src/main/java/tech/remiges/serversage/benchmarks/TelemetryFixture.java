@@ -0,0 +1,58 @@
+package tech.remiges.serversage.benchmarks;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.slf4j.bridge.SLF4JBridgeHandler;
+
+/**
+ * OpenTelemetry SDK wired to in-memory exporters, so benchmarks measure the
+ * instrumentation path without network I/O. Call {@link #reset()} between
+ * iterations to keep the exporters from growing without bound.
+ */
+public final class TelemetryFixture {
+
+    private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+    private final InMemoryLogRecordExporter logExporter = InMemoryLogRecordExporter.create();
+    private final InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    private final OpenTelemetrySdk openTelemetry;
+
+    public TelemetryFixture() {
+        // java.util.logging (used by the JDBC tracing classes) goes through the same no-op logback setup
+        SLF4JBridgeHandler.removeHandlersForRootLogger();
+        SLF4JBridgeHandler.install();
+
+        this.openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                        .build())
+                .setMeterProvider(SdkMeterProvider.builder()
+                        .registerMetricReader(metricReader)
+                        .build())
+                .setLoggerProvider(SdkLoggerProvider.builder()
+                        .addLogRecordProcessor(SimpleLogRecordProcessor.create(logExporter))
+                        .build())
+                .build();
+    }
+
+    public OpenTelemetry openTelemetry() {
+        return openTelemetry;
+    }
+
+    public void reset() {
+        spanExporter.reset();
+        logExporter.reset();
+        metricReader.collectAllMetrics();
+    }
+
+    public void close() {
+        openTelemetry.close();
+    }
+}
@@ -0,0 +1,93 @@
+package tech.remiges.serversage.benchmarks;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.remiges.serversage.config.DatabaseTracingConfig;
+import tech.remiges.serversage.config.TracedJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code TracedJdbcTemplate.executeWithTracing} (reached through the public query
+ * methods) against a plain {@link JdbcTemplate} on the same in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TracedJdbcTemplateBenchmark {
+
+    private static final String QUERY = "SELECT id, username, email FROM users WHERE id = ?";
+
+    private TelemetryFixture telemetry;
+    private JdbcTemplate plain;
+    private TracedJdbcTemplate traced;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        telemetry = new TelemetryFixture();
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        plain = new JdbcTemplate(dataSource);
+        plain.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100))");
+        plain.update("MERGE INTO users KEY (id) VALUES (1, 'john_doe', 'john@example.com')");
+
+        // DatabaseTracingConfig is field-injected by Spring; wire it by hand here
+        DatabaseTracingConfig config = new DatabaseTracingConfig();
+        inject(config, "openTelemetry", telemetry.openTelemetry());
+        inject(config, "dataSource", dataSource);
+        traced = new TracedJdbcTemplate(dataSource, config.databaseTracer());
+    }
+
+    private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetExporters() {
+        telemetry.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        telemetry.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> plainQuery() {
+        return plain.queryForList(QUERY, 1L);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> tracedQuery() {
+        return traced.queryForList(QUERY, 1L);
+    }
+
+    @Benchmark
+    public int tracedUpdate() {
+        return traced.update("UPDATE users SET email = ? WHERE id = ?", "john@example.com", 1L);
+    }
+}
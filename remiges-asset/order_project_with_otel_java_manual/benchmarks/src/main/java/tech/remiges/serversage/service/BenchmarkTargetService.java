@@ -0,0 +1,12 @@
+package tech.remiges.serversage.service;
+
+/**
+ * Trivial service used by the aspect benchmark. It lives in the service package so that
+ * {@code ObservabilityAspect}'s service pointcut matches it.
+ */
+public class BenchmarkTargetService {
+
+    public long lookup(long id) {
+        return id * 31;
+    }
+}
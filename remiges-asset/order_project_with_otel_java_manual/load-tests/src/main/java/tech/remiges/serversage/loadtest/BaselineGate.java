@@ -0,0 +1,98 @@
+package tech.remiges.serversage.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a {@link LoadReport} with the stored baseline for the same scenario.
+ *
+ * A run regresses when an endpoint's p99 rises above the baseline p99 by more than
+ * {@code p99Tolerance} (plus a small absolute slack so sub-millisecond endpoints do not
+ * flap), or when the overall or per-endpoint throughput falls below the baseline by more
+ * than {@code throughputTolerance}. Endpoints with fewer than {@code minSamples} requests
+ * on either side are not compared. A missing baseline fails the gate, so a fresh checkout
+ * cannot pass unchecked; when an update is requested the current report is written as
+ * the new baseline and the gate passes.
+ */
+public class BaselineGate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path baselineDir;
+    private final double p99Tolerance;
+    private final double p99SlackMs;
+    private final double throughputTolerance;
+    private final long minSamples;
+    private final boolean updateBaseline;
+
+    public BaselineGate(Path baselineDir, double p99Tolerance, double p99SlackMs,
+                        double throughputTolerance, long minSamples, boolean updateBaseline) {
+        this.baselineDir = baselineDir;
+        this.p99Tolerance = p99Tolerance;
+        this.p99SlackMs = p99SlackMs;
+        this.throughputTolerance = throughputTolerance;
+        this.minSamples = minSamples;
+        this.updateBaseline = updateBaseline;
+    }
+
+    public Result check(LoadReport report) throws IOException {
+        Path baselineFile = baselineDir.resolve(report.scenario() + ".json");
+        if (updateBaseline) {
+            write(report, baselineFile);
+            return new Result(List.of(), true);
+        }
+        if (!Files.exists(baselineFile)) {
+            return new Result(List.of("no baseline at " + baselineFile
+                    + ", record one with -Dloadtest.update-baseline=true and commit it"), false);
+        }
+        return new Result(compare(MAPPER.readValue(baselineFile.toFile(), LoadReport.class), report), false);
+    }
+
+    public List<String> compare(LoadReport baseline, LoadReport current) {
+        List<String> violations = new ArrayList<>();
+        double minThroughput = baseline.throughputPerSecond() * (1 - throughputTolerance);
+        if (current.throughputPerSecond() < minThroughput) {
+            violations.add(String.format("total throughput %.1f/s is below %.1f/s (baseline %.1f/s)",
+                    current.throughputPerSecond(), minThroughput, baseline.throughputPerSecond()));
+        }
+
+        for (Map.Entry<String, LoadReport.EndpointStats> entry : baseline.endpoints().entrySet()) {
+            LoadReport.EndpointStats expected = entry.getValue();
+            LoadReport.EndpointStats actual = current.endpoints().get(entry.getKey());
+            if (expected.count() < minSamples || actual == null || actual.count() < minSamples) {
+                continue;
+            }
+            double maxP99 = expected.p99Ms() * (1 + p99Tolerance) + p99SlackMs;
+            if (actual.p99Ms() > maxP99) {
+                violations.add(String.format("%s p99 %.2fms exceeds %.2fms (baseline %.2fms)",
+                        entry.getKey(), actual.p99Ms(), maxP99, expected.p99Ms()));
+            }
+            double minEndpointThroughput = expected.throughputPerSecond() * (1 - throughputTolerance);
+            if (actual.throughputPerSecond() < minEndpointThroughput) {
+                violations.add(String.format("%s throughput %.1f/s is below %.1f/s (baseline %.1f/s)",
+                        entry.getKey(), actual.throughputPerSecond(), minEndpointThroughput,
+                        expected.throughputPerSecond()));
+            }
+        }
+        return violations;
+    }
+
+    public static void write(LoadReport report, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), report);
+    }
+
+    public record Result(List<String> violations, boolean baselineWritten) {
+
+        public boolean passed() {
+            return violations.isEmpty();
+        }
+    }
+}
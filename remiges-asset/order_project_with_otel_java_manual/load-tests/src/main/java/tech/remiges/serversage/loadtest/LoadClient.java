@@ -0,0 +1,126 @@
+package tech.remiges.serversage.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import tech.remiges.serversage.observability.RouteNormalizer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP client used by the load scenarios.
+ *
+ * Every request is timed into an HdrHistogram keyed by {@code METHOD route}, where the
+ * route is produced by the application's own {@link RouteNormalizer} so the labels match
+ * the {@code http.route} used in traces and metrics. Transport failures and 5xx responses
+ * are counted as errors. Recording can be switched off so warmup traffic is discarded.
+ */
+public class LoadClient {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+    private final Duration requestTimeout;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording = true;
+
+    public LoadClient(URI baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    public Response get(String path) {
+        return send("GET", path, null);
+    }
+
+    public Response post(String path, String json) {
+        return send("POST", path, json);
+    }
+
+    public Response put(String path, String json) {
+        return send("PUT", path, json);
+    }
+
+    public Response patch(String path) {
+        return send("PATCH", path, null);
+    }
+
+    public Response send(String method, String path, String json) {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .method(method, json == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            response = new Response(httpResponse.statusCode(), httpResponse.body());
+        } catch (IOException e) {
+            response = new Response(0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        if (recording) {
+            Endpoint endpoint = endpoints.computeIfAbsent(method + " " + RouteNormalizer.normalize(path),
+                    label -> new Endpoint());
+            endpoint.latency.recordValue(Math.min(elapsedMicros, HIGHEST_TRACKABLE_MICROS));
+            if (response.status() == 0 || response.status() >= 500) {
+                endpoint.errors.increment();
+            }
+        }
+        return response;
+    }
+
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /** Copies of the latency histograms recorded so far, by endpoint label. */
+    public Map<String, Histogram> latencies() {
+        Map<String, Histogram> copies = new TreeMap<>();
+        endpoints.forEach((label, endpoint) -> copies.put(label, endpoint.latency.copy()));
+        return copies;
+    }
+
+    public long errors(String label) {
+        Endpoint endpoint = endpoints.get(label);
+        return endpoint == null ? 0 : endpoint.errors.sum();
+    }
+
+    public record Response(int status, String body) {
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 400;
+        }
+    }
+
+    private static final class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,83 @@
+package tech.remiges.serversage.loadtest;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a {@link Scenario} with a fixed number of virtual users: a warmup whose samples
+ * are discarded, then a measured window.
+ *
+ * Users run on virtual threads when the JVM has them (Java 21+) and on one platform
+ * thread each otherwise; the executor is looked up reflectively so the module still
+ * builds on the project's Java 17 baseline.
+ */
+public class LoadGenerator {
+
+    private final LoadClient client;
+
+    public LoadGenerator(LoadClient client) {
+        this.client = client;
+    }
+
+    public LoadReport run(String name, Scenario scenario, int users, Duration warmup, Duration duration)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = newUserExecutor(users);
+        try {
+            for (int i = 0; i < users; i++) {
+                executor.execute(() -> {
+                    while (running.get()) {
+                        try {
+                            scenario.iterate(client);
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+            }
+
+            client.setRecording(false);
+            Thread.sleep(warmup.toMillis());
+            client.reset();
+            client.setRecording(true);
+
+            long start = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            client.setRecording(false);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            running.set(false);
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+            if (failures.get() > 0) {
+                throw new IllegalStateException(failures.get() + " scenario iterations of '" + name + "' failed");
+            }
+            return LoadReport.from(name, users, elapsedSeconds, client);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    static ExecutorService newUserExecutor(int users) {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger index = new AtomicInteger();
+            return Executors.newFixedThreadPool(users, task -> {
+                Thread thread = new Thread(task, "load-user-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package tech.remiges.serversage.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of one measured run: per-endpoint latency percentiles, throughput and errors.
+ * This is also the format of the stored baselines.
+ */
+public record LoadReport(String scenario, int users, double durationSeconds,
+                         double throughputPerSecond, Map<String, EndpointStats> endpoints) {
+
+    public record EndpointStats(long count, double throughputPerSecond, double p50Ms, double p95Ms,
+                                double p99Ms, double maxMs, long errors) {
+    }
+
+    public static LoadReport from(String scenario, int users, double durationSeconds, LoadClient client) {
+        Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<String, Histogram> entry : client.latencies().entrySet()) {
+            Histogram histogram = entry.getValue();
+            long count = histogram.getTotalCount();
+            total += count;
+            endpoints.put(entry.getKey(), new EndpointStats(
+                    count,
+                    round(count / durationSeconds),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()),
+                    client.errors(entry.getKey())));
+        }
+        return new LoadReport(scenario, users, round(durationSeconds), round(total / durationSeconds), endpoints);
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%s: %d users, %.1fs, %.1f req/s%n",
+                scenario, users, durationSeconds, throughputPerSecond));
+        endpoints.forEach((label, stats) -> summary.append(String.format(
+                "  %-50s %8d req %8.1f/s  p50 %7.2fms  p95 %7.2fms  p99 %7.2fms  max %8.2fms  errors %d%n",
+                label, stats.count(), stats.throughputPerSecond(), stats.p50Ms(), stats.p95Ms(),
+                stats.p99Ms(), stats.maxMs(), stats.errors())));
+        return summary.toString();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,37 @@
+package tech.remiges.serversage.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load profile and gate thresholds, read from {@code loadtest.*} system properties
+ * (set from the module's pom, overridable with {@code -D}).
+ */
+public record LoadSettings(Duration warmup, Duration duration, int comprehensiveUsers, int stressUsers,
+                           double p99Tolerance, double p99SlackMs, double throughputTolerance,
+                           long minSamples, Path baselineDir, Path reportDir, boolean updateBaseline) {
+
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Duration.parse(property("loadtest.warmup", "PT5S")),
+                Duration.parse(property("loadtest.duration", "PT20S")),
+                Integer.parseInt(property("loadtest.comprehensive.users", "8")),
+                Integer.parseInt(property("loadtest.stress.users", "32")),
+                Double.parseDouble(property("loadtest.p99-tolerance", "0.25")),
+                Double.parseDouble(property("loadtest.p99-slack-ms", "5")),
+                Double.parseDouble(property("loadtest.throughput-tolerance", "0.20")),
+                Long.parseLong(property("loadtest.min-samples", "100")),
+                Path.of(property("loadtest.baseline-dir", "baseline")),
+                Path.of(property("loadtest.report-dir", "target/loadtest")),
+                Boolean.parseBoolean(property("loadtest.update-baseline", "false")));
+    }
+
+    public BaselineGate gate() {
+        return new BaselineGate(baselineDir, p99Tolerance, p99SlackMs, throughputTolerance, minSamples, updateBaseline);
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
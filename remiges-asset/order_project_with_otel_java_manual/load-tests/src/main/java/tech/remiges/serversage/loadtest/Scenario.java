@@ -0,0 +1,10 @@
+package tech.remiges.serversage.loadtest;
+
+/**
+ * One iteration of a virtual user, the equivalent of a k6 {@code default} function.
+ */
+@FunctionalInterface
+public interface Scenario {
+
+    void iterate(LoadClient client);
+}
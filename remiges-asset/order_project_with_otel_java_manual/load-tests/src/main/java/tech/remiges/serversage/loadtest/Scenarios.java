@@ -0,0 +1,203 @@
+package tech.remiges.serversage.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Java ports of the k6 scenarios in {@code k6-tests/}.
+ *
+ * {@link #comprehensive()} follows {@code comprehensive-test.js}: each iteration picks one
+ * of eight request groups at random. {@link #stress()} follows {@code stress-test.js} and
+ * hits the four main list endpoints. Think time is left out so the scenarios measure
+ * closed-loop capacity; the number of virtual users sets the concurrency.
+ */
+public final class Scenarios {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static final List<Map<String, Object>> USERS = List.of(
+            Map.of("name", "Alice Johnson", "email", "alice@test.com", "role", "USER"),
+            Map.of("name", "Bob Admin", "email", "bob@test.com", "role", "ADMIN"),
+            Map.of("name", "Charlie Manager", "email", "charlie@test.com", "role", "MANAGER"));
+
+    private static final List<Map<String, Object>> PRODUCTS = List.of(
+            Map.of("name", "Gaming Laptop", "description", "High-performance laptop", "price", 1299.99,
+                    "stockQuantity", 1_000_000, "category", "electronics"),
+            Map.of("name", "Office Chair", "description", "Ergonomic chair", "price", 299.99,
+                    "stockQuantity", 1_000_000, "category", "furniture"),
+            Map.of("name", "Programming Book", "description", "Learn to code", "price", 49.99,
+                    "stockQuantity", 1_000_000, "category", "books"));
+
+    private static final String[] KEYWORDS = {"test", "admin", "laptop", "chair"};
+
+    private Scenarios() {
+    }
+
+    /**
+     * Creates the users, products and orders the scenarios read, so a fresh H2 database
+     * answers with realistic payloads instead of empty lists and 404s.
+     */
+    public static void seed(LoadClient client, int users, int products, int orders) {
+        for (int i = 0; i < users; i++) {
+            client.post("/api/users", json(unique(USERS.get(i % USERS.size()), "email")));
+        }
+        for (int i = 0; i < products; i++) {
+            client.post("/api/products", json(unique(PRODUCTS.get(i % PRODUCTS.size()), "name")));
+        }
+        for (int i = 0; i < orders; i++) {
+            client.post("/api/orders", json(Map.of(
+                    "userId", i % users + 1, "productId", i % products + 1, "quantity", 1)));
+        }
+    }
+
+    public static Scenario comprehensive() {
+        return client -> {
+            switch (random().nextInt(8)) {
+                case 0 -> userEndpoints(client);
+                case 1 -> productEndpoints(client);
+                case 2 -> orderEndpoints(client);
+                case 3 -> analyticsEndpoints(client);
+                case 4 -> errorScenarios(client);
+                case 5 -> searchEndpoints(client);
+                case 6 -> healthEndpoints(client);
+                default -> mixedWorkload(client);
+            }
+        };
+    }
+
+    public static Scenario stress() {
+        return client -> {
+            client.get("/api/users");
+            client.get("/api/products");
+            client.get("/api/orders");
+            client.get("/api/analytics/dashboard");
+        };
+    }
+
+    private static void userEndpoints(LoadClient client) {
+        client.get("/api/users");
+        client.get("/api/users/" + (random().nextInt(10) + 1));
+
+        Map<String, Object> user = unique(pick(USERS), "email");
+        LoadClient.Response created = client.post("/api/users", json(user));
+        if (created.status() == 201) {
+            JsonNode body = parse(created.body());
+            long id = body.path("id").asLong();
+            client.get("/api/users/" + id + "/profile");
+            Map<String, Object> update = new HashMap<>(user);
+            update.put("role", "MANAGER");
+            client.put("/api/users/" + id, json(update));
+        }
+
+        client.get("/api/users/search?keyword=test");
+        client.get("/api/users/role/USER");
+        client.get("/api/users/stats");
+    }
+
+    private static void productEndpoints(LoadClient client) {
+        client.get("/api/products");
+
+        Map<String, Object> product = unique(pick(PRODUCTS), "name");
+        LoadClient.Response created = client.post("/api/products", json(product));
+        if (created.status() == 201) {
+            long id = parse(created.body()).path("id").asLong();
+            Map<String, Object> update = new HashMap<>(product);
+            update.put("price", ((Double) product.get("price")) * 1.1);
+            client.put("/api/products/" + id, json(update));
+            client.patch("/api/products/" + id + "/stock?quantity=5");
+        }
+
+        client.get("/api/products/search?keyword=laptop");
+        client.get("/api/products/category/electronics");
+        client.get("/api/products/low-stock?threshold=10");
+    }
+
+    private static void orderEndpoints(LoadClient client) {
+        client.get("/api/orders");
+
+        LoadClient.Response created = client.post("/api/orders", json(Map.of(
+                "userId", random().nextInt(5) + 1,
+                "productId", random().nextInt(3) + 1,
+                "quantity", random().nextInt(3) + 1)));
+        if (created.status() == 201) {
+            long id = parse(created.body()).path("id").asLong();
+            client.patch("/api/orders/" + id + "/status?status=CONFIRMED");
+        }
+
+        client.get("/api/orders/user/" + (random().nextInt(5) + 1));
+        client.get("/api/orders/status/PENDING");
+    }
+
+    private static void analyticsEndpoints(LoadClient client) {
+        client.get("/api/analytics/dashboard");
+        client.get("/api/analytics/users/statistics");
+        client.get("/api/analytics/products/statistics");
+        client.get("/api/analytics/orders/statistics");
+        client.get("/api/analytics/performance/metrics");
+    }
+
+    private static void errorScenarios(LoadClient client) {
+        client.get("/api/users/999");
+        client.get("/api/users/998");
+        client.get("/api/users/997");
+        client.post("/api/users", json(Map.of("name", "DB Error User", "email", "dberror@test.com", "role", "USER")));
+        client.post("/api/users", json(Map.of("name", "", "email", "invalid-email", "role", "INVALID")));
+    }
+
+    private static void searchEndpoints(LoadClient client) {
+        String keyword = KEYWORDS[random().nextInt(KEYWORDS.length)];
+        client.get("/api/users/search?keyword=" + keyword);
+        client.get("/api/products/search?keyword=" + keyword);
+    }
+
+    private static void healthEndpoints(LoadClient client) {
+        client.get("/actuator/health");
+        client.get("/actuator/info");
+        client.get("/api/users/health-check");
+    }
+
+    private static void mixedWorkload(LoadClient client) {
+        client.get("/api/users");
+        client.get("/api/products");
+        client.get("/api/analytics/dashboard");
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(random().nextInt(values.size()));
+    }
+
+    /** Copy of {@code template} with a unique prefix on {@code field}, like the {@code Date.now()} prefix in k6. */
+    private static Map<String, Object> unique(Map<String, Object> template, String field) {
+        Map<String, Object> copy = new HashMap<>(template);
+        copy.put(field, SEQUENCE.incrementAndGet() + "_" + template.get(field));
+        return copy;
+    }
+
+    private static String json(Map<String, Object> value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode parse(String body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            return MAPPER.createObjectNode();
+        }
+    }
+}
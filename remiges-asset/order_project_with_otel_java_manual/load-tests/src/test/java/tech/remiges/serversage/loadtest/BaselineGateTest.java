@@ -0,0 +1,72 @@
+package tech.remiges.serversage.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineGateTest {
+
+    @TempDir
+    Path baselineDir;
+
+    private BaselineGate gate(boolean update) {
+        return new BaselineGate(baselineDir, 0.25, 1.0, 0.20, 100, update);
+    }
+
+    private static LoadReport report(double throughput, double p99Ms, long count) {
+        return new LoadReport("stress", 4, 10.0, throughput, Map.of(
+                "GET /api/users", new LoadReport.EndpointStats(count, throughput, 1.0, 2.0, p99Ms, p99Ms, 0)));
+    }
+
+    @Test
+    void testMissingBaselineFails() throws Exception {
+        // When
+        BaselineGate.Result result = gate(false).check(report(500, 10, 5000));
+
+        // Then
+        assertFalse(result.passed());
+        assertFalse(result.baselineWritten());
+        assertFalse(Files.exists(baselineDir.resolve("stress.json")));
+    }
+
+    @Test
+    void testUpdateWritesBaselineAndPasses() throws Exception {
+        // When
+        BaselineGate.Result result = gate(true).check(report(500, 10, 5000));
+
+        // Then
+        assertTrue(result.passed());
+        assertTrue(result.baselineWritten());
+        assertTrue(Files.exists(baselineDir.resolve("stress.json")));
+    }
+
+    @Test
+    void testRegressionsBeyondToleranceFail() throws Exception {
+        // Given
+        gate(true).check(report(500, 10, 5000));
+
+        // When
+        BaselineGate.Result withinTolerance = gate(false).check(report(420, 13, 4200));
+        BaselineGate.Result regressed = gate(false).check(report(300, 20, 3000));
+
+        // Then
+        assertTrue(withinTolerance.passed(), () -> String.join(", ", withinTolerance.violations()));
+        assertFalse(regressed.baselineWritten());
+        assertEquals(3, regressed.violations().size());
+    }
+
+    @Test
+    void testEndpointsBelowMinSamplesAreIgnored() {
+        // When
+        List<String> violations = gate(false).compare(report(500, 10, 50), report(500, 100, 50));
+
+        // Then
+        assertTrue(violations.isEmpty());
+    }
+}
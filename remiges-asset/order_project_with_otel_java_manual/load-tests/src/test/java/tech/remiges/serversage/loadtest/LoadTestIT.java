@@ -0,0 +1,67 @@
+package tech.remiges.serversage.loadtest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tech.remiges.serversage.ServersageApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application on H2 and runs the k6-equivalent scenarios against it, failing
+ * the build when p99 latency or throughput regresses against the stored baselines.
+ */
+@SpringBootTest(classes = ServersageApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadTestIT {
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+
+    @LocalServerPort
+    private int port;
+
+    private LoadClient client;
+
+    @BeforeAll
+    void seed() {
+        client = new LoadClient(URI.create("http://localhost:" + port), Duration.ofSeconds(10));
+        Scenarios.seed(client, 10, 6, 20);
+    }
+
+    @Test
+    void comprehensiveScenarioMeetsBaseline() throws Exception {
+        runAndGate("comprehensive", Scenarios.comprehensive(), settings.comprehensiveUsers());
+    }
+
+    @Test
+    void stressScenarioMeetsBaseline() throws Exception {
+        runAndGate("stress", Scenarios.stress(), settings.stressUsers());
+    }
+
+    private void runAndGate(String name, Scenario scenario, int users) throws InterruptedException, IOException {
+        // Given
+        client.reset();
+        LoadGenerator generator = new LoadGenerator(client);
+
+        // When
+        LoadReport report = generator.run(name, scenario, users, settings.warmup(), settings.duration());
+        BaselineGate.write(report, settings.reportDir().resolve(name + ".json"));
+        BaselineGate.Result result = settings.gate().check(report);
+
+        // Then
+        System.out.print(report.summary());
+        if (result.baselineWritten()) {
+            System.out.println("Baseline written for " + name + " in " + settings.baselineDir());
+        }
+        assertTrue(result.passed(), () -> name + " regressed against baseline:\n  "
+                + String.join("\n  ", result.violations()));
+    }
+}
@@ -2,15 +2,21 @@ package tech.remiges.serversage;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import tech.remiges.serversage.config.ServersageRuntimeHints;
+import tech.remiges.serversage.observability.StartupTimelineReport;
 
 @SpringBootApplication
 @EnableAsync
 @EnableTransactionManagement
+@ImportRuntimeHints(ServersageRuntimeHints.class)
 public class ServersageApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ServersageApplication.class, args);
+		SpringApplication application = new SpringApplication(ServersageApplication.class);
+		application.setApplicationStartup(StartupTimelineReport.applicationStartup());
+		application.run(args);
 	}
 }
@@ -0,0 +1,310 @@
+package tech.remiges.serversage.alert;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous webhook ingestion with deduplication and grouping.
+ *
+ * Webhook calls only enqueue the payload, so a burst from a flapping alert costs the
+ * request thread one queue offer. A single worker fingerprints each alert by type,
+ * title and labels. The first firing of a fingerprint opens a {@code dedup-window-ms}
+ * window and is stored and logged; repeats inside the window only bump counters and
+ * last-seen, so a continuously firing alert is stored once per window. Fingerprints
+ * are grouped by the {@code group-by} labels (falling back to the title); those not
+ * seen for {@code retention-ms} are dropped and state is capped at {@code max-alerts}.
+ */
+@Component
+public class AlertIngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertIngestionPipeline.class);
+
+    private static final long POLL_MILLIS = 1000;
+
+    record Submission(String type, Map<String, Object> payload) {}
+
+    public record AlertSummary(
+        String fingerprint,
+        String title,
+        String lastMessage,
+        Map<String, String> labels,
+        long count,
+        long countInWindow,
+        LocalDateTime firstSeen,
+        LocalDateTime lastSeen
+    ) {}
+
+    public record AlertGroup(
+        String key,
+        String type,
+        long count,
+        double ratePerMinute,
+        LocalDateTime firstSeen,
+        LocalDateTime lastSeen,
+        List<AlertSummary> alerts
+    ) {}
+
+    private final AlertStore alertStore;
+    private final Clock clock;
+    private final Duration dedupWindow;
+    private final Duration retention;
+    private final int maxAlerts;
+    private final List<String> groupBy;
+    private final BlockingQueue<Submission> queue;
+    private final Map<String, AlertState> alerts = new ConcurrentHashMap<>();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread worker;
+
+    private volatile boolean shutdown;
+
+    @Autowired
+    public AlertIngestionPipeline(AlertStore alertStore,
+                                  @Value("${alerts.ingest.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${alerts.ingest.dedup-window-ms:300000}") long dedupWindowMs,
+                                  @Value("${alerts.ingest.retention-ms:3600000}") long retentionMs,
+                                  @Value("${alerts.ingest.max-alerts:1000}") int maxAlerts,
+                                  @Value("${alerts.ingest.group-by:alertname}") String groupBy) {
+        this(alertStore, Clock.systemDefaultZone(), queueCapacity, Duration.ofMillis(dedupWindowMs),
+                Duration.ofMillis(retentionMs), maxAlerts, groupBy, true);
+    }
+
+    AlertIngestionPipeline(AlertStore alertStore, Clock clock, int queueCapacity, Duration dedupWindow,
+                           Duration retention, int maxAlerts, String groupBy, boolean startWorker) {
+        this.alertStore = alertStore;
+        this.clock = clock;
+        this.dedupWindow = dedupWindow;
+        this.retention = retention;
+        this.maxAlerts = maxAlerts;
+        this.groupBy = Arrays.stream(groupBy.split(",")).map(String::trim).filter(label -> !label.isEmpty()).toList();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this::run, "alert-ingestion");
+        this.worker.setDaemon(true);
+        if (startWorker) {
+            this.worker.start();
+        }
+    }
+
+    /** Queues a webhook payload; returns false (and counts a drop) if the queue is full. */
+    public boolean submit(String type, Map<String, Object> payload) {
+        if (shutdown || !queue.offer(new Submission(type, payload))) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /** Current groups, most recently active first. */
+    public List<AlertGroup> groups() {
+        Map<String, List<AlertState>> byGroup = new TreeMap<>();
+        alerts.values().forEach(state -> byGroup.computeIfAbsent(state.groupKey, k -> new ArrayList<>()).add(state));
+        List<AlertGroup> groups = new ArrayList<>(byGroup.size());
+        byGroup.forEach((key, states) -> groups.add(group(key, states)));
+        groups.sort(Comparator.comparing(AlertGroup::lastSeen).reversed());
+        return groups;
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of(
+            "processed", processed.sum(),
+            "deduplicated", deduplicated.sum(),
+            "dropped", dropped.sum(),
+            "queued", (long) queue.size(),
+            "activeAlerts", (long) alerts.size()
+        );
+    }
+
+    public void clear() {
+        alerts.clear();
+    }
+
+    private void run() {
+        long nextPrune = System.currentTimeMillis() + POLL_MILLIS;
+        while (!shutdown) {
+            try {
+                Submission submission = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (submission != null) {
+                    process(submission);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to process alert: {}", e.getMessage());
+            }
+            if (System.currentTimeMillis() >= nextPrune) {
+                prune();
+                nextPrune = System.currentTimeMillis() + POLL_MILLIS;
+            }
+        }
+    }
+
+    /** Processes one submission on the calling thread; only the worker calls this outside tests. */
+    void process(Submission submission) {
+        processed.increment();
+        Map<String, Object> payload = submission.payload();
+        String type = submission.type();
+        String title = payload.getOrDefault("title", "Unknown Alert").toString();
+        String message = payload.getOrDefault("message", "No message provided").toString();
+        Map<String, String> labels = labels(payload);
+        String fingerprint = type + "|" + title + "|" + labels;
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        AlertState state = alerts.get(fingerprint);
+        if (state == null) {
+            if (alerts.size() >= maxAlerts) {
+                evictLeastRecent();
+            }
+            state = new AlertState(fingerprint, groupKey(type, title, labels), type, title, labels, now);
+            alerts.put(fingerprint, state);
+        }
+        if (state.fire(now, message, dedupWindow)) {
+            AlertNotification notification = new AlertNotification(type, title, message, now);
+            alertStore.append(notification);
+            logReceived(notification);
+        } else {
+            deduplicated.increment();
+        }
+    }
+
+    void prune() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        alerts.values().removeIf(state -> state.lastSeen.isBefore(cutoff));
+    }
+
+    private void evictLeastRecent() {
+        alerts.values().stream()
+                .min(Comparator.comparing(state -> state.lastSeen))
+                .ifPresent(state -> alerts.remove(state.fingerprint));
+    }
+
+    private String groupKey(String type, String title, Map<String, String> labels) {
+        StringBuilder key = new StringBuilder(type.toLowerCase());
+        boolean labelled = false;
+        for (String label : groupBy) {
+            String value = labels.get(label);
+            if (value != null) {
+                key.append('|').append(label).append('=').append(value);
+                labelled = true;
+            }
+        }
+        return labelled ? key.toString() : key.append('|').append(title).toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> labels(Map<String, Object> payload) {
+        // Grafana sends commonLabels; simpler senders use labels. Sorted so the fingerprint is stable.
+        Map<String, String> labels = new TreeMap<>();
+        for (String field : List.of("commonLabels", "labels")) {
+            if (payload.get(field) instanceof Map<?, ?> map) {
+                ((Map<Object, Object>) map).forEach((name, value) -> labels.put(name.toString(), String.valueOf(value)));
+            }
+        }
+        return labels;
+    }
+
+    private static AlertGroup group(String key, List<AlertState> states) {
+        List<AlertSummary> summaries = states.stream()
+                .map(AlertState::summary)
+                .sorted(Comparator.comparing(AlertSummary::lastSeen).reversed())
+                .toList();
+        long count = summaries.stream().mapToLong(AlertSummary::count).sum();
+        LocalDateTime firstSeen = summaries.stream().map(AlertSummary::firstSeen).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime lastSeen = summaries.get(0).lastSeen();
+        double minutes = Math.max(1.0, Duration.between(firstSeen, lastSeen).toMillis() / 60_000.0);
+        return new AlertGroup(key, states.get(0).type, count, count / minutes, firstSeen, lastSeen, summaries);
+    }
+
+    private static void logReceived(AlertNotification notification) {
+        // Structured format for observability; emitted once per alert per dedup window
+        switch (notification.type()) {
+            case "CRITICAL" -> logger.error("CRITICAL_ALERT_RECEIVED: title={}, message={}, timestamp={}",
+                    notification.title(), notification.message(), notification.timestamp());
+            case "WARNING" -> logger.warn("WARNING_ALERT_RECEIVED: title={}, message={}, timestamp={}",
+                    notification.title(), notification.message(), notification.timestamp());
+            default -> logger.warn("ALERT_RECEIVED: type={}, title={}, timestamp={}",
+                    notification.type().toLowerCase(), notification.title(), notification.timestamp());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        worker.interrupt();
+        try {
+            worker.join(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Process whatever was queued but not yet handled
+        Submission submission;
+        while ((submission = queue.poll()) != null) {
+            process(submission);
+        }
+    }
+
+    private static final class AlertState {
+        final String fingerprint;
+        final String groupKey;
+        final String type;
+        final String title;
+        final Map<String, String> labels;
+        final LocalDateTime firstSeen;
+
+        // Written by the worker only; read by groups()
+        volatile LocalDateTime lastSeen;
+        volatile LocalDateTime windowStart;
+        volatile String lastMessage;
+        volatile long count;
+        volatile long countInWindow;
+
+        AlertState(String fingerprint, String groupKey, String type, String title,
+                   Map<String, String> labels, LocalDateTime now) {
+            this.fingerprint = fingerprint;
+            this.groupKey = groupKey;
+            this.type = type;
+            this.title = title;
+            this.labels = Map.copyOf(labels);
+            this.firstSeen = now;
+            this.lastSeen = now;
+        }
+
+        /** Records a firing; returns true if it opens a new dedup window. */
+        boolean fire(LocalDateTime now, String message, Duration window) {
+            boolean opensWindow = windowStart == null || !now.isBefore(windowStart.plus(window));
+            if (opensWindow) {
+                windowStart = now;
+                countInWindow = 0;
+            }
+            count++;
+            countInWindow++;
+            lastSeen = now;
+            lastMessage = message;
+            return opensWindow;
+        }
+
+        AlertSummary summary() {
+            return new AlertSummary(fingerprint, title, lastMessage, labels, count, countInWindow, firstSeen, lastSeen);
+        }
+    }
+}
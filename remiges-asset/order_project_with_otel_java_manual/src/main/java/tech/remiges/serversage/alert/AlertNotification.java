@@ -0,0 +1,10 @@
+package tech.remiges.serversage.alert;
+
+import java.time.LocalDateTime;
+
+public record AlertNotification(
+    String type,
+    String title,
+    String message,
+    LocalDateTime timestamp
+) {}
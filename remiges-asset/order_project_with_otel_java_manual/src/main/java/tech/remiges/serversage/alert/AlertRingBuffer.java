@@ -0,0 +1,87 @@
+package tech.remiges.serversage.alert;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free history of the most recent alerts of one type.
+ *
+ * Writers claim a sequence number with a single atomic increment and publish the
+ * alert into slot {@code sequence % capacity}, overwriting the oldest entry. Each
+ * slot remembers the sequence it was written for, so a reader racing with writers
+ * skips slots that were not yet published or were already overwritten instead of
+ * returning a torn view. The number of alerts ever appended is the claimed sequence,
+ * so counting is O(1).
+ */
+public class AlertRingBuffer {
+
+    private record Slot(long sequence, AlertNotification alert) {}
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public AlertRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void append(AlertNotification alert) {
+        long sequence = next.getAndIncrement();
+        slots.set((int) (sequence % capacity), new Slot(sequence, alert));
+    }
+
+    /** Alerts appended since the buffer was created, including those already overwritten. */
+    public long total() {
+        return next.get();
+    }
+
+    /** Alerts currently held, at most {@code capacity}. */
+    public int size() {
+        return (int) Math.min(next.get(), capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Newest-first page of alerts whose timestamp lies in {@code [from, to)}; either
+     * bound may be {@code null}. {@code offset} counts matching alerts to skip.
+     */
+    public List<AlertNotification> query(LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        List<AlertNotification> page = new ArrayList<>(Math.min(limit, capacity));
+        long newest = next.get() - 1;
+        long oldest = Math.max(0, newest - capacity + 1);
+        int skipped = 0;
+        for (long sequence = newest; sequence >= oldest && page.size() < limit; sequence--) {
+            Slot slot = slots.get((int) (sequence % capacity));
+            if (slot == null || slot.sequence() != sequence) {
+                continue;
+            }
+            AlertNotification alert = slot.alert();
+            if ((from != null && alert.timestamp().isBefore(from)) || (to != null && !alert.timestamp().isBefore(to))) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            page.add(alert);
+        }
+        return page;
+    }
+
+    /** Oldest-first copy of the retained alerts. */
+    public List<AlertNotification> snapshot() {
+        List<AlertNotification> alerts = query(null, null, 0, capacity);
+        Collections.reverse(alerts);
+        return alerts;
+    }
+}
@@ -0,0 +1,202 @@
+package tech.remiges.serversage.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded alert history: one {@link AlertRingBuffer} per alert type.
+ *
+ * Memory is capped at {@code alerts.store.capacity} alerts per type however many
+ * alerts Grafana sends. When {@code alerts.store.file} is set, every alert is also
+ * appended to that file as a JSON line and the buffers are refilled from it on
+ * startup. The file is rewritten with only the retained alerts at startup and
+ * whenever it grows to twice what the buffers can hold, so it stays bounded.
+ */
+@Component
+public class AlertStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertStore.class);
+
+    private final int capacity;
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Map<String, AlertRingBuffer> buffers = new ConcurrentHashMap<>();
+
+    private BufferedWriter writer;
+    private long fileLines;
+
+    public AlertStore(@Value("${alerts.store.capacity:1000}") int capacity,
+                      @Value("${alerts.store.file:}") String file) {
+        this.capacity = capacity;
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        if (this.file != null) {
+            recover();
+        }
+    }
+
+    public void append(AlertNotification alert) {
+        if (file != null) {
+            persist(alert);
+        } else {
+            buffer(alert.type()).append(alert);
+        }
+    }
+
+    /** Newest-first page of one type's alerts in {@code [from, to)}. */
+    public List<AlertNotification> query(String type, LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        AlertRingBuffer buffer = buffers.get(key(type));
+        return buffer == null ? List.of() : buffer.query(from, to, offset, limit);
+    }
+
+    /** Alerts of a type received since the last clear (or restart, without a file). */
+    public long count(String type) {
+        AlertRingBuffer buffer = buffers.get(key(type));
+        return buffer == null ? 0 : buffer.total();
+    }
+
+    public long totalCount() {
+        return buffers.values().stream().mapToLong(AlertRingBuffer::total).sum();
+    }
+
+    public List<String> types() {
+        return buffers.keySet().stream().sorted().toList();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized void clear() {
+        buffers.clear();
+        if (file != null) {
+            try {
+                closeWriter();
+                Files.deleteIfExists(file);
+                fileLines = 0;
+            } catch (IOException e) {
+                logger.warn("Failed to clear alert store file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            logger.warn("Failed to close alert store file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private AlertRingBuffer buffer(String type) {
+        return buffers.computeIfAbsent(key(type), k -> new AlertRingBuffer(capacity));
+    }
+
+    private static String key(String type) {
+        return type.toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized void persist(AlertNotification alert) {
+        // Buffer and file change under one lock, so a compaction never writes an alert
+        // that is then appended to the rewritten file a second time
+        try {
+            if (fileLines >= 2L * capacity * Math.max(1, buffers.size())) {
+                closeWriter();
+                fileLines = compact();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to compact alert store file {}: {}", file, e.getMessage());
+        }
+        buffer(alert.type()).append(alert);
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(objectMapper.writeValueAsString(alert));
+            writer.newLine();
+            writer.flush();
+            fileLines++;
+        } catch (IOException e) {
+            logger.warn("Failed to persist alert to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void recover() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        int recovered = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    AlertNotification alert = objectMapper.readValue(line, AlertNotification.class);
+                    buffer(alert.type()).append(alert);
+                    recovered++;
+                } catch (IOException e) {
+                    // A partially written last line after a crash; skip it
+                    logger.warn("Skipping unreadable alert record in {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to recover alerts from {}: {}", file, e.getMessage());
+            return;
+        }
+        try {
+            fileLines = compact();
+        } catch (IOException e) {
+            logger.warn("Failed to compact alert store file {}: {}", file, e.getMessage());
+        }
+        logger.info("Recovered {} alerts from {}", recovered, file);
+    }
+
+    private long compact() throws IOException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        long lines = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (AlertRingBuffer buffer : buffers.values()) {
+                for (AlertNotification alert : buffer.snapshot()) {
+                    out.write(objectMapper.writeValueAsString(alert));
+                    out.newLine();
+                    lines++;
+                }
+            }
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        return lines;
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package tech.remiges.serversage.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent identical invocations (same method, equal
+ * arguments) should share a single execution. Callers that arrive while a call is
+ * in flight receive the same result or exception.
+ *
+ * The returned object is shared between callers and must be treated as read-only.
+ * A positive {@link #microCacheMillis()} keeps a successful result for that many
+ * milliseconds after completion; failures are never cached.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+
+    long microCacheMillis() default 0;
+}
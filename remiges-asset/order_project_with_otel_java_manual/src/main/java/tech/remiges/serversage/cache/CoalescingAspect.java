@@ -0,0 +1,69 @@
+package tech.remiges.serversage.cache;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies {@link Coalesced} to service methods. Runs before the transaction and
+ * observability advice so that coalesced callers do not open their own
+ * transaction or hit the database.
+ *
+ * The annotation is looked up on the method rather than bound as an advice argument:
+ * at this precedence the advice runs ahead of Spring's ExposeInvocationInterceptor,
+ * where argument binding fails with "JoinPointMatch was NOT bound in invocation".
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("method");
+    private static final AttributeKey<String> SOURCE = AttributeKey.stringKey("source");
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final LongCounter coalescedCalls;
+    private final boolean enabled;
+
+    public CoalescingAspect(OpenTelemetry openTelemetry,
+                            @Value("${coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.coalescedCalls = openTelemetry.getMeter("serversage")
+                .counterBuilder("serversage_coalesced_calls_total")
+                .setDescription("Service calls served from a shared in-flight call or the micro-cache")
+                .build();
+    }
+
+    @Around("@annotation(tech.remiges.serversage.cache.Coalesced) && within(tech.remiges.serversage.service..*)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Coalesced coalesced = AnnotationUtils.findAnnotation(method, Coalesced.class);
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()));
+        String methodName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        return singleFlight.execute(key, coalesced.microCacheMillis(), joinPoint::proceed,
+                source -> coalescedCalls.add(1, Attributes.of(
+                        METHOD, methodName,
+                        SOURCE, source.name().toLowerCase())));
+    }
+
+    private record CallKey(Method method, List<Object> args) {}
+}
@@ -0,0 +1,65 @@
+package tech.remiges.serversage.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style batching and caching for key lookups within one unit of work.
+ *
+ * {@link #load(Object)} only records the key and returns a future; {@link #dispatch()}
+ * resolves every pending key with a single batch call. Each key is requested at most
+ * once per loader, so create one loader per request rather than sharing it.
+ * Keys missing from the batch result resolve to {@code null}.
+ */
+public class DataLoader<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> batchLoader;
+    private final Map<K, CompletableFuture<V>> cache = new LinkedHashMap<>();
+    private final List<K> pending = new ArrayList<>();
+    private int batchCount;
+
+    public DataLoader(Function<Collection<K>, Map<K, V>> batchLoader) {
+        this.batchLoader = batchLoader;
+    }
+
+    public synchronized CompletableFuture<V> load(K key) {
+        return cache.computeIfAbsent(key, k -> {
+            pending.add(k);
+            return new CompletableFuture<>();
+        });
+    }
+
+    public void dispatch() {
+        List<K> keys;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            keys = new ArrayList<>(pending);
+            pending.clear();
+            batchCount++;
+        }
+
+        Map<K, V> results;
+        try {
+            results = batchLoader.apply(keys);
+        } catch (RuntimeException e) {
+            keys.forEach(key -> future(key).completeExceptionally(e));
+            return;
+        }
+        keys.forEach(key -> future(key).complete(results.get(key)));
+    }
+
+    private synchronized CompletableFuture<V> future(K key) {
+        return cache.get(key);
+    }
+
+    public synchronized int getBatchCount() {
+        return batchCount;
+    }
+}
@@ -0,0 +1,127 @@
+package tech.remiges.serversage.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.remiges.serversage.model.VersionStamp;
+
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Response bodies kept as the UTF-8 JSON bytes they were sent as, so a hit skips
+ * loading, DTO mapping and Jackson serialization and the bytes are written out as is.
+ *
+ * An entry is held per endpoint and parameters, tagged with the {@link VersionStamp}
+ * its body was built under, and only served while the caller's stamp still equals it.
+ * That keeps entries correct across replicas and across writes that evict nothing;
+ * {@link ResponseCacheEviction} additionally drops them on {@code @CacheEvict}.
+ *
+ * The endpoint name is the Spring cache name its service evicts ("products", ...).
+ */
+@Component
+public class JsonResponseCache {
+
+    private static final AttributeKey<String> ENDPOINT = AttributeKey.stringKey("endpoint");
+    private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxEntryBytes;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder[]> requests = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JsonResponseCache(ObjectMapper objectMapper, OpenTelemetry openTelemetry,
+                             @Value("${response-cache.enabled:true}") boolean enabled,
+                             @Value("${response-cache.max-entries:64}") int maxEntries,
+                             @Value("${response-cache.max-entry-bytes:4194304}") int maxEntryBytes) {
+        this(objectMapper, enabled, maxEntries, maxEntryBytes);
+        bindMetrics(openTelemetry.getMeter("serversage"));
+    }
+
+    JsonResponseCache(ObjectMapper objectMapper, boolean enabled, int maxEntries, int maxEntryBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public void bindMetrics(Meter meter) {
+        meter.counterBuilder("serversage_response_cache_requests_total")
+                .setDescription("Cacheable responses served from pre-serialized bytes (hit) or built (miss)")
+                .buildWithCallback(measurement -> requests.forEach((endpoint, counts) -> {
+                    measurement.record(counts[0].sum(), Attributes.of(ENDPOINT, endpoint, RESULT, "hit"));
+                    measurement.record(counts[1].sum(), Attributes.of(ENDPOINT, endpoint, RESULT, "miss"));
+                }));
+        meter.gaugeBuilder("serversage_response_cache_bytes")
+                .ofLongs()
+                .setDescription("JSON bytes held by the response cache")
+                .setUnit("By")
+                .buildWithCallback(measurement -> measurement.record(bytes()));
+    }
+
+    /**
+     * The JSON encoding of {@code body}, served from the entry for this endpoint and
+     * parameters while it was built under {@code version}. Read the version before the
+     * body, as for ETags, so an entry is never older than its tag.
+     */
+    public byte[] get(String endpoint, String params, VersionStamp version, Supplier<?> body) {
+        Key key = new Key(endpoint, params);
+        Entry entry = enabled ? entries.get(key) : null;
+        if (entry != null && entry.version().equals(version)) {
+            count(endpoint, 0);
+            return entry.json();
+        }
+        count(endpoint, 1);
+
+        byte[] json = serialize(body.get());
+        if (enabled && json.length <= maxEntryBytes && (entry != null || entries.size() < maxEntries)) {
+            entries.put(key, new Entry(version, json));
+        } else if (entry != null) {
+            entries.remove(key, entry);
+        }
+        return json;
+    }
+
+    /** Drops every entry of the given endpoints. */
+    public void evict(String... endpoints) {
+        entries.keySet().removeIf(key -> Arrays.asList(endpoints).contains(key.endpoint()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long bytes() {
+        return entries.values().stream().mapToLong(entry -> entry.json().length).sum();
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void count(String endpoint, int result) {
+        requests.computeIfAbsent(endpoint, ignored -> new LongAdder[] {new LongAdder(), new LongAdder()})[result]
+                .increment();
+    }
+
+    private record Key(String endpoint, String params) {}
+
+    // The array is never handed to anything that writes to it
+    private record Entry(VersionStamp version, byte[] json) {}
+}
@@ -0,0 +1,35 @@
+package tech.remiges.serversage.cache;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts {@link JsonResponseCache} entries on the same service calls that evict the
+ * Spring caches: after a {@code @CacheEvict} method returns, the response entries of
+ * each named cache are dropped. Like the other annotations it is found on the method
+ * rather than bound as an advice argument.
+ */
+@Aspect
+@Component
+public class ResponseCacheEviction {
+
+    private final JsonResponseCache responseCache;
+
+    public ResponseCacheEviction(JsonResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @AfterReturning("@annotation(org.springframework.cache.annotation.CacheEvict) && within(tech.remiges.serversage.service..*)")
+    public void evict(JoinPoint joinPoint) {
+        CacheEvict cacheEvict = AnnotatedElementUtils.findMergedAnnotation(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), CacheEvict.class);
+        if (cacheEvict != null) {
+            responseCache.evict(cacheEvict.cacheNames());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package tech.remiges.serversage.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-flight execution: for a given key only one loader runs at a time and
+ * every concurrent caller shares its outcome through one CompletableFuture.
+ * The first caller (the leader) runs the loader on its own thread.
+ */
+public class SingleFlight {
+
+    public enum Source { IN_FLIGHT, MICRO_CACHE }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Throwable;
+    }
+
+    private final ConcurrentHashMap<Object, Call> calls = new ConcurrentHashMap<>();
+
+    public <T> T execute(Object key, long microCacheMillis, Loader<T> loader, Consumer<Source> onCoalesced) throws Throwable {
+        while (true) {
+            Call call = new Call();
+            Call existing = calls.putIfAbsent(key, call);
+            if (existing == null) {
+                return lead(key, call, microCacheMillis, loader);
+            }
+            if (existing.isExpired()) {
+                calls.remove(key, existing);
+                continue;
+            }
+            onCoalesced.accept(existing.future.isDone() ? Source.MICRO_CACHE : Source.IN_FLIGHT);
+            return await(existing);
+        }
+    }
+
+    private <T> T lead(Object key, Call call, long microCacheMillis, Loader<T> loader) throws Throwable {
+        T value;
+        try {
+            value = loader.load();
+        } catch (Throwable t) {
+            calls.remove(key, call);
+            call.future.completeExceptionally(t);
+            throw t;
+        }
+
+        if (microCacheMillis > 0) {
+            call.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(microCacheMillis);
+            call.future.complete(value);
+            CompletableFuture.delayedExecutor(microCacheMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> calls.remove(key, call));
+        } else {
+            calls.remove(key, call);
+            call.future.complete(value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(Call call) throws Throwable {
+        try {
+            return (T) call.future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    private static final class Call {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        boolean isExpired() {
+            return future.isDone() && System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package tech.remiges.serversage.chaos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tech.remiges.serversage.exception.CustomExceptions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Central fault- and latency-injection point for the demo services.
+ *
+ * Services call {@link #inject(String)} where they used to sleep or roll a
+ * random failure. Profiles are resolved by exact operation name
+ * ("payment.process"), then by the group before the first dot ("payment"),
+ * then by "default". When the engine is disabled (the default) inject is a
+ * single volatile read and returns immediately.
+ */
+@Component
+public class ChaosEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChaosEngine.class);
+    private static final String DEFAULT_PROFILE = "default";
+
+    private volatile boolean enabled;
+    private final Map<String, ChaosProfile> profiles = new ConcurrentHashMap<>();
+    private final Supplier<RandomGenerator> random;
+    private final LongConsumer sleeper;
+
+    @Autowired
+    public ChaosEngine(ChaosProperties properties) {
+        this(properties, ThreadLocalRandom::current, ChaosEngine::sleep);
+    }
+
+    /** Draws from {@code random} and waits through {@code sleeper}, so tests can be seeded and not sleep. */
+    ChaosEngine(ChaosProperties properties, Supplier<RandomGenerator> random, LongConsumer sleeper) {
+        this.random = random;
+        this.sleeper = sleeper;
+        this.enabled = properties.isEnabled();
+        this.profiles.putAll(properties.getProfiles());
+        logger.info("Chaos engine initialized: enabled={}, profiles={}", enabled, profiles.keySet());
+    }
+
+    public static ChaosEngine disabled() {
+        return new ChaosEngine(new ChaosProperties());
+    }
+
+    public void inject(String operation) {
+        if (!enabled) {
+            return;
+        }
+        apply(operation, () -> new CustomExceptions.ExternalServiceException(
+                "Injected failure for operation: " + operation));
+    }
+
+    public void inject(String operation, Supplier<? extends RuntimeException> failure) {
+        if (!enabled) {
+            return;
+        }
+        apply(operation, failure);
+    }
+
+    private void apply(String operation, Supplier<? extends RuntimeException> failure) {
+        ChaosProfile profile = resolve(operation);
+        if (profile == null) {
+            return;
+        }
+
+        RandomGenerator random = this.random.get();
+        if (profile.getErrorRate() > 0 && random.nextDouble() < profile.getErrorRate()) {
+            logger.error("Chaos: injecting failure for operation: {}", operation);
+            throw failure.get();
+        }
+
+        if (profile.getTimeoutRate() > 0 && random.nextDouble() < profile.getTimeoutRate()) {
+            logger.error("Chaos: injecting timeout of {}ms for operation: {}", profile.getTimeoutMs(), operation);
+            sleeper.accept(profile.getTimeoutMs());
+            throw new CustomExceptions.TimeoutException(operation + " timed out");
+        }
+
+        long min = profile.getMinLatencyMs();
+        long max = Math.max(min, profile.getMaxLatencyMs());
+        if (max > 0) {
+            sleeper.accept(min == max ? min : random.nextLong(min, max + 1));
+        }
+    }
+
+    ChaosProfile resolve(String operation) {
+        ChaosProfile profile = profiles.get(operation);
+        if (profile != null) {
+            return profile;
+        }
+        int dot = operation.indexOf('.');
+        if (dot > 0) {
+            profile = profiles.get(operation.substring(0, dot));
+            if (profile != null) {
+                return profile;
+            }
+        }
+        return profiles.get(DEFAULT_PROFILE);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        logger.info("Chaos engine {}", enabled ? "enabled" : "disabled");
+    }
+
+    public Map<String, ChaosProfile> getProfiles() {
+        return Map.copyOf(profiles);
+    }
+
+    public void putProfile(String operation, ChaosProfile profile) {
+        profiles.put(operation, profile);
+        logger.info("Chaos profile updated: {} -> {}", operation, profile);
+    }
+
+    public boolean removeProfile(String operation) {
+        return profiles.remove(operation) != null;
+    }
+}
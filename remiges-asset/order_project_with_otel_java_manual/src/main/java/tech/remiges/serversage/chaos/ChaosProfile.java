@@ -0,0 +1,50 @@
+package tech.remiges.serversage.chaos;
+
+/**
+ * Fault and latency settings for one operation (or operation group).
+ * Latency is drawn uniformly from [minLatencyMs, maxLatencyMs]; errorRate and
+ * timeoutRate are probabilities in the range 0.0 - 1.0.
+ */
+public class ChaosProfile {
+
+    private long minLatencyMs;
+    private long maxLatencyMs;
+    private double errorRate;
+    private double timeoutRate;
+    private long timeoutMs = 5000;
+
+    public ChaosProfile() {}
+
+    public ChaosProfile(long minLatencyMs, long maxLatencyMs, double errorRate, double timeoutRate, long timeoutMs) {
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public long getMinLatencyMs() { return minLatencyMs; }
+    public void setMinLatencyMs(long minLatencyMs) { this.minLatencyMs = minLatencyMs; }
+
+    public long getMaxLatencyMs() { return maxLatencyMs; }
+    public void setMaxLatencyMs(long maxLatencyMs) { this.maxLatencyMs = maxLatencyMs; }
+
+    public double getErrorRate() { return errorRate; }
+    public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+
+    public double getTimeoutRate() { return timeoutRate; }
+    public void setTimeoutRate(double timeoutRate) { this.timeoutRate = timeoutRate; }
+
+    public long getTimeoutMs() { return timeoutMs; }
+    public void setTimeoutMs(long timeoutMs) { this.timeoutMs = timeoutMs; }
+
+    @Override
+    public String toString() {
+        return "ChaosProfile{" +
+                "latency=" + minLatencyMs + "-" + maxLatencyMs + "ms" +
+                ", errorRate=" + errorRate +
+                ", timeoutRate=" + timeoutRate +
+                ", timeoutMs=" + timeoutMs +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package tech.remiges.serversage.chaos;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Startup configuration for the chaos engine, bound from {@code chaos.*}.
+ * Operation names containing dots must use bracket notation, e.g.
+ * {@code chaos.profiles[users.getAll].error-rate=0.02}.
+ */
+@Component
+@ConfigurationProperties(prefix = "chaos")
+public class ChaosProperties {
+
+    private boolean enabled = false;
+    private Map<String, ChaosProfile> profiles = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Map<String, ChaosProfile> getProfiles() { return profiles; }
+    public void setProfiles(Map<String, ChaosProfile> profiles) { this.profiles = profiles; }
+}
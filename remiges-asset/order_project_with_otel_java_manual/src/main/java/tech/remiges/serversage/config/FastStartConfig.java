@@ -0,0 +1,38 @@
+package tech.remiges.serversage.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Fast-start profile: everything is lazy ({@code spring.main.lazy-initialization}) except
+ * the telemetry pipeline and alert ingestion, so startup logs and metrics are exported
+ * and alert recovery happens before the first request rather than during it. Controllers,
+ * services, repositories, springdoc and their AOP proxies are created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-start")
+public class FastStartConfig {
+
+    // Matched by bean type, which AOT-generated bean definitions also carry
+    private static final String[] EAGER_PACKAGES = {
+            "io.opentelemetry.",
+            "tech.remiges.serversage.observability.",
+            "tech.remiges.serversage.alert."
+    };
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerTelemetryAndAlerts() {
+        return (beanName, beanDefinition, beanType) -> isEager(beanType.getName());
+    }
+
+    private static boolean isEager(String className) {
+        for (String eagerPackage : EAGER_PACKAGES) {
+            if (className.startsWith(eagerPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
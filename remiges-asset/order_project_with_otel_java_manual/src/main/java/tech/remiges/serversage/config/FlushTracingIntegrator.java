@@ -0,0 +1,66 @@
+package tech.remiges.serversage.config;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Adds one {@code hibernate.flush} event per flush to the current span, carrying how
+ * many entities and collections the flush processed.
+ *
+ * Registered after Hibernate's default flush listeners, which fill in the counts, so
+ * a flush touching 1000 entities costs one span event instead of a span per entity.
+ * The statements the flush issues are traced by {@link TracingDataSource}.
+ */
+public class FlushTracingIntegrator implements Integrator, FlushEventListener, AutoFlushEventListener {
+
+    private static final AttributeKey<Long> ENTITIES = AttributeKey.longKey("hibernate.flush.entities");
+    private static final AttributeKey<Long> COLLECTIONS = AttributeKey.longKey("hibernate.flush.collections");
+    private static final AttributeKey<Boolean> AUTO = AttributeKey.booleanKey("hibernate.flush.auto");
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.FLUSH, (FlushEventListener) this);
+        registry.appendListeners(EventType.AUTO_FLUSH, (AutoFlushEventListener) this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        record(event, false);
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        if (event.isFlushRequired()) {
+            record(event, true);
+        }
+    }
+
+    private static void record(FlushEvent event, boolean auto) {
+        int entities = event.getNumberOfEntitiesProcessed();
+        int collections = event.getNumberOfCollectionsProcessed();
+        if (entities == 0 && collections == 0) {
+            return;
+        }
+        Span.current().addEvent("hibernate.flush", Attributes.of(
+                ENTITIES, (long) entities,
+                COLLECTIONS, (long) collections,
+                AUTO, auto));
+    }
+}
@@ -1,23 +1,31 @@
 package tech.remiges.serversage.config;
 
+import io.opentelemetry.api.OpenTelemetry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
+import tech.remiges.serversage.observability.QueryBudget;
 
 import javax.sql.DataSource;
+import java.util.List;
 import java.util.Map;
 
 /**
- * JPA Configuration to enable database tracing interceptor and custom JDBC template
+ * JPA Configuration to enable statement-level database tracing and custom JDBC template
  */
 @Configuration
 public class JpaConfig {
 
     @Autowired
-    private DatabaseTracingInterceptor databaseTracingInterceptor;
+    private OpenTelemetry openTelemetry;
+    
+    @Autowired
+    private QueryBudget queryBudget;
     
     @Autowired
     private DataSource dataSource;
@@ -30,7 +38,11 @@ public class JpaConfig {
         return new HibernatePropertiesCustomizer() {
             @Override
             public void customize(Map<String, Object> hibernateProperties) {
-                hibernateProperties.put("hibernate.session_factory.interceptor", databaseTracingInterceptor);
+                // One span per SQL statement Hibernate executes, plus entity counts per flush
+                hibernateProperties.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, new TracingDataSource(
+                        dataSource, openTelemetry.getTracer("serversage-database", "1.0.0"), queryBudget));
+                hibernateProperties.put("hibernate.integrator_provider",
+                        (IntegratorProvider) () -> List.of(new FlushTracingIntegrator()));
                 
                 // Enable additional SQL logging for tracing
                 hibernateProperties.put("hibernate.show_sql", true);
@@ -3,6 +3,7 @@ package tech.remiges.serversage.config;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.api.trace.TracerProvider;
 import io.opentelemetry.context.propagation.ContextPropagators;
@@ -11,24 +12,49 @@ import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
 import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.OpenTelemetryAppender;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
-import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
-import io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
 import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
-import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.semconv.ResourceAttributes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import tech.remiges.serversage.observability.AdaptiveBatchLogRecordProcessor;
+import tech.remiges.serversage.observability.AdaptiveBatchSpanProcessor;
+import tech.remiges.serversage.observability.AdaptiveBatcher;
+import tech.remiges.serversage.observability.CardinalityLimitProperties;
+import tech.remiges.serversage.observability.CardinalityLimiter;
+import tech.remiges.serversage.observability.DeferredExporters;
+import tech.remiges.serversage.observability.DiskSpool;
+import tech.remiges.serversage.observability.HistogramViewProperties;
+import tech.remiges.serversage.observability.HistogramViews;
+import tech.remiges.serversage.observability.OtlpSpool;
+import tech.remiges.serversage.observability.SpoolingLogRecordExporter;
+import tech.remiges.serversage.observability.SpoolingMetricExporter;
+import tech.remiges.serversage.observability.SpoolingSpanExporter;
+import tech.remiges.serversage.observability.TailSamplingSpanProcessor;
+import tech.remiges.serversage.observability.TelemetryOverheadMonitor;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.function.Supplier;
 
 @Configuration
 public class OpenTelemetryConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(OpenTelemetryConfig.class);
+
     @Value("${otel.service.name:serversage}")
     private String serviceName;
 
@@ -41,46 +67,194 @@ public class OpenTelemetryConfig {
     @Value("${otel.exporter.otlp.endpoint:http://localhost:4317}")
     private String otlpEndpoint;
 
+    @Value("${otel.traces.tail-sampling.enabled:true}")
+    private boolean tailSamplingEnabled;
+
+    @Value("${otel.traces.tail-sampling.ratio:0.1}")
+    private double tailSamplingRatio;
+
+    @Value("${otel.traces.tail-sampling.slow-threshold-ms:500}")
+    private long tailSamplingSlowThresholdMs;
+
+    @Value("${otel.traces.tail-sampling.max-traces:10000}")
+    private int tailSamplingMaxTraces;
+
+    @Value("${otel.traces.tail-sampling.max-spans-per-trace:256}")
+    private int tailSamplingMaxSpansPerTrace;
+
+    @Value("${otel.traces.tail-sampling.decision-wait-ms:30000}")
+    private long tailSamplingDecisionWaitMs;
+
+    @Value("${otel.exporter.otlp.deferred:false}")
+    private boolean deferredExporters;
+
+    @Value("${otel.exporter.spool.enabled:false}")
+    private boolean spoolEnabled;
+
+    @Value("${otel.exporter.spool.directory:${java.io.tmpdir}/serversage-spool}")
+    private String spoolDirectory;
+
+    @Value("${otel.exporter.spool.segment-size-mb:8}")
+    private int spoolSegmentSizeMb;
+
+    @Value("${otel.exporter.spool.max-size-mb:128}")
+    private int spoolMaxSizeMb;
+
+    @Value("${otel.exporter.otlp.http-endpoint:}")
+    private String otlpHttpEndpoint;
+
+    @Value("${otel.metrics.export-interval-ms:10000}")
+    private long metricExportIntervalMs;
+
+    @Value("${otel.metrics.exemplar.filter:trace_based}")
+    private String exemplarFilter;
+
+    @Value("${otel.exporter.batch.queue-size:8192}")
+    private int batchQueueSize;
+
+    @Value("${otel.exporter.batch.initial-batch-size:512}")
+    private int batchInitialSize;
+
+    @Value("${otel.exporter.batch.min-batch-size:64}")
+    private int batchMinSize;
+
+    @Value("${otel.exporter.batch.max-batch-size:2048}")
+    private int batchMaxSize;
+
+    @Value("${otel.exporter.batch.initial-delay-ms:1000}")
+    private long batchInitialDelayMs;
+
+    @Value("${otel.exporter.batch.min-delay-ms:100}")
+    private long batchMinDelayMs;
+
+    @Value("${otel.exporter.batch.max-delay-ms:5000}")
+    private long batchMaxDelayMs;
+
+    @Value("${otel.exporter.batch.export-timeout-ms:30000}")
+    private long batchExportTimeoutMs;
+
+    @Value("${otel.exporter.batch.target-export-latency-ms:1000}")
+    private long batchTargetExportLatencyMs;
+
+    @Value("${otel.self-observability.request-budget-us:500}")
+    private long telemetryRequestBudgetUs;
+
     @Bean
-    public OpenTelemetry openTelemetry() {
+    public TelemetryOverheadMonitor telemetryOverheadMonitor() {
+        return new TelemetryOverheadMonitor(Duration.ofNanos(telemetryRequestBudgetUs * 1000));
+    }
+
+    @Bean
+    public CardinalityLimiter cardinalityLimiter(CardinalityLimitProperties properties) {
+        return new CardinalityLimiter(properties.getDefaultLimit(), properties.getInstruments());
+    }
+
+    @Bean
+    public OpenTelemetry openTelemetry(HistogramViewProperties histogramViews, CardinalityLimiter cardinalityLimiter) {
         Resource resource = Resource.getDefault()
                 .merge(Resource.create(Attributes.of(
                         ResourceAttributes.SERVICE_NAME, serviceName,
                         ResourceAttributes.SERVICE_VERSION, serviceVersion,
                         ResourceAttributes.DEPLOYMENT_ENVIRONMENT, deploymentEnvironment)));
 
-        // Configure Trace Provider
-        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
-                .addSpanProcessor(BatchSpanProcessor.builder(
-                        OtlpGrpcSpanExporter.builder()
-                                .setEndpoint(otlpEndpoint)
-                                .build())
-                        .setMaxExportBatchSize(512)
-                        .setScheduleDelay(Duration.ofSeconds(1))
-                        .build())
-                .setResource(resource)
+        // OTLP exporters, backed by a disk spool while the collector is unreachable
+        Supplier<SpanExporter> spanExporterFactory = () -> OtlpGrpcSpanExporter.builder()
+                .setEndpoint(otlpEndpoint)
+                .build();
+        Supplier<MetricExporter> metricExporterFactory = () -> OtlpGrpcMetricExporter.builder()
+                .setEndpoint(otlpEndpoint)
+                .build();
+        Supplier<LogRecordExporter> logRecordExporterFactory = () -> OtlpGrpcLogRecordExporter.builder()
+                .setEndpoint(otlpEndpoint)
                 .build();
+        // Deferred: the gRPC clients are built by the first export rather than during startup
+        SpanExporter spanExporter = deferredExporters
+                ? DeferredExporters.spans(spanExporterFactory) : spanExporterFactory.get();
+        MetricExporter metricExporter = deferredExporters
+                ? DeferredExporters.metrics(metricExporterFactory) : metricExporterFactory.get();
+        LogRecordExporter logRecordExporter = deferredExporters
+                ? DeferredExporters.logs(logRecordExporterFactory) : logRecordExporterFactory.get();
+
+        OtlpSpool traceSpool = createSpool("traces");
+        OtlpSpool metricSpool = createSpool("metrics");
+        OtlpSpool logSpool = createSpool("logs");
+        if (traceSpool != null) {
+            spanExporter = new SpoolingSpanExporter(spanExporter, traceSpool);
+        }
+        if (metricSpool != null) {
+            metricExporter = new SpoolingMetricExporter(metricExporter, metricSpool);
+        }
+        if (logSpool != null) {
+            logRecordExporter = new SpoolingLogRecordExporter(logRecordExporter, logSpool);
+        }
 
         // Configure Metric Provider
-        SdkMeterProvider meterProvider = SdkMeterProvider.builder()
-                .registerMetricReader(PeriodicMetricReader.builder(
-                        OtlpGrpcMetricExporter.builder()
-                                .setEndpoint(otlpEndpoint)
-                                .build())
-                        .setInterval(Duration.ofSeconds(10))
+        SdkMeterProviderBuilder meterProviderBuilder = SdkMeterProvider.builder()
+                .registerMetricReader(PeriodicMetricReader.builder(metricExporter)
+                        .setInterval(Duration.ofMillis(metricExportIntervalMs))
                         .build())
+                .setResource(resource);
+        // Second-scale or exponential buckets per histogram, and which measurements become exemplars
+        HistogramViews.register(meterProviderBuilder, histogramViews);
+        HistogramViews.setExemplarFilter(meterProviderBuilder, exemplarFilter);
+        SdkMeterProvider meterProvider = meterProviderBuilder.build();
+
+        Meter telemetryMeter = meterProvider.get("serversage");
+        for (OtlpSpool spool : new OtlpSpool[] {traceSpool, metricSpool, logSpool}) {
+            if (spool != null) {
+                spool.bindMetrics(telemetryMeter);
+            }
+        }
+
+        // Batch size and flush interval adapt to queue depth and export latency
+        AdaptiveBatcher.Settings batchSettings = new AdaptiveBatcher.Settings()
+                .setQueueSize(batchQueueSize)
+                .setInitialBatchSize(batchInitialSize)
+                .setMinBatchSize(batchMinSize)
+                .setMaxBatchSize(batchMaxSize)
+                .setInitialDelayMillis(batchInitialDelayMs)
+                .setMinDelayMillis(batchMinDelayMs)
+                .setMaxDelayMillis(batchMaxDelayMs)
+                .setExportTimeoutMillis(batchExportTimeoutMs)
+                .setTargetExportLatencyMillis(batchTargetExportLatencyMs);
+
+        // Self-observability: what the telemetry pipeline itself costs
+        TelemetryOverheadMonitor overheadMonitor = telemetryOverheadMonitor();
+        overheadMonitor.bindMetrics(meterProvider.get("serversage.telemetry"));
+        cardinalityLimiter.bindMetrics(meterProvider.get("serversage.telemetry"));
+
+        // Configure Trace Provider
+        AdaptiveBatchSpanProcessor batchSpanProcessor =
+                new AdaptiveBatchSpanProcessor(spanExporter, batchSettings, meterProvider);
+        overheadMonitor.registerExportQueue("traces",
+                batchSpanProcessor.getBatcher()::queueDepth, batchSpanProcessor.getBatcher()::droppedCount);
+        SpanProcessor spanProcessor = batchSpanProcessor;
+
+        // Tail sampling: keep errors, slow traces and a ratio of the rest
+        if (tailSamplingEnabled) {
+            spanProcessor = TailSamplingSpanProcessor.builder(spanProcessor)
+                    .setMeterProvider(meterProvider)
+                    .setRatio(tailSamplingRatio)
+                    .setSlowThresholdMillis(tailSamplingSlowThresholdMs)
+                    .setMaxTraces(tailSamplingMaxTraces)
+                    .setMaxSpansPerTrace(tailSamplingMaxSpansPerTrace)
+                    .setDecisionWaitMillis(tailSamplingDecisionWaitMs)
+                    .build();
+        }
+
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(overheadMonitor.spanCounter())
+                .addSpanProcessor(spanProcessor)
                 .setResource(resource)
                 .build();
 
         // Configure Log Provider
+        AdaptiveBatchLogRecordProcessor logRecordProcessor =
+                new AdaptiveBatchLogRecordProcessor(logRecordExporter, batchSettings, meterProvider);
+        overheadMonitor.registerExportQueue("logs",
+                logRecordProcessor.getBatcher()::queueDepth, logRecordProcessor.getBatcher()::droppedCount);
         SdkLoggerProvider loggerProvider = SdkLoggerProvider.builder()
-                .addLogRecordProcessor(BatchLogRecordProcessor.builder(
-                        OtlpGrpcLogRecordExporter.builder()
-                                .setEndpoint(otlpEndpoint)
-                                .build())
-                        .setMaxExportBatchSize(512)
-                        .setScheduleDelay(Duration.ofSeconds(1))
-                        .build())
+                .addLogRecordProcessor(logRecordProcessor)
                 .setResource(resource)
                 .build();
 
@@ -96,6 +270,22 @@ public class OpenTelemetryConfig {
         return openTelemetry;
     }
 
+    private OtlpSpool createSpool(String signal) {
+        if (!spoolEnabled) {
+            return null;
+        }
+        int segmentBytes = spoolSegmentSizeMb * 1024 * 1024;
+        int maxSegments = Math.max(2, spoolMaxSizeMb / Math.max(1, spoolSegmentSizeMb));
+        try {
+            DiskSpool diskSpool = new DiskSpool(Paths.get(spoolDirectory, signal), segmentBytes, maxSegments);
+            URI replayUri = OtlpSpool.replayUri(otlpHttpEndpoint, otlpEndpoint, signal);
+            return new OtlpSpool(signal, diskSpool, replayUri, Duration.ofSeconds(10));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Telemetry spool for {} unavailable, exporting without it", signal, e);
+            return null;
+        }
+    }
+
     @Bean
     public TracerProvider tracerProvider(OpenTelemetry openTelemetry) {
         return openTelemetry.getTracerProvider();
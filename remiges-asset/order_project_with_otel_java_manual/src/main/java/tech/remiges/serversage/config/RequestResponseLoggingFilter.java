@@ -10,9 +10,9 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
+import tech.remiges.serversage.observability.BodyCapture;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 @Component
 @Order(1)
@@ -20,6 +20,12 @@ public class RequestResponseLoggingFilter implements Filter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
 
+    private final BodyCapture bodyCapture;
+
+    public RequestResponseLoggingFilter(BodyCapture bodyCapture) {
+        this.bodyCapture = bodyCapture;
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -45,8 +51,11 @@ public class RequestResponseLoggingFilter implements Filter {
                 // Continue with the filter chain
                 chain.doFilter(wrappedRequest, wrappedResponse);
 
+                // The request body is only cached once the handler has read it
+                logRequestBody(wrappedRequest);
+
                 // Log response details
-                logResponseDetails(wrappedResponse);
+                logResponseDetails(wrappedRequest, wrappedResponse);
 
                 // Copy response content back to original response
                 wrappedResponse.copyBodyToResponse();
@@ -74,20 +83,6 @@ public class RequestResponseLoggingFilter implements Filter {
                 currentSpan.setAttribute("http.query_string", request.getQueryString());
             }
 
-            // Log request body for POST/PUT/PATCH requests
-            if ("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()) || "PATCH".equals(request.getMethod())) {
-                byte[] content = request.getContentAsByteArray();
-                if (content.length > 0) {
-                    String requestBody = new String(content, StandardCharsets.UTF_8);
-                    // Limit body size to prevent huge logs
-                    if (requestBody.length() > 1000) {
-                        requestBody = requestBody.substring(0, 1000) + "... (truncated)";
-                    }
-                    logger.info("📝 Request Body: {}", requestBody);
-                    currentSpan.setAttribute("http.request.body", requestBody);
-                }
-            }
-
             // Add request attributes to span
             currentSpan.setAttribute("http.method", request.getMethod());
             currentSpan.setAttribute("http.url", request.getRequestURL().toString());
@@ -101,7 +96,22 @@ public class RequestResponseLoggingFilter implements Filter {
         }
     }
 
-    private void logResponseDetails(ContentCachingResponseWrapper response) {
+    private void logRequestBody(ContentCachingRequestWrapper request) {
+        try {
+            // Log request body for POST/PUT/PATCH requests, shared with the trace span
+            if ("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()) || "PATCH".equals(request.getMethod())) {
+                String requestBody = bodyCapture.requestBody(request);
+                if (requestBody != null) {
+                    logger.info("📝 Request Body: {}", requestBody);
+                    Span.current().setAttribute("http.request.body", requestBody);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to log request body: {}", e.getMessage());
+        }
+    }
+
+    private void logResponseDetails(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response) {
         try {
             Span currentSpan = Span.current();
             
@@ -110,13 +120,8 @@ public class RequestResponseLoggingFilter implements Filter {
 
             // Log response body for successful requests (limited size)
             if (response.getStatus() < 400) {
-                byte[] content = response.getContentAsByteArray();
-                if (content.length > 0) {
-                    String responseBody = new String(content, StandardCharsets.UTF_8);
-                    // Limit response body size
-                    if (responseBody.length() > 500) {
-                        responseBody = responseBody.substring(0, 500) + "... (truncated)";
-                    }
+                String responseBody = bodyCapture.responseBody(request, response);
+                if (responseBody != null) {
                     logger.info("📋 Response Body: {}", responseBody);
                     currentSpan.setAttribute("http.response.body", responseBody);
                 }
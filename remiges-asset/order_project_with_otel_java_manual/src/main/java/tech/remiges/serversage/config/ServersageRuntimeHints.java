@@ -0,0 +1,71 @@
+package tech.remiges.serversage.config;
+
+import io.opentelemetry.instrumentation.logback.appender.v1_0.OpenTelemetryAppender;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import tech.remiges.serversage.alert.AlertIngestionPipeline;
+import tech.remiges.serversage.alert.AlertNotification;
+import tech.remiges.serversage.cache.CoalescingAspect;
+import tech.remiges.serversage.cache.ResponseCacheEviction;
+import tech.remiges.serversage.chaos.ChaosProfile;
+import tech.remiges.serversage.exception.GlobalExceptionHandler;
+import tech.remiges.serversage.model.Order;
+import tech.remiges.serversage.model.Product;
+import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.observability.ObservabilityAspect;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Native-image hints for what Spring AOT cannot infer from bean definitions and
+ * controller signatures. Hibernate, springdoc and the JDBC drivers bring their own
+ * metadata (through the GraalVM reachability metadata repository or their jars).
+ */
+public class ServersageRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Reached through the OTLP exporters' ServiceLoader lookup of their HTTP/gRPC sender
+    private static final String[] OTLP_SENDER_PROVIDERS = {
+            "io.opentelemetry.exporter.sender.okhttp.internal.OkHttpGrpcSenderProvider",
+            "io.opentelemetry.exporter.sender.okhttp.internal.OkHttpHttpSenderProvider"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Entities and DTOs serialized inside Map<String, Object> responses, alerts
+        // persisted by AlertStore, and error bodies
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(hints.reflection(),
+                User.class, User.UserDTO.class, Product.class, Product.ProductDTO.class,
+                Order.class, Order.OrderDTO.class, Order.EnrichedOrderDTO.class, AlertNotification.class,
+                AlertIngestionPipeline.AlertGroup.class, ChaosProfile.class,
+                GlobalExceptionHandler.ErrorResponse.class);
+
+        // AspectJ resolves @Around advice and its pointcut expressions reflectively
+        for (Class<?> aspect : new Class<?>[] {ObservabilityAspect.class, CoalescingAspect.class,
+                ResponseCacheEviction.class}) {
+            hints.reflection().registerType(aspect, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        // TracingDataSource wraps connections and statements in JDK dynamic proxies
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+
+        for (String provider : OTLP_SENDER_PROVIDERS) {
+            hints.reflection().registerType(TypeReference.of(provider), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.opentelemetry.exporter.internal.grpc.GrpcSenderProvider");
+        hints.resources().registerPattern("META-INF/services/io.opentelemetry.exporter.internal.http.HttpSenderProvider");
+
+        // Configured by logback-spring.xml through its setters
+        hints.reflection().registerType(OpenTelemetryAppender.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
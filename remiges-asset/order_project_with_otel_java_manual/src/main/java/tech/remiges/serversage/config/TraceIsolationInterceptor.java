@@ -6,6 +6,7 @@ import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -13,35 +14,41 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import tech.remiges.serversage.observability.BodyCapture;
 import tech.remiges.serversage.observability.ObservabilityService;
+import tech.remiges.serversage.observability.RouteNormalizer;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.stream.Collectors;
 
 @Component
-public class TraceIsolationInterceptor implements HandlerInterceptor {
+public class TraceIsolationInterceptor implements AsyncHandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(TraceIsolationInterceptor.class);
     private final Tracer tracer;
     private final ObservabilityService observabilityService;
+    private final BodyCapture bodyCapture;
 
     @Autowired
-    public TraceIsolationInterceptor(ObservabilityService observabilityService) {
+    public TraceIsolationInterceptor(ObservabilityService observabilityService, BodyCapture bodyCapture) {
         this.observabilityService = observabilityService;
+        this.bodyCapture = bodyCapture;
         this.tracer = observabilityService.getTracer();
     }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        // Wrap request and response to capture content
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
-        
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Async result dispatch: keep the root span started on the first dispatch
+            if (request.getAttribute("trace.span") instanceof Span span) {
+                request.setAttribute("trace.scope", span.makeCurrent());
+                putTraceContext(span);
+            }
+            return true;
+        }
+
         // Create a new root span for each HTTP request to ensure isolation
         String operationName = request.getMethod() + " " + getCleanPath(request.getRequestURI());
         
@@ -59,7 +66,7 @@ public class TraceIsolationInterceptor implements HandlerInterceptor {
                 .startSpan();
 
         // Capture request details
-        captureRequestDetails(span, wrappedRequest);
+        captureRequestDetails(span, request);
 
         // Make this span current for the request
         Scope scope = span.makeCurrent();
@@ -67,34 +74,40 @@ public class TraceIsolationInterceptor implements HandlerInterceptor {
         // Store span and scope in request attributes for cleanup
         request.setAttribute("trace.span", span);
         request.setAttribute("trace.scope", scope);
-        request.setAttribute("wrapped.request", wrappedRequest);
-        request.setAttribute("wrapped.response", wrappedResponse);
         
         // Add trace context to MDC for logging
-        String traceId = span.getSpanContext().getTraceId();
-        String spanId = span.getSpanContext().getSpanId();
-        MDC.put("traceId", traceId);
-        MDC.put("spanId", spanId);
+        putTraceContext(span);
         
         logger.debug("🚀 Started new trace for {} {}: traceId={}", 
-                request.getMethod(), request.getRequestURI(), traceId);
+                request.getMethod(), request.getRequestURI(), span.getSpanContext().getTraceId());
         
         return true;
     }
 
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Handler went async: release this thread, the span ends after the async dispatch
+        if (request.getAttribute("trace.scope") instanceof Scope scope) {
+            request.removeAttribute("trace.scope");
+            scope.close();
+        }
+        MDC.remove("traceId");
+        MDC.remove("spanId");
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, 
                                Object handler, Exception ex) throws Exception {
         
         Span span = (Span) request.getAttribute("trace.span");
         Scope scope = (Scope) request.getAttribute("trace.scope");
-        ContentCachingRequestWrapper wrappedRequest = (ContentCachingRequestWrapper) request.getAttribute("wrapped.request");
-        ContentCachingResponseWrapper wrappedResponse = (ContentCachingResponseWrapper) request.getAttribute("wrapped.response");
         
         if (span != null) {
             try {
-                // Capture response details
-                captureResponseDetails(span, wrappedResponse != null ? wrappedResponse : response);
+                // Bodies are cached by RequestResponseLoggingFilter and only complete once the handler ran
+                captureBodies(span, request, response);
+                captureResponseDetails(span, response);
                 
                 // Set final span attributes
                 span.setAttribute("http.status_code", response.getStatus());
@@ -132,6 +145,11 @@ public class TraceIsolationInterceptor implements HandlerInterceptor {
         }
     }
     
+    private void putTraceContext(Span span) {
+        MDC.put("traceId", span.getSpanContext().getTraceId());
+        MDC.put("spanId", span.getSpanContext().getSpanId());
+    }
+
     private void captureRequestDetails(Span span, HttpServletRequest request) {
         try {
             // Capture query parameters
@@ -152,48 +170,32 @@ public class TraceIsolationInterceptor implements HandlerInterceptor {
                 span.setAttribute("http.request.params", params);
             }
             
-            // Capture request body for POST/PUT requests
-            if ("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()) || "PATCH".equals(request.getMethod())) {
-                if (request instanceof ContentCachingRequestWrapper) {
-                    ContentCachingRequestWrapper wrapper = (ContentCachingRequestWrapper) request;
-                    byte[] content = wrapper.getContentAsByteArray();
-                    if (content.length > 0) {
-                        String requestBody = new String(content, StandardCharsets.UTF_8);
-                        // Limit body size to prevent huge spans
-                        if (requestBody.length() > 1000) {
-                            requestBody = requestBody.substring(0, 1000) + "... (truncated)";
-                        }
-                        span.setAttribute("http.request.body", requestBody);
-                        logger.info("📝 Request Body: {}", requestBody);
-                    }
-                }
-            }
-            
         } catch (Exception e) {
             logger.warn("Failed to capture request details: {}", e.getMessage());
         }
     }
     
+    private void captureBodies(Span span, HttpServletRequest request, HttpServletResponse response) {
+        String method = request.getMethod();
+        if ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method)) {
+            String requestBody = bodyCapture.requestBody(request);
+            if (requestBody != null) {
+                span.setAttribute("http.request.body", requestBody);
+            }
+        }
+        if (response.getStatus() < 400) {
+            String responseBody = bodyCapture.responseBody(request, response);
+            if (responseBody != null) {
+                span.setAttribute("http.response.body", responseBody);
+            }
+        }
+    }
+
     private void captureResponseDetails(Span span, HttpServletResponse response) {
         try {
             // Capture response headers
             span.setAttribute("http.response.content_type", response.getContentType());
             
-            // Capture response body for successful requests (limited)
-            if (response instanceof ContentCachingResponseWrapper && response.getStatus() < 400) {
-                ContentCachingResponseWrapper wrapper = (ContentCachingResponseWrapper) response;
-                byte[] content = wrapper.getContentAsByteArray();
-                if (content.length > 0) {
-                    String responseBody = new String(content, StandardCharsets.UTF_8);
-                    // Limit response body size
-                    if (responseBody.length() > 500) {
-                        responseBody = responseBody.substring(0, 500) + "... (truncated)";
-                    }
-                    span.setAttribute("http.response.body", responseBody);
-                    logger.info("📤 Response Body: {}", responseBody);
-                }
-            }
-            
         } catch (Exception e) {
             logger.warn("Failed to capture response details: {}", e.getMessage());
         }
@@ -201,17 +203,7 @@ public class TraceIsolationInterceptor implements HandlerInterceptor {
     
     private String getCleanPath(String uri) {
         // Clean up the path for better span naming
-        if (uri == null) return "/";
-        
-        // Remove query parameters
-        int queryIndex = uri.indexOf('?');
-        if (queryIndex > 0) {
-            uri = uri.substring(0, queryIndex);
-        }
-        
-        // Replace IDs with placeholders for better grouping
-        uri = uri.replaceAll("/\\d+", "/{id}");
-        
-        return uri;
+        // Drop query parameters and replace IDs with placeholders for better grouping
+        return RouteNormalizer.normalize(uri);
     }
 }
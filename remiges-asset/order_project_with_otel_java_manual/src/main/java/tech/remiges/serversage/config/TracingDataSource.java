@@ -0,0 +1,254 @@
+package tech.remiges.serversage.config;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.semconv.SemanticAttributes;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import tech.remiges.serversage.observability.QueryBudget;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DataSource handed to Hibernate that traces every JDBC statement Hibernate executes.
+ *
+ * Connections come from the application {@link DataSource}; statements prepared on
+ * them are wrapped so each {@code execute*} call produces one CLIENT span carrying
+ * the SQL exactly as Hibernate generated it (parameters stay as {@code ?}). A batch
+ * is one span with its size. The operation and table used for the span name are
+ * parsed once per distinct SQL string and cached, as Hibernate reuses a small,
+ * fixed set of statements. Each execution is also reported to the {@link QueryBudget}
+ * under the statement's fingerprint (the SQL with literals replaced by {@code ?}).
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_CACHED_SHAPES = 2048;
+    private static final Pattern TABLE = Pattern.compile(
+            "^\\s*(?:select\\b.*?\\bfrom|insert\\s+into|update|delete\\s+from|merge\\s+into)\\s+([\\w.\"]+)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    record SqlShape(String operation, String table, String spanName, String fingerprint) {}
+
+    private final Tracer tracer;
+    private final QueryBudget queryBudget;
+    private final Map<String, SqlShape> shapes = new ConcurrentHashMap<>();
+
+    private volatile String dbSystem;
+
+    public TracingDataSource(DataSource dataSource, Tracer tracer) {
+        this(dataSource, tracer, null);
+    }
+
+    public TracingDataSource(DataSource dataSource, Tracer tracer, QueryBudget queryBudget) {
+        super(dataSource);
+        this.tracer = tracer;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return traced(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return traced(super.getConnection(username, password));
+    }
+
+    private Connection traced(Connection connection) throws SQLException {
+        if (dbSystem == null) {
+            dbSystem = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    SqlShape shape(String sql) {
+        SqlShape shape = shapes.get(sql);
+        if (shape == null) {
+            shape = parse(sql);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    static SqlShape parse(String sql) {
+        String trimmed = withoutLeadingComments(sql);
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String operation = end == 0 ? "UNKNOWN" : trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+        Matcher matcher = TABLE.matcher(trimmed);
+        String table = matcher.find() ? matcher.group(1).replace("\"", "") : null;
+        return new SqlShape(operation, table, table == null ? operation : operation + " " + table, fingerprint(trimmed));
+    }
+
+    /** Skips the comments hibernate.use_sql_comments puts in front of the statement. */
+    private static String withoutLeadingComments(String sql) {
+        String trimmed = sql.stripLeading();
+        while (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            if (end < 0) {
+                break;
+            }
+            trimmed = trimmed.substring(end + 2).stripLeading();
+        }
+        return trimmed;
+    }
+
+    /** Replaces string and numeric literals with {@code ?} and collapses whitespace. */
+    static String fingerprint(String sql) {
+        StringBuilder fingerprint = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i++;
+                while (i < sql.length() && (sql.charAt(i) != '\'' || (i + 1 < sql.length() && sql.charAt(i + 1) == '\''))) {
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                i++;
+                fingerprint.append('?');
+            } else if (Character.isDigit(c) && (i == 0 || !Character.isLetterOrDigit(sql.charAt(i - 1)) && sql.charAt(i - 1) != '_')) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                fingerprint.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                fingerprint.append(' ');
+            } else {
+                fingerprint.append(c);
+                i++;
+            }
+        }
+        return fingerprint.toString().strip();
+    }
+
+    private Span startSpan(String sql) {
+        SqlShape shape = shape(sql);
+        if (queryBudget != null) {
+            queryBudget.onStatement(shape.fingerprint());
+        }
+        var builder = tracer.spanBuilder(shape.spanName())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(SemanticAttributes.DB_SYSTEM, dbSystem)
+                .setAttribute(SemanticAttributes.DB_STATEMENT, sql)
+                .setAttribute(SemanticAttributes.DB_OPERATION, shape.operation());
+        if (shape.table() != null) {
+            builder.setAttribute(SemanticAttributes.DB_SQL_TABLE, shape.table());
+        }
+        return builder.startSpan();
+    }
+
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        // Proxies compare by identity, as the driver's objects would
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            default -> { }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(connection, proxy, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, result, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, result, null);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<?> type, Object statement, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private int batchSize;
+        private String batchSql;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    batchSql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            if (!name.startsWith("execute")) {
+                return TracingDataSource.invoke(statement, proxy, method, args);
+            }
+
+            boolean batch = name.equals("executeBatch") || name.equals("executeLargeBatch");
+            String sql = preparedSql != null ? preparedSql
+                    : batch ? batchSql : (String) args[0];
+            if (sql == null) {
+                return TracingDataSource.invoke(statement, proxy, method, args);
+            }
+            Span span = startSpan(sql);
+            if (batch) {
+                span.setAttribute("db.operation.batch.size", batchSize);
+                batchSize = 0;
+            }
+            try {
+                return TracingDataSource.invoke(statement, proxy, method, args);
+            } catch (Throwable e) {
+                span.recordException(e);
+                span.setStatus(StatusCode.ERROR, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package tech.remiges.serversage.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tech.remiges.serversage.alert.AlertIngestionPipeline;
+import tech.remiges.serversage.alert.AlertNotification;
+import tech.remiges.serversage.alert.AlertStore;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api/alerts")
@@ -20,84 +25,64 @@ public class AlertController {
 
     private static final Logger logger = LoggerFactory.getLogger(AlertController.class);
     
-    // In-memory storage for demo purposes
-    private final Map<String, List<AlertNotification>> alertHistory = new ConcurrentHashMap<>();
+    private final AlertStore alertStore;
+    private final AlertIngestionPipeline alertPipeline;
+
+    public AlertController(AlertStore alertStore, AlertIngestionPipeline alertPipeline) {
+        this.alertStore = alertStore;
+        this.alertPipeline = alertPipeline;
+    }
     
     @PostMapping("/webhook")
     @Operation(summary = "Receive general alerts", description = "Webhook endpoint for receiving general alerts from Grafana")
     public ResponseEntity<String> receiveGeneralAlert(@RequestBody Map<String, Object> alertPayload) {
-        logger.info("📢 Received general alert: {}", alertPayload);
-        
-        AlertNotification notification = new AlertNotification(
-            "GENERAL",
-            extractTitle(alertPayload),
-            extractMessage(alertPayload),
-            LocalDateTime.now()
-        );
-        
-        alertHistory.computeIfAbsent("general", k -> new ArrayList<>()).add(notification);
-        
-        // Log with structured format for observability
-        logger.warn("ALERT_RECEIVED: type=general, title={}, timestamp={}", 
-            notification.title(), notification.timestamp());
-        
-        return ResponseEntity.ok("Alert received successfully");
+        logger.debug("📢 Received general alert: {}", alertPayload);
+        return accept("GENERAL", alertPayload, "Alert received successfully");
     }
     
     @PostMapping("/critical")
     @Operation(summary = "Receive critical alerts", description = "Webhook endpoint for receiving critical alerts from Grafana")
     public ResponseEntity<String> receiveCriticalAlert(@RequestBody Map<String, Object> alertPayload) {
-        logger.error("🚨 Received CRITICAL alert: {}", alertPayload);
-        
-        AlertNotification notification = new AlertNotification(
-            "CRITICAL",
-            extractTitle(alertPayload),
-            extractMessage(alertPayload),
-            LocalDateTime.now()
-        );
-        
-        alertHistory.computeIfAbsent("critical", k -> new ArrayList<>()).add(notification);
-        
-        // Log with structured format for observability
-        logger.error("CRITICAL_ALERT_RECEIVED: title={}, message={}, timestamp={}", 
-            notification.title(), notification.message(), notification.timestamp());
-        
-        return ResponseEntity.ok("Critical alert received successfully");
+        logger.debug("🚨 Received CRITICAL alert: {}", alertPayload);
+        return accept("CRITICAL", alertPayload, "Critical alert received successfully");
     }
     
     @PostMapping("/warning")
     @Operation(summary = "Receive warning alerts", description = "Webhook endpoint for receiving warning alerts from Grafana")
     public ResponseEntity<String> receiveWarningAlert(@RequestBody Map<String, Object> alertPayload) {
-        logger.warn("⚠️ Received WARNING alert: {}", alertPayload);
-        
-        AlertNotification notification = new AlertNotification(
-            "WARNING",
-            extractTitle(alertPayload),
-            extractMessage(alertPayload),
-            LocalDateTime.now()
-        );
-        
-        alertHistory.computeIfAbsent("warning", k -> new ArrayList<>()).add(notification);
-        
-        // Log with structured format for observability
-        logger.warn("WARNING_ALERT_RECEIVED: title={}, message={}, timestamp={}", 
-            notification.title(), notification.message(), notification.timestamp());
-        
-        return ResponseEntity.ok("Warning alert received successfully");
+        logger.debug("⚠️ Received WARNING alert: {}", alertPayload);
+        return accept("WARNING", alertPayload, "Warning alert received successfully");
+    }
+    
+    @GetMapping("/groups")
+    @Operation(summary = "Get alert groups", description = "Deduplicated alerts grouped by label, with counts, rates and first/last-seen times")
+    public ResponseEntity<List<AlertIngestionPipeline.AlertGroup>> getAlertGroups() {
+        return ResponseEntity.ok(alertPipeline.groups());
     }
     
     @GetMapping("/history")
-    @Operation(summary = "Get alert history", description = "Retrieve the history of received alerts")
-    public ResponseEntity<Map<String, List<AlertNotification>>> getAlertHistory() {
+    @Operation(summary = "Get alert history", description = "Retrieve the most recent alerts of every type, newest first")
+    public ResponseEntity<Map<String, List<AlertNotification>>> getAlertHistory(
+            @Parameter(description = "Maximum alerts per type") @RequestParam(defaultValue = "100") int size) {
         logger.info("Retrieving alert history");
-        return ResponseEntity.ok(alertHistory);
+        Map<String, List<AlertNotification>> history = new LinkedHashMap<>();
+        for (String type : alertStore.types()) {
+            history.put(type, alertStore.query(type, null, null, 0, pageSize(size)));
+        }
+        return ResponseEntity.ok(history);
     }
     
     @GetMapping("/history/{type}")
-    @Operation(summary = "Get alert history by type", description = "Retrieve the history of alerts by type (general, critical, warning)")
-    public ResponseEntity<List<AlertNotification>> getAlertHistoryByType(@PathVariable String type) {
+    @Operation(summary = "Get alert history by type", description = "Retrieve a page of alerts by type (general, critical, warning), newest first, optionally limited to a time range")
+    public ResponseEntity<List<AlertNotification>> getAlertHistoryByType(
+            @PathVariable String type,
+            @Parameter(description = "Inclusive start of the time range") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end of the time range") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "100") int size) {
         logger.info("Retrieving alert history for type: {}", type);
-        List<AlertNotification> alerts = alertHistory.getOrDefault(type.toLowerCase(), new ArrayList<>());
+        int pageSize = pageSize(size);
+        List<AlertNotification> alerts = alertStore.query(type, from, to, Math.max(0, page) * pageSize, pageSize);
         return ResponseEntity.ok(alerts);
     }
     
@@ -105,7 +90,8 @@ public class AlertController {
     @Operation(summary = "Clear alert history", description = "Clear all alert history")
     public ResponseEntity<String> clearAlertHistory() {
         logger.info("Clearing alert history");
-        alertHistory.clear();
+        alertStore.clear();
+        alertPipeline.clear();
         return ResponseEntity.ok("Alert history cleared successfully");
     }
     
@@ -113,28 +99,28 @@ public class AlertController {
     @Operation(summary = "Get alert system status", description = "Get the current status of the alert system")
     public ResponseEntity<Map<String, Object>> getAlertStatus() {
         Map<String, Object> status = Map.of(
-            "totalAlerts", alertHistory.values().stream().mapToInt(List::size).sum(),
-            "criticalAlerts", alertHistory.getOrDefault("critical", new ArrayList<>()).size(),
-            "warningAlerts", alertHistory.getOrDefault("warning", new ArrayList<>()).size(),
-            "generalAlerts", alertHistory.getOrDefault("general", new ArrayList<>()).size(),
+            "totalAlerts", alertStore.totalCount(),
+            "criticalAlerts", alertStore.count("critical"),
+            "warningAlerts", alertStore.count("warning"),
+            "generalAlerts", alertStore.count("general"),
+            "retainedPerType", alertStore.capacity(),
+            "ingestion", alertPipeline.stats(),
             "lastUpdated", LocalDateTime.now()
         );
         
         return ResponseEntity.ok(status);
     }
     
-    private String extractTitle(Map<String, Object> payload) {
-        return payload.getOrDefault("title", "Unknown Alert").toString();
+    private ResponseEntity<String> accept(String type, Map<String, Object> payload, String message) {
+        // Processed asynchronously: deduplicated, grouped and stored by the ingestion pipeline
+        if (!alertPipeline.submit(type, payload)) {
+            logger.warn("Alert queue full, dropping {} alert", type.toLowerCase());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Alert queue full, retry later");
+        }
+        return ResponseEntity.accepted().body(message);
     }
     
-    private String extractMessage(Map<String, Object> payload) {
-        return payload.getOrDefault("message", "No message provided").toString();
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, alertStore.capacity()));
     }
-    
-    public record AlertNotification(
-        String type,
-        String title,
-        String message,
-        LocalDateTime timestamp
-    ) {}
 }
@@ -0,0 +1,64 @@
+package tech.remiges.serversage.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.remiges.serversage.chaos.ChaosEngine;
+import tech.remiges.serversage.chaos.ChaosProfile;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/chaos")
+@Tag(name = "Chaos Engineering", description = "APIs for runtime fault and latency injection")
+public class ChaosController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChaosController.class);
+    private final ChaosEngine chaosEngine;
+
+    @Autowired
+    public ChaosController(ChaosEngine chaosEngine) {
+        this.chaosEngine = chaosEngine;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get chaos configuration", description = "Current enabled flag and per-operation profiles")
+    public ResponseEntity<Map<String, Object>> getConfiguration() {
+        return ResponseEntity.ok(Map.of(
+                "enabled", chaosEngine.isEnabled(),
+                "profiles", chaosEngine.getProfiles()
+        ));
+    }
+
+    @PutMapping("/enabled")
+    @Operation(summary = "Enable or disable chaos", description = "Toggle fault and latency injection at runtime")
+    public ResponseEntity<Map<String, Object>> setEnabled(@RequestParam boolean enabled) {
+        logger.warn("Chaos injection {} via API", enabled ? "enabled" : "disabled");
+        chaosEngine.setEnabled(enabled);
+        return ResponseEntity.ok(Map.of("enabled", chaosEngine.isEnabled()));
+    }
+
+    @PutMapping("/profiles/{operation}")
+    @Operation(summary = "Create or update a profile", description = "Set latency, error rate and timeout for an operation or group")
+    public ResponseEntity<ChaosProfile> putProfile(@PathVariable String operation, @RequestBody ChaosProfile profile) {
+        if (profile.getErrorRate() < 0 || profile.getErrorRate() > 1
+                || profile.getTimeoutRate() < 0 || profile.getTimeoutRate() > 1
+                || profile.getMinLatencyMs() < 0 || profile.getMaxLatencyMs() < 0 || profile.getTimeoutMs() < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        chaosEngine.putProfile(operation, profile);
+        return ResponseEntity.ok(profile);
+    }
+
+    @DeleteMapping("/profiles/{operation}")
+    @Operation(summary = "Remove a profile", description = "Remove the profile for an operation or group")
+    public ResponseEntity<Void> deleteProfile(@PathVariable String operation) {
+        return chaosEngine.removeProfile(operation)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,31 @@
+package tech.remiges.serversage.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import tech.remiges.serversage.model.VersionStamp;
+
+import java.util.function.Supplier;
+
+/**
+ * ETag handling for list endpoints. The version is read before the list, so a write
+ * racing the request can only leave the tag older than the body, which costs the
+ * client one extra full response and never a stale 304.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Answers 304 Not Modified without loading or serializing the body when the
+     * request's {@code If-None-Match} matches {@code version}, otherwise 200 with the
+     * body and its ETag.
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, VersionStamp version, Supplier<T> body) {
+        String etag = version.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+}
@@ -2,15 +2,22 @@ package tech.remiges.serversage.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tech.remiges.serversage.cache.JsonResponseCache;
 import tech.remiges.serversage.model.Order;
+import tech.remiges.serversage.model.VersionStamp;
 import tech.remiges.serversage.service.OrderService;
 
 import jakarta.validation.Valid;
@@ -18,6 +25,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -25,24 +33,29 @@ import java.util.Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final JsonResponseCache responseCache;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, JsonResponseCache responseCache) {
         this.orderService = orderService;
+        this.responseCache = responseCache;
     }
 
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get all orders", description = "Retrieve all orders from the database")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved orders"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orders",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = Order.OrderDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Orders unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Order.OrderDTO>> getAllOrders() {
-        var orders = orderService.getAllOrders()
-                .stream()
-                .map(Order.OrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<byte[]> getAllOrders(WebRequest request) {
+        VersionStamp version = orderService.getOrdersVersion();
+        return ConditionalGet.ifNoneMatch(request, version, () ->
+                responseCache.get("orders", "", version, () -> orderService.getAllOrders()
+                        .stream()
+                        .map(Order.OrderDTO::fromEntity)
+                        .toList()));
     }
 
     @GetMapping("/{id}")
@@ -123,6 +136,17 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/enriched")
+    @Operation(summary = "Get enriched orders", description = "Retrieve orders with their user and product embedded, optionally filtered by status. Users and products are batch-loaded (three queries in total)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Enriched orders retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<Order.EnrichedOrderDTO>> getEnrichedOrders(
+            @Parameter(description = "Optional order status filter") @RequestParam(required = false) Order.OrderStatus status) {
+        return ResponseEntity.ok(orderService.getEnrichedOrders(status));
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Get orders by status", description = "Retrieve all orders with a specific status")
     @ApiResponses(value = {
@@ -207,24 +231,25 @@ public class OrderController {
             @ApiResponse(responseCode = "503", description = "Payment service unavailable"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Map<String, String>> processPayment(
+    public CompletableFuture<ResponseEntity<Map<String, String>>> processPayment(
             @Parameter(description = "Order ID") @PathVariable Long id,
             @Parameter(description = "Payment amount") @RequestParam BigDecimal amount) {
-        String transactionId = orderService.processPayment(id, amount);
-        return ResponseEntity.ok(Map.of("transactionId", transactionId, "status", "SUCCESS"));
+        return orderService.processPaymentAsync(id, amount)
+                .thenApply(transactionId -> ResponseEntity.ok(Map.of("transactionId", transactionId, "status", "SUCCESS")));
     }
 
     @GetMapping("/inventory-check")
     @Operation(summary = "Check inventory availability", description = "Check if sufficient inventory is available (simulates external service with 10% failure rate)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Inventory check completed"),
+            @ApiResponse(responseCode = "408", description = "Inventory check timeout"),
             @ApiResponse(responseCode = "503", description = "Inventory service unavailable"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Map<String, Boolean>> checkInventoryAvailability(
+    public CompletableFuture<ResponseEntity<Map<String, Boolean>>> checkInventoryAvailability(
             @Parameter(description = "Product ID") @RequestParam Long productId,
             @Parameter(description = "Required quantity") @RequestParam Integer quantity) {
-        boolean available = orderService.checkInventoryAvailability(productId, quantity);
-        return ResponseEntity.ok(Map.of("available", available));
+        return orderService.checkInventoryAvailabilityAsync(productId, quantity)
+                .thenApply(available -> ResponseEntity.ok(Map.of("available", available)));
     }
 }
@@ -2,14 +2,21 @@ package tech.remiges.serversage.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tech.remiges.serversage.cache.JsonResponseCache;
 import tech.remiges.serversage.model.Product;
+import tech.remiges.serversage.model.VersionStamp;
 import tech.remiges.serversage.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -23,24 +30,29 @@ import java.util.concurrent.CompletableFuture;
 public class ProductController {
 
     private final ProductService productService;
+    private final JsonResponseCache responseCache;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, JsonResponseCache responseCache) {
         this.productService = productService;
+        this.responseCache = responseCache;
     }
 
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get all products", description = "Retrieve all products from the database")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved products",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = Product.ProductDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Products unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Product.ProductDTO>> getAllProducts() {
-        var products = productService.getAllProducts()
-                .stream()
-                .map(Product.ProductDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getAllProducts(WebRequest request) {
+        VersionStamp version = productService.getProductsVersion();
+        return ConditionalGet.ifNoneMatch(request, version, () ->
+                responseCache.get("products", "", version, () -> productService.getAllProducts()
+                        .stream()
+                        .map(Product.ProductDTO::fromEntity)
+                        .toList()));
     }
 
     @GetMapping("/{id}")
@@ -122,13 +134,12 @@ public class ProductController {
             @ApiResponse(responseCode = "408", description = "Request timeout"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Product.ProductDTO>> getProductsByCategory(
+    public CompletableFuture<ResponseEntity<List<Product.ProductDTO>>> getProductsByCategory(
             @Parameter(description = "Product category", example = "electronics") @PathVariable String category) {
-        var products = productService.getProductsByCategory(category)
-                .stream()
-                .map(Product.ProductDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(products);
+        return productService.getProductsByCategoryAsync(category)
+                .thenApply(products -> ResponseEntity.ok(products.stream()
+                        .map(Product.ProductDTO::fromEntity)
+                        .toList()));
     }
 
     @GetMapping("/search")
@@ -211,12 +222,13 @@ public class ProductController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recommendations retrieved"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "408", description = "External service timeout"),
             @ApiResponse(responseCode = "503", description = "External service unavailable"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<String> getProductRecommendations(
+    public CompletableFuture<ResponseEntity<String>> getProductRecommendations(
             @Parameter(description = "Product ID") @PathVariable Long id) {
-        String recommendations = productService.getProductRecommendations(id);
-        return ResponseEntity.ok(recommendations);
+        return productService.getProductRecommendationsAsync(id)
+                .thenApply(ResponseEntity::ok);
     }
 }
@@ -2,16 +2,24 @@ package tech.remiges.serversage.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tech.remiges.serversage.cache.JsonResponseCache;
 import tech.remiges.serversage.exception.CustomExceptions;
 import tech.remiges.serversage.model.User;
 import tech.remiges.serversage.model.User.UserDTO;
+import tech.remiges.serversage.model.UserPatch;
+import tech.remiges.serversage.model.VersionStamp;
 import tech.remiges.serversage.service.UserService;
 
 import jakarta.validation.Valid;
@@ -26,27 +34,32 @@ import java.util.concurrent.ThreadLocalRandom;
 public class UserController {
 
     private final UserService userService;
+    private final JsonResponseCache responseCache;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, JsonResponseCache responseCache) {
         this.userService = userService;
+        this.responseCache = responseCache;
     }
 
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get all users", 
         description = "Retrieve all users from the database. May trigger database connection errors randomly (2% chance) for observability testing."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved users"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved users",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Users unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Database connection error or internal server error")
     })
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        var users = userService.getAllUsers()
-                .stream()
-                .map(UserDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<byte[]> getAllUsers(WebRequest request) {
+        VersionStamp version = userService.getUsersVersion();
+        return ConditionalGet.ifNoneMatch(request, version, () ->
+                responseCache.get("users", "", version, () -> userService.getAllUsers()
+                        .stream()
+                        .map(UserDTO::fromEntity)
+                        .toList()));
     }
 
     @GetMapping("/{id}")
@@ -298,17 +311,9 @@ public class UserController {
     public ResponseEntity<UserDTO> activateUser(
             @Parameter(description = "User ID") @PathVariable Long id) {
         
-        return userService.getUserById(id)
-                .map(user -> {
-                    if (!"INACTIVE".equals(user.getRole())) {
-                        throw new CustomExceptions.BusinessLogicException("User is already active");
-                    }
-                    user.setRole("USER");
-                    return userService.updateUser(id, user)
-                            .map(UserDTO::fromEntity)
-                            .map(ResponseEntity::ok)
-                            .orElse(ResponseEntity.notFound().build());
-                })
+        return userService.patchUser(id, UserPatch.role("USER").ifRoleIs("INACTIVE", "User is already active"))
+                .map(UserDTO::fromEntity)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -326,17 +331,9 @@ public class UserController {
     public ResponseEntity<UserDTO> deactivateUser(
             @Parameter(description = "User ID") @PathVariable Long id) {
         
-        return userService.getUserById(id)
-                .map(user -> {
-                    if ("ADMIN".equals(user.getRole())) {
-                        throw new CustomExceptions.BusinessLogicException("Cannot deactivate admin users");
-                    }
-                    user.setRole("INACTIVE");
-                    return userService.updateUser(id, user)
-                            .map(UserDTO::fromEntity)
-                            .map(ResponseEntity::ok)
-                            .orElse(ResponseEntity.notFound().build());
-                })
+        return userService.patchUser(id, UserPatch.role("INACTIVE").unlessRoleIs("ADMIN", "Cannot deactivate admin users"))
+                .map(UserDTO::fromEntity)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -387,14 +384,9 @@ public class UserController {
             throw new CustomExceptions.ValidationException("Invalid role. Allowed roles: USER, ADMIN, INACTIVE");
         }
         
-        return userService.getUserById(id)
-                .map(user -> {
-                    user.setRole(role);
-                    return userService.updateUser(id, user)
-                            .map(UserDTO::fromEntity)
-                            .map(ResponseEntity::ok)
-                            .orElse(ResponseEntity.notFound().build());
-                })
+        return userService.patchUser(id, UserPatch.role(role))
+                .map(UserDTO::fromEntity)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -5,120 +5,146 @@ package tech.remiges.serversage.exception;
  */
 public class CustomExceptions {
 
-    public static class UserNotFoundException extends RuntimeException {
+    /** Base for exceptions carrying a stable error code, reported as the response's {@code error}. */
+    public abstract static class CodedException extends RuntimeException {
+        private final String code;
+
+        protected CodedException(String code, String message, Throwable cause, boolean writableStackTrace) {
+            super(message, cause, true, writableStackTrace);
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    /**
+     * Expected, client-caused outcomes such as "not found" or "invalid input". They are
+     * thrown on hot paths for control flow, so no stack trace is captured: the frames
+     * would never be looked at, and filling them in dominates the cost of the throw.
+     * Infrastructure failures extend {@link CodedException} and keep their stack.
+     */
+    public abstract static class BusinessException extends CodedException {
+        protected BusinessException(String code, String message, Throwable cause) {
+            super(code, message, cause, false);
+        }
+    }
+
+    public static class UserNotFoundException extends BusinessException {
         public UserNotFoundException(String message) {
-            super(message);
+            super("USER_NOT_FOUND", message, null);
         }
         public UserNotFoundException(String message, Throwable cause) {
-            super(message, cause);
+            super("USER_NOT_FOUND", message, cause);
         }
     }
 
-    public static class ProductNotFoundException extends RuntimeException {
+    public static class ProductNotFoundException extends BusinessException {
         public ProductNotFoundException(String message) {
-            super(message);
+            super("PRODUCT_NOT_FOUND", message, null);
         }
         public ProductNotFoundException(String message, Throwable cause) {
-            super(message, cause);
+            super("PRODUCT_NOT_FOUND", message, cause);
         }
     }
 
-    public static class OrderNotFoundException extends RuntimeException {
+    public static class OrderNotFoundException extends BusinessException {
         public OrderNotFoundException(String message) {
-            super(message);
+            super("ORDER_NOT_FOUND", message, null);
         }
         public OrderNotFoundException(String message, Throwable cause) {
-            super(message, cause);
+            super("ORDER_NOT_FOUND", message, cause);
         }
     }
 
-    public static class DuplicateEmailException extends RuntimeException {
+    public static class DuplicateEmailException extends BusinessException {
         public DuplicateEmailException(String message) {
-            super(message);
+            super("DUPLICATE_EMAIL", message, null);
         }
         public DuplicateEmailException(String message, Throwable cause) {
-            super(message, cause);
+            super("DUPLICATE_EMAIL", message, cause);
         }
     }
 
-    public static class DuplicateProductException extends RuntimeException {
+    public static class DuplicateProductException extends BusinessException {
         public DuplicateProductException(String message) {
-            super(message);
+            super("DUPLICATE_PRODUCT", message, null);
         }
         public DuplicateProductException(String message, Throwable cause) {
-            super(message, cause);
+            super("DUPLICATE_PRODUCT", message, cause);
         }
     }
 
-    public static class InsufficientStockException extends RuntimeException {
+    public static class InsufficientStockException extends BusinessException {
         public InsufficientStockException(String message) {
-            super(message);
+            super("INSUFFICIENT_STOCK", message, null);
         }
         public InsufficientStockException(String message, Throwable cause) {
-            super(message, cause);
+            super("INSUFFICIENT_STOCK", message, cause);
         }
     }
 
-    public static class InvalidPriceException extends RuntimeException {
+    public static class InvalidPriceException extends BusinessException {
         public InvalidPriceException(String message) {
-            super(message);
+            super("INVALID_PRICE", message, null);
         }
         public InvalidPriceException(String message, Throwable cause) {
-            super(message, cause);
+            super("INVALID_PRICE", message, cause);
         }
     }
 
-    public static class DatabaseConnectionException extends RuntimeException {
+    public static class DatabaseConnectionException extends CodedException {
         public DatabaseConnectionException(String message) {
-            super(message);
+            super("DATABASE_ERROR", message, null, true);
         }
         public DatabaseConnectionException(String message, Throwable cause) {
-            super(message, cause);
+            super("DATABASE_ERROR", message, cause, true);
         }
     }
 
-    public static class ValidationException extends RuntimeException {
+    public static class ValidationException extends BusinessException {
         public ValidationException(String message) {
-            super(message);
+            super("VALIDATION_ERROR", message, null);
         }
         public ValidationException(String message, Throwable cause) {
-            super(message, cause);
+            super("VALIDATION_ERROR", message, cause);
         }
     }
 
-    public static class BusinessLogicException extends RuntimeException {
+    public static class BusinessLogicException extends BusinessException {
         public BusinessLogicException(String message) {
-            super(message);
+            super("BUSINESS_LOGIC_ERROR", message, null);
         }
         public BusinessLogicException(String message, Throwable cause) {
-            super(message, cause);
+            super("BUSINESS_LOGIC_ERROR", message, cause);
         }
     }
 
-    public static class ExternalServiceException extends RuntimeException {
+    public static class ExternalServiceException extends CodedException {
         public ExternalServiceException(String message) {
-            super(message);
+            super("EXTERNAL_SERVICE_ERROR", message, null, true);
         }
         public ExternalServiceException(String message, Throwable cause) {
-            super(message, cause);
+            super("EXTERNAL_SERVICE_ERROR", message, cause, true);
         }
     }
 
-    public static class TimeoutException extends RuntimeException {
+    public static class TimeoutException extends CodedException {
         public TimeoutException(String message) {
-            super(message);
+            super("TIMEOUT_ERROR", message, null, true);
         }
         public TimeoutException(String message, Throwable cause) {
-            super(message, cause);
+            super("TIMEOUT_ERROR", message, cause, true);
         }
     }
 
-    public static class RateLimitException extends RuntimeException {
+    public static class RateLimitException extends BusinessException {
         public RateLimitException(String message) {
-            super(message);
+            super("RATE_LIMIT_EXCEEDED", message, null);
         }
         public RateLimitException(String message, Throwable cause) {
-            super(message, cause);
+            super("RATE_LIMIT_EXCEEDED", message, cause);
         }
     }
 }
@@ -3,7 +3,9 @@ package tech.remiges.serversage.exception;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.common.Attributes;
+import tech.remiges.serversage.observability.ErrorLedger;
 import tech.remiges.serversage.observability.ObservabilityService;
+import tech.remiges.serversage.observability.RouteNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -39,67 +41,67 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CustomExceptions.UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFoundException(CustomExceptions.UserNotFoundException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.NOT_FOUND, "USER_NOT_FOUND", "user-service", request);
+        return handleException(ex, HttpStatus.NOT_FOUND, ex.getCode(), "user-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.ProductNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleProductNotFoundException(CustomExceptions.ProductNotFoundException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.NOT_FOUND, "PRODUCT_NOT_FOUND", "product-service", request);
+        return handleException(ex, HttpStatus.NOT_FOUND, ex.getCode(), "product-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.OrderNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleOrderNotFoundException(CustomExceptions.OrderNotFoundException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND", "order-service", request);
+        return handleException(ex, HttpStatus.NOT_FOUND, ex.getCode(), "order-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.DuplicateEmailException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateEmailException(CustomExceptions.DuplicateEmailException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.CONFLICT, "DUPLICATE_EMAIL", "user-service", request);
+        return handleException(ex, HttpStatus.CONFLICT, ex.getCode(), "user-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.DuplicateProductException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateProductException(CustomExceptions.DuplicateProductException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.CONFLICT, "DUPLICATE_PRODUCT", "product-service", request);
+        return handleException(ex, HttpStatus.CONFLICT, ex.getCode(), "product-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.InsufficientStockException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientStockException(CustomExceptions.InsufficientStockException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.BAD_REQUEST, "INSUFFICIENT_STOCK", "inventory-service", request);
+        return handleException(ex, HttpStatus.BAD_REQUEST, ex.getCode(), "inventory-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.InvalidPriceException.class)
     public ResponseEntity<ErrorResponse> handleInvalidPriceException(CustomExceptions.InvalidPriceException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.BAD_REQUEST, "INVALID_PRICE", "validation-service", request);
+        return handleException(ex, HttpStatus.BAD_REQUEST, ex.getCode(), "validation-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.DatabaseConnectionException.class)
     public ResponseEntity<ErrorResponse> handleDatabaseConnectionException(CustomExceptions.DatabaseConnectionException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.INTERNAL_SERVER_ERROR, "DATABASE_ERROR", "database-service", request);
+        return handleException(ex, HttpStatus.INTERNAL_SERVER_ERROR, ex.getCode(), "database-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.ValidationException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(CustomExceptions.ValidationException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "validation-service", request);
+        return handleException(ex, HttpStatus.BAD_REQUEST, ex.getCode(), "validation-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.BusinessLogicException.class)
     public ResponseEntity<ErrorResponse> handleBusinessLogicException(CustomExceptions.BusinessLogicException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.UNPROCESSABLE_ENTITY, "BUSINESS_LOGIC_ERROR", "business-service", request);
+        return handleException(ex, HttpStatus.UNPROCESSABLE_ENTITY, ex.getCode(), "business-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.ExternalServiceException.class)
     public ResponseEntity<ErrorResponse> handleExternalServiceException(CustomExceptions.ExternalServiceException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.SERVICE_UNAVAILABLE, "EXTERNAL_SERVICE_ERROR", "external-service", request);
+        return handleException(ex, HttpStatus.SERVICE_UNAVAILABLE, ex.getCode(), "external-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.TimeoutException.class)
     public ResponseEntity<ErrorResponse> handleTimeoutException(CustomExceptions.TimeoutException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.REQUEST_TIMEOUT, "TIMEOUT_ERROR", "timeout-service", request);
+        return handleException(ex, HttpStatus.REQUEST_TIMEOUT, ex.getCode(), "timeout-service", request);
     }
 
     @ExceptionHandler(CustomExceptions.RateLimitException.class)
     public ResponseEntity<ErrorResponse> handleRateLimitException(CustomExceptions.RateLimitException ex, WebRequest request) {
-        return handleException(ex, HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMIT_EXCEEDED", "rate-limiter", request);
+        return handleException(ex, HttpStatus.TOO_MANY_REQUESTS, ex.getCode(), "rate-limiter", request);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
@@ -173,43 +175,47 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Records comprehensive error information across all observability signals
+     * Records the error once for the request: the handler is the outermost boundary, so
+     * inner layers have only marked their spans. One metric increment, the server span's
+     * status and attributes, and a single SLF4J line, which reaches the OpenTelemetry log
+     * pipeline through the logback appender. The exception event is added here only if
+     * no instrumented layer attached it already.
      */
     private void recordComprehensiveError(Exception ex, String errorCode, String component, WebRequest request) {
-        // Record error metrics with exemplar support
-        observabilityService.recordError(errorCode, component, getOperationFromRequest(request), ex);
-
-        // Record span error for distributed tracing
-        recordSpanError(ex, errorCode, component);
+        if (!observabilityService.claimError(ex, errorCode)) {
+            return;
+        }
+        ErrorLedger.Origin origin = observabilityService.getErrorLedger().origin(ex);
+        String attribution = origin != null ? origin.toString() : component;
+        // Expected, client-caused errors: no stack trace is recorded or printed
+        boolean expected = ex instanceof CustomExceptions.BusinessException || ex instanceof MethodArgumentNotValidException;
 
-        // Log structured error with trace correlation
-        observabilityService.logError("Application error occurred", ex, Attributes.builder()
-                .put("error.code", errorCode)
-                .put("component", component)
-                .put("http.path", request.getDescription(false))
-                .put("error.handled", true)
-                .build());
+        Span currentSpan = Span.current();
+        if (currentSpan.getSpanContext().isValid()) {
+            currentSpan.setStatus(StatusCode.ERROR, ex.getMessage() != null ? ex.getMessage() : "");
+            currentSpan.setAllAttributes(errorAttributes(ex, errorCode, component, attribution));
+            if (!expected && observabilityService.getErrorLedger().observe(ex, component, getOperationFromRequest(request))) {
+                currentSpan.recordException(ex);
+            }
+        }
 
-        // Also log to standard logger for backward compatibility
-        logger.error("Error occurred - Code: {}, Component: {}, Path: {}, Message: {}", 
-                errorCode, component, request.getDescription(false), ex.getMessage(), ex);
+        if (expected) {
+            logger.warn("Request rejected - Code: {}, Origin: {}, Path: {}, Message: {}",
+                    errorCode, attribution, request.getDescription(false), ex.getMessage());
+        } else {
+            logger.error("Error occurred - Code: {}, Origin: {}, Path: {}, Message: {}",
+                    errorCode, attribution, request.getDescription(false), ex.getMessage(), ex);
+        }
     }
 
-    /**
-     * Records error information in the current span
-     */
-    private void recordSpanError(Exception ex, String errorCode, String component) {
-        Span currentSpan = Span.current();
-        if (currentSpan != null && currentSpan.getSpanContext().isValid()) {
-            currentSpan.setStatus(StatusCode.ERROR, ex.getMessage());
-            currentSpan.setAllAttributes(Attributes.builder()
-                    .put("error.type", errorCode)
-                    .put("error.message", ex.getMessage() != null ? ex.getMessage() : "")
-                    .put("component", component)
-                    .put("exception.type", ex.getClass().getSimpleName())
-                    .build());
-            currentSpan.recordException(ex);
-        }
+    private static Attributes errorAttributes(Exception ex, String errorCode, String component, String origin) {
+        return Attributes.builder()
+                .put("error.type", errorCode)
+                .put("error.message", ex.getMessage() != null ? ex.getMessage() : "")
+                .put("error.origin", origin)
+                .put("component", component)
+                .put("exception.type", ex.getClass().getSimpleName())
+                .build();
     }
 
     /**
@@ -219,8 +225,7 @@ public class GlobalExceptionHandler {
         String description = request.getDescription(false);
         if (description.contains("uri=")) {
             String uri = description.substring(description.indexOf("uri=") + 4);
-            return uri.replaceAll("/\\d+", "/{id}")
-                     .replaceAll("/[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{12}", "/{uuid}");
+            return RouteNormalizer.normalize(uri);
         }
         return "unknown";
     }
@@ -64,6 +64,19 @@ public class Order {
         }
     }
 
+    // Order with its user and product resolved; user/product are null if the referenced row no longer exists
+    public record EnrichedOrderDTO(Long id, Long userId, Long productId, Integer quantity,
+                                   BigDecimal totalAmount, OrderStatus status, LocalDateTime createdAt,
+                                   LocalDateTime updatedAt, User.UserDTO user, Product.ProductDTO product) {
+        public static EnrichedOrderDTO fromEntity(Order order, User user, Product product) {
+            return new EnrichedOrderDTO(order.getId(), order.getUserId(), order.getProductId(),
+                    order.getQuantity(), order.getTotalAmount(), order.getStatus(),
+                    order.getCreatedAt(), order.getUpdatedAt(),
+                    user != null ? User.UserDTO.fromEntity(user) : null,
+                    product != null ? Product.ProductDTO.fromEntity(product) : null);
+        }
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -5,10 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "users")
 public class User {
@@ -27,6 +31,9 @@ public class User {
 
     private String role;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // Default constructor
     public User() {
     }
@@ -38,6 +45,12 @@ public class User {
         this.role = role;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // Record for DTOs with pattern matching support
     public record UserDTO(Long id, String name, String email, String role) {
         public static UserDTO fromEntity(User user) {
@@ -78,6 +91,14 @@ public class User {
         this.role = role;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "User{" +
@@ -0,0 +1,40 @@
+package tech.remiges.serversage.model;
+
+/**
+ * Partial update of a user: only the non-null fields are written.
+ *
+ * An optional role precondition makes the update conditional, so a check such as
+ * "only inactive users can be activated" is part of the UPDATE's WHERE clause
+ * instead of a separate read. {@code conflictMessage} explains a failed precondition.
+ */
+public record UserPatch(
+    String name,
+    String email,
+    String role,
+    String requiredRole,
+    String forbiddenRole,
+    String conflictMessage
+) {
+
+    public static UserPatch role(String role) {
+        return new UserPatch(null, null, role, null, null, null);
+    }
+
+    /** Applies only if the current role equals {@code role}. */
+    public UserPatch ifRoleIs(String role, String conflictMessage) {
+        return new UserPatch(name, email, this.role, role, forbiddenRole, conflictMessage);
+    }
+
+    /** Applies only if the current role is not {@code role} (a null role qualifies). */
+    public UserPatch unlessRoleIs(String role, String conflictMessage) {
+        return new UserPatch(name, email, this.role, requiredRole, role, conflictMessage);
+    }
+
+    public boolean isEmpty() {
+        return name == null && email == null && role == null;
+    }
+
+    public boolean isConditional() {
+        return requiredRole != null || forbiddenRole != null;
+    }
+}
@@ -0,0 +1,19 @@
+package tech.remiges.serversage.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cheap version of a whole table: its row count and latest {@code updated_at}. Any
+ * insert, update or delete changes one or the other, so it stands in for the list
+ * contents when answering conditional GETs.
+ */
+public record VersionStamp(long count, LocalDateTime lastModified) {
+
+    /** Weak entity tag; weak because compression changes the bytes but not the list. */
+    public String etag() {
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "W/\"" + count + "-" + Long.toHexString(micros) + "\"";
+    }
+}
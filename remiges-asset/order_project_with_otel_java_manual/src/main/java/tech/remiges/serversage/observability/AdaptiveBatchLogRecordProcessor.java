@@ -0,0 +1,43 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+
+/**
+ * Replacement for {@code BatchLogRecordProcessor} backed by an {@link AdaptiveBatcher}.
+ */
+public class AdaptiveBatchLogRecordProcessor implements LogRecordProcessor {
+
+    private final LogRecordExporter exporter;
+    private final AdaptiveBatcher<LogRecordData> batcher;
+
+    public AdaptiveBatchLogRecordProcessor(LogRecordExporter exporter, AdaptiveBatcher.Settings settings,
+                                           MeterProvider meterProvider) {
+        this.exporter = exporter;
+        this.batcher = new AdaptiveBatcher<>("logs", exporter::export, settings, meterProvider);
+    }
+
+    @Override
+    public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+        batcher.add(logRecord.toLogRecordData());
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return AdaptiveBatcher.then(batcher.flush(), exporter::flush);
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return AdaptiveBatcher.then(batcher.shutdown(), exporter::shutdown);
+    }
+
+    public AdaptiveBatcher<LogRecordData> getBatcher() {
+        return batcher;
+    }
+}
@@ -0,0 +1,71 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replacement for {@code BatchSpanProcessor} backed by an {@link AdaptiveBatcher}.
+ */
+public class AdaptiveBatchSpanProcessor implements SpanProcessor {
+
+    private final SpanExporter exporter;
+    private final AdaptiveBatcher<ReadableSpan> batcher;
+
+    public AdaptiveBatchSpanProcessor(SpanExporter exporter, AdaptiveBatcher.Settings settings,
+                                      MeterProvider meterProvider) {
+        this.exporter = exporter;
+        this.batcher = new AdaptiveBatcher<>("traces", this::export, settings, meterProvider);
+    }
+
+    private CompletableResultCode export(List<ReadableSpan> spans) {
+        List<SpanData> batch = new ArrayList<>(spans.size());
+        for (ReadableSpan span : spans) {
+            batch.add(span.toSpanData());
+        }
+        return exporter.export(batch);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (span.getSpanContext().isSampled()) {
+            batcher.add(span);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return AdaptiveBatcher.then(batcher.flush(), exporter::flush);
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return AdaptiveBatcher.then(batcher.shutdown(), exporter::shutdown);
+    }
+
+    public AdaptiveBatcher<ReadableSpan> getBatcher() {
+        return batcher;
+    }
+}
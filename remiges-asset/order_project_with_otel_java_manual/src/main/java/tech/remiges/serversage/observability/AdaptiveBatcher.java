@@ -0,0 +1,286 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded export queue whose batch size and flush interval follow the load.
+ *
+ * After every export the controller looks at queue depth and export latency:
+ * a filling queue doubles the batch size and halves the delay so the backlog
+ * drains before items are dropped, a slow exporter halves the batch size so a
+ * single export stays under the latency target, and an idle queue slowly goes
+ * back to small batches and long delays to save wakeups. Sizes and delays are
+ * kept within the configured bounds.
+ */
+public class AdaptiveBatcher<T> {
+
+    private static final AttributeKey<String> SIGNAL = AttributeKey.stringKey("signal");
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final double HIGH_WATERMARK = 0.5;
+    private static final double LOW_WATERMARK = 0.1;
+
+    private final Function<List<T>, CompletableResultCode> exporter;
+    private final BlockingQueue<T> queue;
+    private final int capacity;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long exportTimeoutNanos;
+    private final long targetExportLatencyNanos;
+    private final Object exportLock = new Object();
+    private final Thread worker;
+
+    private final Attributes signalAttributes;
+    private final LongCounter droppedItems;
+    private final DoubleHistogram exportDuration;
+    private final LongAdder droppedCount = new LongAdder();
+
+    private volatile int batchSize;
+    private volatile long delayNanos;
+    private volatile boolean shutdown;
+
+    public AdaptiveBatcher(String signal, Function<List<T>, CompletableResultCode> exporter,
+                           Settings settings, MeterProvider meterProvider) {
+        this.exporter = exporter;
+        this.capacity = settings.queueSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.minBatchSize = Math.max(1, Math.min(settings.minBatchSize, capacity));
+        this.maxBatchSize = Math.max(minBatchSize, Math.min(settings.maxBatchSize, capacity));
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, settings.minDelayMillis));
+        this.maxDelayNanos = Math.max(minDelayNanos, TimeUnit.MILLISECONDS.toNanos(settings.maxDelayMillis));
+        this.exportTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(settings.exportTimeoutMillis);
+        this.targetExportLatencyNanos = TimeUnit.MILLISECONDS.toNanos(settings.targetExportLatencyMillis);
+        this.batchSize = Math.max(minBatchSize, Math.min(maxBatchSize, settings.initialBatchSize));
+        this.delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos,
+                TimeUnit.MILLISECONDS.toNanos(settings.initialDelayMillis)));
+
+        this.signalAttributes = Attributes.of(SIGNAL, signal);
+        Meter meter = meterProvider.get("serversage");
+        this.droppedItems = meter.counterBuilder("serversage_telemetry_export_dropped_total")
+                .setDescription("Telemetry items dropped because the export queue was full")
+                .build();
+        this.exportDuration = meter.histogramBuilder("serversage_telemetry_export_duration_seconds")
+                .setDescription("Time taken to export one telemetry batch")
+                .setUnit("s")
+                .build();
+        meter.gaugeBuilder("serversage_telemetry_export_queue_fill_ratio")
+                .setDescription("Fraction of the telemetry export queue in use")
+                .buildWithCallback(measurement -> measurement.record((double) queue.size() / capacity, signalAttributes));
+        meter.gaugeBuilder("serversage_telemetry_export_batch_size")
+                .setDescription("Current adaptive export batch size")
+                .ofLongs()
+                .buildWithCallback(measurement -> measurement.record(batchSize, signalAttributes));
+        meter.gaugeBuilder("serversage_telemetry_export_delay_ms")
+                .setDescription("Current adaptive export flush interval")
+                .setUnit("ms")
+                .ofLongs()
+                .buildWithCallback(measurement -> measurement.record(TimeUnit.NANOSECONDS.toMillis(delayNanos), signalAttributes));
+
+        this.worker = new Thread(this::run, "adaptive-batch-" + signal);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Queues an item for export; returns false (and counts a drop) if the queue is full. */
+    public boolean add(T item) {
+        if (shutdown || !queue.offer(item)) {
+            droppedItems.add(1, signalAttributes);
+            droppedCount.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>();
+        while (!shutdown) {
+            long deadline = System.nanoTime() + delayNanos;
+            try {
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    T item = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (item == null) {
+                        break;
+                    }
+                    batch.add(item);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (batch.isEmpty()) {
+                adapt(queue.size(), 0);
+            } else {
+                exportBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        // Anything taken from the queue but not yet exported is flushed by shutdown
+        batch.forEach(queue::offer);
+    }
+
+    private CompletableResultCode exportBatch(List<T> batch) {
+        synchronized (exportLock) {
+            long start = System.nanoTime();
+            CompletableResultCode result;
+            try {
+                result = exporter.apply(batch);
+                result.join(exportTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                result = CompletableResultCode.ofFailure();
+            }
+            long elapsed = System.nanoTime() - start;
+            exportDuration.record(elapsed / 1_000_000_000.0,
+                    signalAttributes.toBuilder().put(OUTCOME, result.isSuccess() ? "success" : "failure").build());
+            adapt(queue.size(), elapsed);
+            return result;
+        }
+    }
+
+    synchronized void adapt(int queueDepth, long exportNanos) {
+        double fill = (double) queueDepth / capacity;
+        if (fill >= HIGH_WATERMARK) {
+            batchSize = Math.min(maxBatchSize, batchSize * 2);
+            delayNanos = Math.max(minDelayNanos, delayNanos / 2);
+        } else if (exportNanos > targetExportLatencyNanos) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (fill <= LOW_WATERMARK) {
+            batchSize = Math.max(minBatchSize, batchSize - batchSize / 4);
+            delayNanos = Math.min(maxDelayNanos, delayNanos + delayNanos / 2);
+        }
+    }
+
+    /** Exports everything currently queued from the calling thread. */
+    public CompletableResultCode flush() {
+        List<CompletableResultCode> results = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            List<T> batch = new ArrayList<>(maxBatchSize);
+            queue.drainTo(batch, maxBatchSize);
+            if (!batch.isEmpty()) {
+                results.add(exportBatch(batch));
+            }
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    public CompletableResultCode shutdown() {
+        shutdown = true;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(exportTimeoutNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return flush();
+    }
+
+    /** Runs {@code next} once {@code first} completes; succeeds only if both succeed. */
+    static CompletableResultCode then(CompletableResultCode first, Supplier<CompletableResultCode> next) {
+        CompletableResultCode result = new CompletableResultCode();
+        first.whenComplete(() -> {
+            CompletableResultCode second = next.get();
+            second.whenComplete(() -> {
+                if (first.isSuccess() && second.isSuccess()) {
+                    result.succeed();
+                } else {
+                    result.fail();
+                }
+            });
+        });
+        return result;
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    long delayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long droppedCount() {
+        return droppedCount.sum();
+    }
+
+    /** Bounds and starting point of the adaptive controller. */
+    public static final class Settings {
+        private int queueSize = 8192;
+        private int initialBatchSize = 512;
+        private int minBatchSize = 64;
+        private int maxBatchSize = 2048;
+        private long initialDelayMillis = 1000;
+        private long minDelayMillis = 100;
+        private long maxDelayMillis = 5000;
+        private long exportTimeoutMillis = 30_000;
+        private long targetExportLatencyMillis = 1000;
+
+        public Settings setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        public Settings setInitialBatchSize(int initialBatchSize) {
+            this.initialBatchSize = initialBatchSize;
+            return this;
+        }
+
+        public Settings setMinBatchSize(int minBatchSize) {
+            this.minBatchSize = minBatchSize;
+            return this;
+        }
+
+        public Settings setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Settings setInitialDelayMillis(long initialDelayMillis) {
+            this.initialDelayMillis = initialDelayMillis;
+            return this;
+        }
+
+        public Settings setMinDelayMillis(long minDelayMillis) {
+            this.minDelayMillis = minDelayMillis;
+            return this;
+        }
+
+        public Settings setMaxDelayMillis(long maxDelayMillis) {
+            this.maxDelayMillis = maxDelayMillis;
+            return this;
+        }
+
+        public Settings setExportTimeoutMillis(long exportTimeoutMillis) {
+            this.exportTimeoutMillis = exportTimeoutMillis;
+            return this;
+        }
+
+        public Settings setTargetExportLatencyMillis(long targetExportLatencyMillis) {
+            this.targetExportLatencyMillis = targetExportLatencyMillis;
+            return this;
+        }
+    }
+}
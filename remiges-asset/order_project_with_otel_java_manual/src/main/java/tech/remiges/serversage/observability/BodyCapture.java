@@ -0,0 +1,132 @@
+package tech.remiges.serversage.observability;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Turns cached request and response bodies into span attribute / log values.
+ *
+ * Only the first {@code max-*-bytes} bytes of the cached buffer are decoded, and the
+ * cut is moved back to a UTF-8 character boundary so a multi-byte character is never
+ * split. The value is stored on the request, so the tracing interceptor and the
+ * logging filter share one decoded string instead of each converting the whole body.
+ * With {@code observability.body-capture.hash=true} bodies are replaced by a SHA-256
+ * digest of the full content, which still lets identical payloads be correlated.
+ *
+ * Bodies are only available once the handler has read them, so capture has to happen
+ * after the request was processed.
+ */
+@Component
+public class BodyCapture {
+
+    static final String REQUEST_BODY_ATTRIBUTE = BodyCapture.class.getName() + ".requestBody";
+    static final String RESPONSE_BODY_ATTRIBUTE = BodyCapture.class.getName() + ".responseBody";
+    static final String TRUNCATED_SUFFIX = "... (truncated)";
+
+    private final int maxRequestBytes;
+    private final int maxResponseBytes;
+    private final boolean hash;
+
+    public BodyCapture(@Value("${observability.body-capture.max-request-bytes:1000}") int maxRequestBytes,
+                       @Value("${observability.body-capture.max-response-bytes:500}") int maxResponseBytes,
+                       @Value("${observability.body-capture.hash:false}") boolean hash) {
+        this.maxRequestBytes = maxRequestBytes;
+        this.maxResponseBytes = maxResponseBytes;
+        this.hash = hash;
+    }
+
+    /** Captured request body, or {@code null} when there is none or it was not cached. */
+    public String requestBody(HttpServletRequest request) {
+        Object captured = request.getAttribute(REQUEST_BODY_ATTRIBUTE);
+        if (captured != null) {
+            return (String) captured;
+        }
+        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        if (wrapper == null) {
+            return null;
+        }
+        return remember(request, REQUEST_BODY_ATTRIBUTE, wrapper.getContentAsByteArray(), maxRequestBytes);
+    }
+
+    /** Captured response body, or {@code null} when there is none or it was not cached. */
+    public String responseBody(ServletRequest request, HttpServletResponse response) {
+        Object captured = request.getAttribute(RESPONSE_BODY_ATTRIBUTE);
+        if (captured != null) {
+            return (String) captured;
+        }
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null || wrapper.getContentSize() == 0) {
+            return null;
+        }
+        // Read the cached buffer in place; only the prefix (or the digest input) is copied
+        String value;
+        try (InputStream content = wrapper.getContentInputStream()) {
+            value = hash ? digest(content, wrapper.getContentSize())
+                    : prefix(content.readNBytes(maxResponseBytes + 1), wrapper.getContentSize(), maxResponseBytes);
+        } catch (IOException e) {
+            return null;
+        }
+        request.setAttribute(RESPONSE_BODY_ATTRIBUTE, value);
+        return value;
+    }
+
+    private String remember(ServletRequest request, String attribute, byte[] content, int maxBytes) {
+        if (content.length == 0) {
+            return null;
+        }
+        String value;
+        try {
+            value = hash ? digest(new ByteArrayInputStream(content), content.length)
+                    : prefix(content, content.length, maxBytes);
+        } catch (IOException e) {
+            return null;
+        }
+        request.setAttribute(attribute, value);
+        return value;
+    }
+
+    /**
+     * Decodes at most {@code maxBytes} bytes of a body of {@code length} bytes, cut at a
+     * UTF-8 character boundary. {@code content} holds at least {@code min(length, maxBytes + 1)} bytes.
+     */
+    static String prefix(byte[] content, int length, int maxBytes) {
+        if (length <= maxBytes) {
+            return new String(content, 0, length, StandardCharsets.UTF_8);
+        }
+        int cut = maxBytes;
+        // Back up over continuation bytes (10xxxxxx) to the start of the split character
+        while (cut > 0 && (content[cut] & 0xC0) == 0x80) {
+            cut--;
+        }
+        return new String(content, 0, cut, StandardCharsets.UTF_8) + TRUNCATED_SUFFIX;
+    }
+
+    static String digest(InputStream content, int length) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = content.read(chunk)) > 0) {
+            sha256.update(chunk, 0, read);
+        }
+        return "sha256:" + HexFormat.of().formatHex(sha256.digest()) + " (" + length + " bytes)";
+    }
+}
@@ -0,0 +1,26 @@
+package tech.remiges.serversage.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Attribute-combination limits for {@link CardinalityLimiter}, bound from
+ * {@code otel.metrics.cardinality.*}. Instruments without an entry in
+ * {@code instruments[<name>]} use {@code default-limit}.
+ */
+@Component
+@ConfigurationProperties(prefix = "otel.metrics.cardinality")
+public class CardinalityLimitProperties {
+
+    private int defaultLimit = CardinalityLimiter.DEFAULT_LIMIT;
+    private Map<String, Integer> instruments = new LinkedHashMap<>();
+
+    public int getDefaultLimit() { return defaultLimit; }
+    public void setDefaultLimit(int defaultLimit) { this.defaultLimit = defaultLimit; }
+
+    public Map<String, Integer> getInstruments() { return instruments; }
+    public void setInstruments(Map<String, Integer> instruments) { this.instruments = instruments; }
+}
@@ -0,0 +1,111 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of distinct attribute combinations each instrument may record.
+ *
+ * Attribute values such as error types and routes come from exception classes and
+ * request paths, so a misbehaving client can mint a new time series per request.
+ * The first {@code limit} combinations seen by an instrument are admitted; after that
+ * unseen combinations are folded into a single overflow series carrying only
+ * {@code otel.metric.overflow=true} (the OpenTelemetry convention), and counted as
+ * rejected. Admitted combinations are never evicted, so memory per instrument is
+ * bounded by the limit regardless of traffic.
+ */
+public class CardinalityLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardinalityLimiter.class);
+
+    public static final int DEFAULT_LIMIT = 1000;
+    public static final Attributes OVERFLOW = Attributes.of(AttributeKey.booleanKey("otel.metric.overflow"), true);
+
+    private static final AttributeKey<String> INSTRUMENT = AttributeKey.stringKey("instrument");
+
+    private final int defaultLimit;
+    private final Map<String, Integer> limits;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public CardinalityLimiter() {
+        this(DEFAULT_LIMIT, Map.of());
+    }
+
+    public CardinalityLimiter(int defaultLimit, Map<String, Integer> limits) {
+        this.defaultLimit = defaultLimit;
+        this.limits = Map.copyOf(limits);
+    }
+
+    /** Returns {@code attributes} if the instrument may record them, otherwise {@link #OVERFLOW}. */
+    public Attributes limit(String instrument, Attributes attributes) {
+        return guards.computeIfAbsent(instrument, this::newGuard).admit(instrument, attributes);
+    }
+
+    public long rejected(String instrument) {
+        Guard guard = guards.get(instrument);
+        return guard == null ? 0 : guard.rejected.sum();
+    }
+
+    public int combinations(String instrument) {
+        Guard guard = guards.get(instrument);
+        return guard == null ? 0 : guard.size.get();
+    }
+
+    public void bindMetrics(Meter meter) {
+        meter.counterBuilder("serversage_metric_cardinality_rejected_total")
+                .setDescription("Measurements folded into the overflow series because the instrument's attribute limit was reached")
+                .buildWithCallback(measurement -> guards.forEach((instrument, guard) ->
+                        measurement.record(guard.rejected.sum(), Attributes.of(INSTRUMENT, instrument))));
+        meter.gaugeBuilder("serversage_metric_cardinality_combinations")
+                .setDescription("Distinct attribute combinations admitted per instrument")
+                .ofLongs()
+                .buildWithCallback(measurement -> guards.forEach((instrument, guard) ->
+                        measurement.record(guard.size.get(), Attributes.of(INSTRUMENT, instrument))));
+    }
+
+    private Guard newGuard(String instrument) {
+        return new Guard(limits.getOrDefault(instrument, defaultLimit));
+    }
+
+    private static final class Guard {
+        final int limit;
+        final Set<Attributes> admitted = ConcurrentHashMap.newKeySet();
+        final AtomicInteger size = new AtomicInteger();
+        final LongAdder rejected = new LongAdder();
+        final AtomicBoolean warned = new AtomicBoolean();
+
+        Guard(int limit) {
+            this.limit = limit;
+        }
+
+        Attributes admit(String instrument, Attributes attributes) {
+            if (admitted.contains(attributes)) {
+                return attributes;
+            }
+            // Reserve a slot first so concurrent callers cannot push the set past the limit
+            if (size.incrementAndGet() <= limit) {
+                if (!admitted.add(attributes)) {
+                    size.decrementAndGet();
+                }
+                return attributes;
+            }
+            size.decrementAndGet();
+            rejected.increment();
+            if (warned.compareAndSet(false, true)) {
+                logger.warn("Metric {} reached its limit of {} attribute combinations; further combinations go to the overflow series",
+                        instrument, limit);
+            }
+            return OVERFLOW;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Exporters that build their delegate on first use instead of at startup.
+ *
+ * Building an OTLP gRPC exporter loads and wires its HTTP/2 client, which is startup
+ * work the first export (on a batch worker or the metric reader thread, seconds
+ * later) can do instead. An exporter that never exported is shut down without being
+ * built.
+ */
+public final class DeferredExporters {
+
+    private DeferredExporters() {
+    }
+
+    public static SpanExporter spans(Supplier<SpanExporter> factory) {
+        return new DeferredSpanExporter(new Deferred<>(factory, SpanExporter::shutdown));
+    }
+
+    /**
+     * The metric reader asks for temporality and aggregation when it is registered, so
+     * those are answered up front with the OTLP exporter defaults (cumulative, default
+     * aggregation, immutable data) rather than by building the delegate.
+     */
+    public static MetricExporter metrics(Supplier<MetricExporter> factory) {
+        return new DeferredMetricExporter(new Deferred<>(factory, MetricExporter::shutdown));
+    }
+
+    public static LogRecordExporter logs(Supplier<LogRecordExporter> factory) {
+        return new DeferredLogRecordExporter(new Deferred<>(factory, LogRecordExporter::shutdown));
+    }
+
+    static final class Deferred<T> {
+        private final Supplier<T> factory;
+        private final Function<T, CompletableResultCode> shutdown;
+        private volatile T instance;
+        private volatile boolean closed;
+
+        Deferred(Supplier<T> factory, Function<T, CompletableResultCode> shutdown) {
+            this.factory = factory;
+            this.shutdown = shutdown;
+        }
+
+        /** The delegate, built on the first call; null once shut down without one. */
+        T get() {
+            T current = instance;
+            if (current == null) {
+                synchronized (this) {
+                    current = instance;
+                    if (current == null && !closed) {
+                        current = factory.get();
+                        instance = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        CompletableResultCode export(Function<T, CompletableResultCode> export) {
+            T current = get();
+            return current == null ? CompletableResultCode.ofFailure() : export.apply(current);
+        }
+
+        CompletableResultCode flush(Function<T, CompletableResultCode> flush) {
+            T current = instance;
+            return current == null ? CompletableResultCode.ofSuccess() : flush.apply(current);
+        }
+
+        CompletableResultCode shutdown() {
+            T current;
+            synchronized (this) {
+                closed = true;
+                current = instance;
+            }
+            return current == null ? CompletableResultCode.ofSuccess() : shutdown.apply(current);
+        }
+    }
+
+    private static final class DeferredSpanExporter implements SpanExporter {
+        private final Deferred<SpanExporter> delegate;
+
+        DeferredSpanExporter(Deferred<SpanExporter> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return delegate.export(exporter -> exporter.export(spans));
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return delegate.flush(SpanExporter::flush);
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return delegate.shutdown();
+        }
+    }
+
+    private static final class DeferredMetricExporter implements MetricExporter {
+        private final Deferred<MetricExporter> delegate;
+
+        DeferredMetricExporter(Deferred<MetricExporter> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            return delegate.export(exporter -> exporter.export(metrics));
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+            return Aggregation.defaultAggregation();
+        }
+
+        @Override
+        public MemoryMode getMemoryMode() {
+            return MemoryMode.IMMUTABLE_DATA;
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return delegate.flush(MetricExporter::flush);
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return delegate.shutdown();
+        }
+    }
+
+    private static final class DeferredLogRecordExporter implements LogRecordExporter {
+        private final Deferred<LogRecordExporter> delegate;
+
+        DeferredLogRecordExporter(Deferred<LogRecordExporter> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<LogRecordData> logs) {
+            return delegate.export(exporter -> exporter.export(logs));
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return delegate.flush(LogRecordExporter::flush);
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return delegate.shutdown();
+        }
+    }
+}
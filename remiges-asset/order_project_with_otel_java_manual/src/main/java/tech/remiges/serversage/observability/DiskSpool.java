@@ -0,0 +1,357 @@
+package tech.remiges.serversage.observability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped record spool made of fixed-size segment files.
+ *
+ * Segment layout: an 8 byte header (magic, version) followed by records of
+ * {@code [int length][byte acked][int crc32][payload]}. A record is appended by
+ * writing the payload, checksum and ack flag first and the length last, so a
+ * crash mid-append leaves a zero length (end of data) or a checksum mismatch,
+ * both of which recovery treats as the end of the segment.
+ *
+ * The spool is bounded by {@code maxSegments}; when full the oldest segment is
+ * discarded. Fully acknowledged segments are deleted. Payloads are written
+ * straight into the mapped region, so spooled data does not live on the heap.
+ *
+ * A directory belongs to one spool at a time: a lock on {@code spool.lock} is held
+ * until close, so a second instance pointed at the same directory fails fast
+ * instead of replaying or deleting the other's segments.
+ */
+public class DiskSpool implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskSpool.class);
+
+    private static final int MAGIC = 0x53504F4C; // "SPOL"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER = 8;
+    private static final int RECORD_HEADER = 9;
+    private static final int ACK_OFFSET = 4;
+    private static final int CRC_OFFSET = 5;
+    private static final String LOCK_FILE = "spool.lock";
+
+    @FunctionalInterface
+    public interface PayloadWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public record Record(long segmentId, int position, byte[] payload) {}
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final FileChannel lockChannel;
+
+    private long nextSegmentId;
+    private long pendingRecords;
+    private long droppedRecords;
+    private boolean closed;
+
+    public DiskSpool(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(2, maxSegments);
+        Files.createDirectories(directory);
+        this.lockChannel = lock(directory);
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(lockChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record of exactly {@code length} bytes. Returns false if the record
+     * can never fit into a segment or the spool is closed.
+     */
+    public synchronized boolean append(int length, PayloadWriter writer) throws IOException {
+        if (closed || length <= 0 || length > segmentBytes - SEGMENT_HEADER - RECORD_HEADER) {
+            return false;
+        }
+
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + RECORD_HEADER + length > segmentBytes) {
+            if (segment != null) {
+                segment.buffer.force();
+            }
+            segment = rollSegment();
+        }
+
+        int position = segment.writePosition;
+        ByteBuffer payload = segment.buffer.duplicate();
+        payload.position(position + RECORD_HEADER).limit(position + RECORD_HEADER + length);
+        ByteBuffer target = payload.slice();
+        writer.writeTo(new ByteBufferOutputStream(target));
+        if (target.position() != length) {
+            throw new IOException("Payload size mismatch: expected " + length + " but wrote " + target.position());
+        }
+
+        CRC32 crc = new CRC32();
+        target.flip();
+        crc.update(target);
+
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putInt(position + CRC_OFFSET, (int) crc.getValue());
+        buffer.put(position + ACK_OFFSET, (byte) 0);
+        buffer.putInt(position, length);
+
+        segment.writePosition = position + RECORD_HEADER + length;
+        segment.liveRecords++;
+        pendingRecords++;
+        return true;
+    }
+
+    /** Returns the oldest unacknowledged record, or null if the spool is drained. */
+    public synchronized Record peek() {
+        for (Segment segment : segments) {
+            while (segment.readPosition < segment.writePosition) {
+                int position = segment.readPosition;
+                int length = segment.buffer.getInt(position);
+                if (segment.buffer.get(position + ACK_OFFSET) == 0) {
+                    byte[] payload = new byte[length];
+                    segment.buffer.get(position + RECORD_HEADER, payload);
+                    return new Record(segment.id, position, payload);
+                }
+                segment.readPosition = position + RECORD_HEADER + length;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void ack(Record record) {
+        for (Segment segment : segments) {
+            if (segment.id != record.segmentId()) {
+                continue;
+            }
+            if (segment.buffer.get(record.position() + ACK_OFFSET) == 0) {
+                segment.buffer.put(record.position() + ACK_OFFSET, (byte) 1);
+                segment.liveRecords--;
+                pendingRecords--;
+            }
+            if (segment.readPosition == record.position()) {
+                segment.readPosition = record.position() + RECORD_HEADER + record.payload().length;
+            }
+            break;
+        }
+        deleteDrainedSegments();
+    }
+
+    public synchronized long pendingRecords() {
+        return pendingRecords;
+    }
+
+    public synchronized long droppedRecords() {
+        return droppedRecords;
+    }
+
+    public synchronized long sizeBytes() {
+        return (long) segments.size() * segmentBytes;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            closeQuietly(segment.channel);
+        }
+        // Closing the channel releases the directory lock
+        closeQuietly(lockChannel);
+    }
+
+    private static FileChannel lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            closeQuietly(channel);
+            throw new IOException("Spool directory " + directory + " is in use by another spool");
+        }
+        return channel;
+    }
+
+    private Segment rollSegment() throws IOException {
+        while (segments.size() >= maxSegments) {
+            Segment oldest = segments.pollFirst();
+            droppedRecords += oldest.liveRecords;
+            pendingRecords -= oldest.liveRecords;
+            logger.warn("Telemetry spool full in {}: discarding segment {} with {} unsent records",
+                    directory, oldest.id, oldest.liveRecords);
+            delete(oldest);
+        }
+        Path file = directory.resolve(String.format("segment-%020d.spool", nextSegmentId));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        Segment segment = new Segment(nextSegmentId++, file, channel, buffer);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().matches("segment-\\d{20}\\.spool"))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            long id = Long.parseLong(file.getFileName().toString().substring(8, 28));
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            if (Files.size(file) != segmentBytes) {
+                logger.warn("Discarding spool segment {} with unexpected size", file);
+                Files.deleteIfExists(file);
+                continue;
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                logger.warn("Discarding spool segment {} with unknown header", file);
+                closeQuietly(channel);
+                Files.deleteIfExists(file);
+                continue;
+            }
+            Segment segment = new Segment(id, file, channel, buffer);
+            scan(segment);
+            if (segment.liveRecords == 0) {
+                delete(segment);
+            } else {
+                segments.addLast(segment);
+                pendingRecords += segment.liveRecords;
+            }
+        }
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.pollFirst();
+            droppedRecords += oldest.liveRecords;
+            pendingRecords -= oldest.liveRecords;
+            delete(oldest);
+        }
+        if (pendingRecords > 0) {
+            logger.info("Recovered {} unsent telemetry records from {}", pendingRecords, directory);
+        }
+    }
+
+    private void scan(Segment segment) {
+        int position = SEGMENT_HEADER;
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER <= segmentBytes) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > segmentBytes) {
+                break;
+            }
+            ByteBuffer payload = segment.buffer.duplicate();
+            payload.position(position + RECORD_HEADER).limit(position + RECORD_HEADER + length);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.buffer.getInt(position + CRC_OFFSET)) {
+                logger.warn("Torn record in spool segment {} at offset {}, truncating", segment.file, position);
+                break;
+            }
+            if (segment.buffer.get(position + ACK_OFFSET) == 0) {
+                segment.liveRecords++;
+            }
+            position += RECORD_HEADER + length;
+        }
+        // Clear anything after the last valid record so new appends start clean
+        if (position + 4 <= segmentBytes) {
+            segment.buffer.putInt(position, 0);
+        }
+        segment.writePosition = position;
+    }
+
+    private void deleteDrainedSegments() {
+        while (segments.size() > 1 && segments.peekFirst().liveRecords == 0) {
+            delete(segments.pollFirst());
+        }
+    }
+
+    private void delete(Segment segment) {
+        closeQuietly(segment.channel);
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete spool segment {}", segment.file, e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing to do
+        }
+    }
+
+    private static final class Segment {
+        final long id;
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int writePosition = SEGMENT_HEADER;
+        int readPosition = SEGMENT_HEADER;
+        long liveRecords;
+
+        Segment(long id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class ByteBufferOutputStream extends OutputStream {
+        private final ByteBuffer target;
+
+        ByteBufferOutputStream(ByteBuffer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!target.hasRemaining()) {
+                throw new IOException("Payload larger than declared length");
+            }
+            target.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target.remaining() < length) {
+                throw new IOException("Payload larger than declared length");
+            }
+            target.put(bytes, offset, length);
+        }
+    }
+}
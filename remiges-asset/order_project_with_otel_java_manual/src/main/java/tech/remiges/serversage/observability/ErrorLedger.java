@@ -0,0 +1,116 @@
+package tech.remiges.serversage.observability;
+
+import java.lang.ref.WeakReference;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers, per request thread, which exceptions have been seen and which recorded,
+ * so an exception propagating through repository, service and controller layers is
+ * attached to a span once and counted and logged once.
+ *
+ * The first layer to observe an exception is where it surfaced; that origin is kept
+ * for attribution. Inside a request only the outermost boundary (the exception
+ * handler, or the HTTP interceptor for anything that escapes it) records. Outside a
+ * request there is no such boundary, so the first layer to see an exception records it
+ * and the layers it propagates through afterwards skip it.
+ */
+public class ErrorLedger {
+
+    public record Origin(String component, String operation) {
+        @Override
+        public String toString() {
+            return component + "." + operation;
+        }
+    }
+
+    private static final class Entry {
+        final Origin origin;
+        boolean recorded;
+
+        Entry(Origin origin) {
+            this.origin = origin;
+        }
+    }
+
+    private static final class Scope {
+        // Most requests never fail, so the map is only allocated on the first error
+        Map<Throwable, Entry> entries;
+    }
+
+    private final ThreadLocal<Scope> request = new ThreadLocal<>();
+    private final ThreadLocal<WeakReference<Throwable>> recordedOutsideRequest = new ThreadLocal<>();
+
+    public void beginRequest() {
+        request.set(new Scope());
+    }
+
+    public void endRequest() {
+        request.remove();
+    }
+
+    public boolean inRequest() {
+        return request.get() != null;
+    }
+
+    /**
+     * Notes that {@code error} passed through {@code component.operation}. Returns true
+     * the first time the exception is seen on this thread, when it should be attached
+     * to the span.
+     */
+    public boolean observe(Throwable error, String component, String operation) {
+        Scope scope = request.get();
+        if (scope == null) {
+            WeakReference<Throwable> last = recordedOutsideRequest.get();
+            return last == null || last.get() != error;
+        }
+        if (scope.entries == null) {
+            scope.entries = new IdentityHashMap<>(4);
+        }
+        return scope.entries.putIfAbsent(error, new Entry(new Origin(component, operation))) == null;
+    }
+
+    /**
+     * Claims the one recording of {@code error}: returns true only for the first caller,
+     * which should then count and log it.
+     */
+    public boolean claim(Throwable error) {
+        Scope scope = request.get();
+        if (scope == null) {
+            WeakReference<Throwable> last = recordedOutsideRequest.get();
+            if (last != null && last.get() == error) {
+                return false;
+            }
+            recordedOutsideRequest.set(new WeakReference<>(error));
+            return true;
+        }
+        if (scope.entries == null) {
+            scope.entries = new IdentityHashMap<>(4);
+        }
+        Entry entry = scope.entries.computeIfAbsent(error, e -> new Entry(null));
+        if (entry.recorded) {
+            return false;
+        }
+        entry.recorded = true;
+        return true;
+    }
+
+    /**
+     * Where {@code error}, or the earliest observed exception in its cause chain,
+     * surfaced; null if no instrumented layer saw it.
+     */
+    public Origin origin(Throwable error) {
+        Scope scope = request.get();
+        if (scope == null || scope.entries == null) {
+            return null;
+        }
+        Origin origin = null;
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            Entry entry = scope.entries.get(t);
+            if (entry != null && entry.origin != null) {
+                origin = entry.origin;
+            }
+        }
+        return origin;
+    }
+}
@@ -0,0 +1,111 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes Hibernate's session factory statistics as OpenTelemetry metrics.
+ *
+ * The instruments are asynchronous: the periodic metric reader invokes their
+ * callbacks once per export interval, and each callback reads the counters Hibernate
+ * already maintains, so nothing is added to the query path. Rising entity fetch or
+ * collection fetch counts relative to queries are the usual signature of an N+1.
+ */
+@Component
+public class HibernateStatisticsMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateStatisticsMetrics.class);
+
+    private static final AttributeKey<String> OPERATION = AttributeKey.stringKey("operation");
+    private static final AttributeKey<String> CACHE = AttributeKey.stringKey("cache");
+    private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+
+    private static final Attributes SECOND_LEVEL = Attributes.of(CACHE, "second_level");
+    private static final Attributes QUERY = Attributes.of(CACHE, "query");
+
+    private final Statistics statistics;
+
+    @Autowired
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory, OpenTelemetry openTelemetry) {
+        this(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+        if (statistics.isStatisticsEnabled()) {
+            bindMetrics(openTelemetry.getMeter("serversage"));
+        } else {
+            logger.info("Hibernate statistics are disabled (hibernate.generate_statistics); not exporting them");
+        }
+    }
+
+    HibernateStatisticsMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public void bindMetrics(Meter meter) {
+        meter.gaugeBuilder("serversage_hibernate_query_execution_max_seconds")
+                .setDescription("Slowest HQL/JPQL query execution since startup")
+                .setUnit("s")
+                .buildWithCallback(measurement -> measurement.record(statistics.getQueryExecutionMaxTime() / 1000.0));
+        meter.counterBuilder("serversage_hibernate_queries_total")
+                .setDescription("HQL/JPQL and native queries executed")
+                .buildWithCallback(measurement -> measurement.record(statistics.getQueryExecutionCount()));
+        meter.counterBuilder("serversage_hibernate_entity_operations_total")
+                .setDescription("Entity loads, fetches, inserts, updates and deletes")
+                .buildWithCallback(measurement -> {
+                    measurement.record(statistics.getEntityLoadCount(), Attributes.of(OPERATION, "load"));
+                    measurement.record(statistics.getEntityFetchCount(), Attributes.of(OPERATION, "fetch"));
+                    measurement.record(statistics.getEntityInsertCount(), Attributes.of(OPERATION, "insert"));
+                    measurement.record(statistics.getEntityUpdateCount(), Attributes.of(OPERATION, "update"));
+                    measurement.record(statistics.getEntityDeleteCount(), Attributes.of(OPERATION, "delete"));
+                });
+        meter.counterBuilder("serversage_hibernate_collection_operations_total")
+                .setDescription("Collection loads and fetches")
+                .buildWithCallback(measurement -> {
+                    measurement.record(statistics.getCollectionLoadCount(), Attributes.of(OPERATION, "load"));
+                    measurement.record(statistics.getCollectionFetchCount(), Attributes.of(OPERATION, "fetch"));
+                });
+        meter.counterBuilder("serversage_hibernate_cache_requests_total")
+                .setDescription("Second-level and query cache lookups by result")
+                .buildWithCallback(measurement -> {
+                    measurement.record(statistics.getSecondLevelCacheHitCount(), SECOND_LEVEL.toBuilder().put(RESULT, "hit").build());
+                    measurement.record(statistics.getSecondLevelCacheMissCount(), SECOND_LEVEL.toBuilder().put(RESULT, "miss").build());
+                    measurement.record(statistics.getQueryCacheHitCount(), QUERY.toBuilder().put(RESULT, "hit").build());
+                    measurement.record(statistics.getQueryCacheMissCount(), QUERY.toBuilder().put(RESULT, "miss").build());
+                });
+        meter.gaugeBuilder("serversage_hibernate_cache_hit_ratio")
+                .setDescription("Share of cache lookups that were hits since startup")
+                .buildWithCallback(measurement -> {
+                    recordRatio(measurement, statistics.getSecondLevelCacheHitCount(),
+                            statistics.getSecondLevelCacheMissCount(), SECOND_LEVEL);
+                    recordRatio(measurement, statistics.getQueryCacheHitCount(),
+                            statistics.getQueryCacheMissCount(), QUERY);
+                });
+        meter.counterBuilder("serversage_hibernate_flushes_total")
+                .setDescription("Session flushes")
+                .buildWithCallback(measurement -> measurement.record(statistics.getFlushCount()));
+        meter.counterBuilder("serversage_hibernate_connections_obtained_total")
+                .setDescription("JDBC connections obtained by Hibernate sessions")
+                .buildWithCallback(measurement -> measurement.record(statistics.getConnectCount()));
+        meter.counterBuilder("serversage_hibernate_statements_prepared_total")
+                .setDescription("JDBC statements prepared by Hibernate")
+                .buildWithCallback(measurement -> measurement.record(statistics.getPrepareStatementCount()));
+        meter.counterBuilder("serversage_hibernate_sessions_opened_total")
+                .setDescription("Hibernate sessions opened")
+                .buildWithCallback(measurement -> measurement.record(statistics.getSessionOpenCount()));
+    }
+
+    private static void recordRatio(ObservableDoubleMeasurement measurement, long hits, long misses, Attributes attributes) {
+        // No lookups yet means no ratio, rather than a misleading 0
+        if (hits + misses > 0) {
+            measurement.record((double) hits / (hits + misses), attributes);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package tech.remiges.serversage.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-instrument histogram aggregation, bound from {@code otel.metrics.histograms.*}.
+ * Instruments are keyed by their exact name, in brackets so the underscores survive
+ * binding, e.g. {@code otel.metrics.histograms.instruments[serversage_http_request_duration_seconds].aggregation=explicit}.
+ * Histograms without an entry keep the SDK defaults.
+ */
+@Component
+@ConfigurationProperties(prefix = "otel.metrics.histograms")
+public class HistogramViewProperties {
+
+    private Map<String, Settings> instruments = new LinkedHashMap<>();
+
+    public Map<String, Settings> getInstruments() { return instruments; }
+    public void setInstruments(Map<String, Settings> instruments) { this.instruments = instruments; }
+
+    public enum Aggregation {
+        /** Fixed bucket boundaries, taken from {@code boundaries}. */
+        EXPLICIT,
+        /** Base-2 exponential buckets whose scale adapts to the recorded range. */
+        EXPONENTIAL
+    }
+
+    public static class Settings {
+
+        private Aggregation aggregation = Aggregation.EXPLICIT;
+        private List<Double> boundaries = new ArrayList<>();
+        private int maxBuckets = 160;
+        private int maxScale = 20;
+
+        public Aggregation getAggregation() { return aggregation; }
+        public void setAggregation(Aggregation aggregation) { this.aggregation = aggregation; }
+
+        public List<Double> getBoundaries() { return boundaries; }
+        public void setBoundaries(List<Double> boundaries) { this.boundaries = boundaries; }
+
+        public int getMaxBuckets() { return maxBuckets; }
+        public void setMaxBuckets(int maxBuckets) { this.maxBuckets = maxBuckets; }
+
+        public int getMaxScale() { return maxScale; }
+        public void setMaxScale(int maxScale) { this.maxScale = maxScale; }
+    }
+}
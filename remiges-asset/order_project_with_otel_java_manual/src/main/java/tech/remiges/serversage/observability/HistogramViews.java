@@ -0,0 +1,71 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.View;
+import io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil;
+import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registers a View per configured histogram so that latencies recorded in seconds get
+ * second-scale buckets instead of the SDK defaults (0, 5, 10, 25 ... 10000), which are
+ * meant for milliseconds and put almost every request in the first bucket.
+ *
+ * Views only change the aggregation, never the attributes, so the number of series
+ * stays the same. Each aggregation keeps its own exemplar reservoir: explicit
+ * histograms keep the latest sampled exemplar per bucket, exponential ones a small
+ * fixed-size reservoir. Which measurements are offered to the reservoirs is set with
+ * {@link #exemplarFilter(String)}.
+ */
+public final class HistogramViews {
+
+    private HistogramViews() {
+    }
+
+    public static void register(SdkMeterProviderBuilder builder, HistogramViewProperties properties) {
+        for (Map.Entry<String, HistogramViewProperties.Settings> entry : properties.getInstruments().entrySet()) {
+            builder.registerView(
+                    InstrumentSelector.builder()
+                            .setType(InstrumentType.HISTOGRAM)
+                            .setName(entry.getKey())
+                            .build(),
+                    View.builder()
+                            .setAggregation(aggregation(entry.getKey(), entry.getValue()))
+                            .build());
+        }
+    }
+
+    static Aggregation aggregation(String instrument, HistogramViewProperties.Settings settings) {
+        if (settings.getAggregation() == HistogramViewProperties.Aggregation.EXPONENTIAL) {
+            return Aggregation.base2ExponentialBucketHistogram(settings.getMaxBuckets(), settings.getMaxScale());
+        }
+        List<Double> boundaries = settings.getBoundaries();
+        if (boundaries.isEmpty()) {
+            throw new IllegalArgumentException("Histogram " + instrument + " uses explicit buckets but has no boundaries");
+        }
+        return Aggregation.explicitBucketHistogram(boundaries);
+    }
+
+    /**
+     * Sets which measurements may become exemplars: {@code trace_based} (only those
+     * recorded inside a sampled span, the default), {@code always_on} or {@code always_off}.
+     */
+    public static void setExemplarFilter(SdkMeterProviderBuilder builder, String filter) {
+        SdkMeterProviderUtil.setExemplarFilter(builder, exemplarFilter(filter));
+    }
+
+    static ExemplarFilter exemplarFilter(String filter) {
+        return switch (filter.trim().toLowerCase(Locale.ROOT)) {
+            case "always_on" -> ExemplarFilter.alwaysOn();
+            case "always_off" -> ExemplarFilter.alwaysOff();
+            case "trace_based" -> ExemplarFilter.traceBased();
+            default -> throw new IllegalArgumentException("Unknown exemplar filter: " + filter);
+        };
+    }
+}
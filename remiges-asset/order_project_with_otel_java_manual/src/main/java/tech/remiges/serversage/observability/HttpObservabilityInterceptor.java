@@ -3,10 +3,14 @@ package tech.remiges.serversage.observability;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Scope;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
 /**
  * HTTP interceptor for comprehensive request observability
@@ -18,28 +22,51 @@ import org.springframework.web.servlet.HandlerInterceptor;
  * - Request/response correlation
  * - Error tracking and correlation
  * - User agent and IP tracking
+ *
+ * Handlers returning CompletableFuture are dispatched twice: the span starts on the
+ * first dispatch and ends on the async one. What the first dispatch bound to its
+ * container thread is released in afterConcurrentHandlingStarted.
  */
 @Component
-public class HttpObservabilityInterceptor implements HandlerInterceptor {
+public class HttpObservabilityInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpObservabilityInterceptor.class);
 
     private final ObservabilityService observabilityService;
+    private final QueryBudget queryBudget;
     private static final String START_TIME_ATTRIBUTE = "startTime";
     private static final String SPAN_ATTRIBUTE = "otelSpan";
+    private static final String SCOPE_ATTRIBUTE = "otelScope";
+    private static final String QUERY_RECORDING_ATTRIBUTE = "queryRecording";
 
-    public HttpObservabilityInterceptor(ObservabilityService observabilityService) {
+    public HttpObservabilityInterceptor(ObservabilityService observabilityService, QueryBudget queryBudget) {
         this.observabilityService = observabilityService;
+        this.queryBudget = queryBudget;
     }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Rendering an async result: the span and query recording were started on the first dispatch
+            if (request.getAttribute(SPAN_ATTRIBUTE) instanceof Span span) {
+                request.setAttribute(SCOPE_ATTRIBUTE, span.makeCurrent());
+            }
+            observabilityService.getErrorLedger().beginRequest();
+            return true;
+        }
+
         long startTime = System.nanoTime();
         request.setAttribute(START_TIME_ATTRIBUTE, startTime);
+        TelemetryOverheadMonitor overheadMonitor = observabilityService.getOverheadMonitor();
+        overheadMonitor.beginRequest();
+        observabilityService.getErrorLedger().beginRequest();
 
         // Create span for the request
         String operationName = String.format("%s %s", request.getMethod(), getRoutePath(request));
         Span span = observabilityService.startSpan(operationName, SpanKind.SERVER);
         
         // Add comprehensive HTTP attributes
+        long overheadStart = overheadMonitor.start();
         span.setAllAttributes(Attributes.builder()
                 .put("http.method", request.getMethod())
                 .put("http.url", request.getRequestURL().toString())
@@ -51,9 +78,13 @@ public class HttpObservabilityInterceptor implements HandlerInterceptor {
                 .put("http.client_ip", getClientIpAddress(request))
                 .put("component", "http-server")
                 .build());
+        overheadMonitor.record(TelemetryOverheadMonitor.Category.ATTRIBUTES, overheadStart);
 
         request.setAttribute(SPAN_ATTRIBUTE, span);
-        span.makeCurrent();
+        request.setAttribute(SCOPE_ATTRIBUTE, span.makeCurrent());
+
+        // Count the SQL statements this request executes on its thread
+        request.setAttribute(QUERY_RECORDING_ATTRIBUTE, queryBudget.beginRequest());
 
         // Log request start
         observabilityService.logInfo("HTTP request started", Attributes.builder()
@@ -65,13 +96,25 @@ public class HttpObservabilityInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The container thread goes back to the pool; the span ends after the async dispatch
+        closeScope(request);
+        if (request.getAttribute(QUERY_RECORDING_ATTRIBUTE) instanceof QueryBudget.Recording recording) {
+            // Keeps its count for the report made when the async dispatch completes
+            recording.close();
+        }
+        observabilityService.getErrorLedger().endRequest();
+        observabilityService.getOverheadMonitor().endRequest();
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
         Long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
         Span span = (Span) request.getAttribute(SPAN_ATTRIBUTE);
 
         if (startTime != null && span != null) {
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
             int statusCode = response.getStatus();
 
             // Update span with response information
@@ -82,21 +125,26 @@ public class HttpObservabilityInterceptor implements HandlerInterceptor {
 
             // Handle exceptions
             if (ex != null) {
-                span.recordException(ex);
-                span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, ex.getMessage());
-                observabilityService.recordError("http_request_exception", "http-server", request.getRequestURI(), ex);
+                // Escaped the exception handler, so this is the outermost boundary that saw it
+                observabilityService.observeError(span, ex, "http-server", getRoutePath(request));
+                if (observabilityService.claimError(ex, ObservabilityService.errorType(ex))) {
+                    logger.error("Unhandled error on {} {}: {}", request.getMethod(), getRoutePath(request), ex.getMessage(), ex);
+                }
             } else if (statusCode >= 400) {
                 span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, "HTTP " + statusCode);
             } else {
                 span.setStatus(io.opentelemetry.api.trace.StatusCode.OK);
             }
 
+            queryBudget.endRequest((QueryBudget.Recording) request.getAttribute(QUERY_RECORDING_ATTRIBUTE),
+                    getRoutePath(request), span);
+
             // Record comprehensive metrics
             observabilityService.recordHttpRequest(
                     request.getMethod(),
                     getRoutePath(request),
                     statusCode,
-                    durationSeconds,
+                    durationMs,
                     request.getHeader("User-Agent")
             );
 
@@ -105,11 +153,23 @@ public class HttpObservabilityInterceptor implements HandlerInterceptor {
                     .put("http.method", request.getMethod())
                     .put("http.route", getRoutePath(request))
                     .put("http.status_code", statusCode)
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .put("success", statusCode < 400)
                     .build());
 
             span.end();
+        } else if (request.getAttribute(QUERY_RECORDING_ATTRIBUTE) instanceof QueryBudget.Recording recording) {
+            recording.close();
+        }
+        closeScope(request);
+        observabilityService.getErrorLedger().endRequest();
+        observabilityService.getOverheadMonitor().endRequest();
+    }
+
+    private static void closeScope(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
         }
     }
 
@@ -125,8 +185,7 @@ public class HttpObservabilityInterceptor implements HandlerInterceptor {
         }
         
         // Normalize path parameters for better grouping
-        return uri.replaceAll("/\\d+", "/{id}")
-                  .replaceAll("/[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{12}", "/{uuid}");
+        return RouteNormalizer.normalize(uri);
     }
 
     /**
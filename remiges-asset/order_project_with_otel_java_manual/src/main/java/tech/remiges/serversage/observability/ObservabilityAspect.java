@@ -35,41 +35,34 @@ public class ObservabilityAspect {
         String spanName = className + "." + methodName;
 
         Span span = observabilityService.startSpan(spanName);
+        TelemetryOverheadMonitor overheadMonitor = observabilityService.getOverheadMonitor();
+        long overheadStart = overheadMonitor.start();
         span.setAllAttributes(Attributes.builder()
                 .put("component", "service")
                 .put("operation", methodName)
                 .build());
+        overheadMonitor.record(TelemetryOverheadMonitor.Category.ATTRIBUTES, overheadStart);
 
         long startTime = System.nanoTime();
         try (var scope = span.makeCurrent()) {
             Object result = joinPoint.proceed();
             
             // Record successful operation
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation(methodName, className, durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation(methodName, className, durationMs, true, null);
             
             // Log successful operation
             observabilityService.logInfo("Service operation completed successfully",
                 Attributes.builder()
                     .put("service.class", className)
                     .put("service.method", methodName)
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .build());
             
             return result;
         } catch (Exception e) {
-            // Record error metrics and logs
-            span.recordException(e);
-            span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-            
-            observabilityService.recordError(e.getClass().getSimpleName(), className, methodName, e);
-            observabilityService.logError("Service operation failed",
-                e,
-                Attributes.builder()
-                    .put("service.class", className)
-                    .put("service.method", methodName)
-                    .build());
-            
+            // Counted and logged once, at the outermost boundary
+            observabilityService.observeError(span, e, className, methodName);
             throw e;
         } finally {
             span.end();
@@ -87,10 +80,13 @@ public class ObservabilityAspect {
         String spanName = "HTTP " + methodName;
 
         Span span = observabilityService.startSpan(spanName);
+        TelemetryOverheadMonitor overheadMonitor = observabilityService.getOverheadMonitor();
+        long overheadStart = overheadMonitor.start();
         span.setAllAttributes(Attributes.builder()
                 .put("component", "controller")
                 .put("operation", methodName)
                 .build());
+        overheadMonitor.record(TelemetryOverheadMonitor.Category.ATTRIBUTES, overheadStart);
 
         long startTime = System.nanoTime();
         int statusCode = 200; // Default success
@@ -100,16 +96,13 @@ public class ObservabilityAspect {
             return result;
         } catch (Exception e) {
             statusCode = 500; // Error status
-            span.recordException(e);
-            span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-            
-            observabilityService.recordError(e.getClass().getSimpleName(), className, methodName, e);
+            observabilityService.observeError(span, e, className, methodName);
             throw e;
         } finally {
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
             
             // Record HTTP request metrics with exemplars
-            observabilityService.recordHttpRequest("HTTP", className + "." + methodName, statusCode, durationSeconds, null);
+            observabilityService.recordHttpRequest("HTTP", className + "." + methodName, statusCode, durationMs, null);
             
             span.end();
         }
@@ -125,24 +118,24 @@ public class ObservabilityAspect {
         String spanName = "DB " + methodName;
 
         Span span = observabilityService.startSpan(spanName);
+        TelemetryOverheadMonitor overheadMonitor = observabilityService.getOverheadMonitor();
+        long overheadStart = overheadMonitor.start();
         span.setAllAttributes(Attributes.builder()
                 .put("component", "repository")
                 .put("operation", methodName)
                 .build());
+        overheadMonitor.record(TelemetryOverheadMonitor.Category.ATTRIBUTES, overheadStart);
 
         long startTime = System.nanoTime();
         try (var scope = span.makeCurrent()) {
             Object result = joinPoint.proceed();
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation(methodName, className, durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation(methodName, className, durationMs, true, null);
             
             return result;
         } catch (Exception e) {
-            span.recordException(e);
-            span.setStatus(io.opentelemetry.api.trace.StatusCode.ERROR, e.getMessage());
-            
-            observabilityService.recordError(e.getClass().getSimpleName(), "database", methodName, e);
+            observabilityService.observeError(span, e, "database", methodName);
             throw e;
         } finally {
             span.end();
@@ -16,7 +16,10 @@ import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import tech.remiges.serversage.exception.CustomExceptions;
+import tech.remiges.serversage.observability.TelemetryOverheadMonitor.Category;
 
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +32,9 @@ public class ObservabilityService {
     private final Tracer tracer;
     private final Meter meter;
     private final Logger otelLogger;
+    private final TelemetryOverheadMonitor overheadMonitor;
+    private final CardinalityLimiter cardinalityLimiter;
+    private final ErrorLedger errorLedger = new ErrorLedger();
 
     // Metrics
     private final LongCounter httpRequestsTotal;
@@ -46,12 +52,26 @@ public class ObservabilityService {
     private static final AttributeKey<String> HTTP_ROUTE = AttributeKey.stringKey("http.route");
     private static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
     private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+    private static final AttributeKey<String> EXCEPTION_TYPE = AttributeKey.stringKey("exception.type");
+    private static final AttributeKey<String> EXCEPTION_MESSAGE = AttributeKey.stringKey("exception.message");
     private static final AttributeKey<String> DB_OPERATION = AttributeKey.stringKey("db.operation");
     private static final AttributeKey<String> DB_TABLE = AttributeKey.stringKey("db.table");
     private static final AttributeKey<String> USER_ID = AttributeKey.stringKey("user.id");
     private static final AttributeKey<String> USER_ROLE = AttributeKey.stringKey("user.role");
 
     public ObservabilityService(OpenTelemetry openTelemetry) {
+        this(openTelemetry, new TelemetryOverheadMonitor());
+    }
+
+    public ObservabilityService(OpenTelemetry openTelemetry, TelemetryOverheadMonitor overheadMonitor) {
+        this(openTelemetry, overheadMonitor, new CardinalityLimiter());
+    }
+
+    @Autowired
+    public ObservabilityService(OpenTelemetry openTelemetry, TelemetryOverheadMonitor overheadMonitor,
+                                CardinalityLimiter cardinalityLimiter) {
+        this.overheadMonitor = overheadMonitor;
+        this.cardinalityLimiter = cardinalityLimiter;
         this.tracer = openTelemetry.getTracer("serversage");
         this.meter = openTelemetry.getMeter("serversage");
         this.otelLogger = openTelemetry.getLogsBridge().get("serversage");
@@ -106,30 +126,47 @@ public class ObservabilityService {
     }
 
     public void recordHttpRequest(String method, String route, int statusCode, long durationMs) {
+        recordHttpRequest(method, route, statusCode, (double) durationMs);
+    }
+
+    /** Records a request that took {@code durationMs} milliseconds, keeping sub-millisecond precision. */
+    public void recordHttpRequest(String method, String route, int statusCode, double durationMs) {
         Attributes attributes = Attributes.of(
                 HTTP_METHOD, method,
                 HTTP_ROUTE, route,
                 HTTP_STATUS_CODE, (long) statusCode
         );
 
+        long overheadStart = overheadMonitor.start();
+        // The request counter shares the histogram's attributes, so one guard covers both
+        attributes = cardinalityLimiter.limit("serversage_http_request_duration_seconds", attributes);
         httpRequestsTotal.add(1, attributes);
         httpRequestDuration.record(durationMs / 1000.0, attributes);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
 
         // Log with trace correlation
         logWithTraceContext("HTTP Request", 
-            String.format("Method: %s, Route: %s, Status: %d, Duration: %dms", 
+            String.format("Method: %s, Route: %s, Status: %d, Duration: %.1fms", 
                 method, route, statusCode, durationMs),
             statusCode >= 400 ? Severity.ERROR : Severity.INFO);
     }
 
     public void recordDatabaseOperation(String operation, String table, long durationMs, boolean success) {
+        recordDatabaseOperation(operation, table, (double) durationMs, success);
+    }
+
+    /** Records an operation that took {@code durationMs} milliseconds, keeping sub-millisecond precision. */
+    public void recordDatabaseOperation(String operation, String table, double durationMs, boolean success) {
         Attributes attributes = Attributes.of(
                 DB_OPERATION, operation,
                 DB_TABLE, table
         );
 
+        long overheadStart = overheadMonitor.start();
+        attributes = cardinalityLimiter.limit("serversage_database_operation_duration_seconds", attributes);
         databaseOperationsTotal.add(1, attributes);
         databaseOperationDuration.record(durationMs / 1000.0, attributes);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
 
         if (!success) {
             recordError("DatabaseError", "Database operation failed: " + operation + " on " + table);
@@ -137,19 +174,19 @@ public class ObservabilityService {
 
         // Log with trace correlation
         logWithTraceContext("Database Operation", 
-            String.format("Operation: %s, Table: %s, Duration: %dms, Success: %b", 
+            String.format("Operation: %s, Table: %s, Duration: %.1fms, Success: %b", 
                 operation, table, durationMs, success),
             success ? Severity.INFO : Severity.ERROR);
     }
 
     public void recordError(String errorType, String errorMessage) {
-        Attributes attributes = Attributes.of(ERROR_TYPE, errorType);
-        errorsTotal.add(1, attributes);
+        countError(errorType);
 
-        // Add error to current span
+        // Add error to current span; a throwaway exception would only add this method's stack
         Span currentSpan = Span.current();
         if (currentSpan != null) {
-            currentSpan.recordException(new RuntimeException(errorMessage));
+            currentSpan.addEvent("exception", Attributes.of(EXCEPTION_TYPE, errorType, EXCEPTION_MESSAGE,
+                    errorMessage != null ? errorMessage : ""));
             currentSpan.setStatus(StatusCode.ERROR, errorMessage);
         }
 
@@ -159,57 +196,124 @@ public class ObservabilityService {
             Severity.ERROR);
     }
 
+    /** Increments {@code serversage_errors_total} only, without touching spans or logs. */
+    public void countError(String errorType) {
+        long overheadStart = overheadMonitor.start();
+        Attributes attributes = cardinalityLimiter.limit("serversage_errors_total", Attributes.of(ERROR_TYPE, errorType));
+        errorsTotal.add(1, attributes);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
+    }
+
+    /**
+     * Marks {@code span} as failed by {@code error} as it passes through an instrumented
+     * layer. The exception event is attached only to the first span that sees it, and
+     * the error is counted and logged here only when there is no request boundary above
+     * to do it (see {@link ErrorLedger}).
+     */
+    public void observeError(Span span, Throwable error, String component, String operation) {
+        span.setStatus(StatusCode.ERROR, error.getMessage() != null ? error.getMessage() : "");
+        if (errorLedger.observe(error, component, operation)) {
+            span.recordException(error);
+        }
+        if (!errorLedger.inRequest() && claimError(error, errorType(error))) {
+            slf4jLogger.error("Error in {}.{}: {}", component, operation, error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Claims the single recording of {@code error} and counts it; returns false if it
+     * was already recorded, in which case the caller must not log it either.
+     */
+    public boolean claimError(Throwable error, String errorType) {
+        if (!errorLedger.claim(error)) {
+            return false;
+        }
+        countError(errorType);
+        return true;
+    }
+
+    public ErrorLedger getErrorLedger() {
+        return errorLedger;
+    }
+
+    /** The error code of a {@link CustomExceptions.CodedException}, otherwise the exception's simple name. */
+    public static String errorType(Throwable error) {
+        return error instanceof CustomExceptions.CodedException coded ? coded.getCode() : error.getClass().getSimpleName();
+    }
+
     public void updateUserCount(long count) {
+        long overheadStart = overheadMonitor.start();
         activeUsers.add(count);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
         logWithTraceContext("User Count Updated", "Total users: " + count, Severity.INFO);
     }
 
     public void updateProductCount(long count) {
+        long overheadStart = overheadMonitor.start();
         activeProducts.add(count);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
         logWithTraceContext("Product Count Updated", "Total products: " + count, Severity.INFO);
     }
 
     public void updateOrderCount(long count) {
+        long overheadStart = overheadMonitor.start();
         activeOrders.add(count);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
         logWithTraceContext("Order Count Updated", "Total orders: " + count, Severity.INFO);
     }
 
     public void updateActiveSessionCount(long count) {
+        long overheadStart = overheadMonitor.start();
         activeSessions.add(count);
+        overheadMonitor.record(Category.METRIC_RECORDING, overheadStart);
         logWithTraceContext("Active Session Count Updated", "Active sessions: " + count, Severity.INFO);
     }
 
     public Span startSpan(String spanName) {
-        return tracer.spanBuilder(spanName).startSpan();
+        long overheadStart = overheadMonitor.start();
+        Span span = tracer.spanBuilder(spanName).startSpan();
+        overheadMonitor.record(Category.SPAN_CREATION, overheadStart);
+        return span;
     }
 
     public Span startSpan(String spanName, Attributes attributes) {
-        return tracer.spanBuilder(spanName)
+        long overheadStart = overheadMonitor.start();
+        Span span = tracer.spanBuilder(spanName)
                 .setAllAttributes(attributes)
                 .startSpan();
+        overheadMonitor.record(Category.SPAN_CREATION, overheadStart);
+        return span;
     }
 
     public Span startSpan(String spanName, io.opentelemetry.api.trace.SpanKind spanKind) {
-        return tracer.spanBuilder(spanName)
+        long overheadStart = overheadMonitor.start();
+        Span span = tracer.spanBuilder(spanName)
                 .setSpanKind(spanKind)
                 .startSpan();
+        overheadMonitor.record(Category.SPAN_CREATION, overheadStart);
+        return span;
     }
 
     public void addSpanAttribute(String key, String value) {
+        long overheadStart = overheadMonitor.start();
         Span currentSpan = Span.current();
         if (currentSpan != null) {
             currentSpan.setAttribute(key, value);
         }
+        overheadMonitor.record(Category.ATTRIBUTES, overheadStart);
     }
 
     public void addSpanAttribute(String key, long value) {
+        long overheadStart = overheadMonitor.start();
         Span currentSpan = Span.current();
         if (currentSpan != null) {
             currentSpan.setAttribute(key, value);
         }
+        overheadMonitor.record(Category.ATTRIBUTES, overheadStart);
     }
 
     public void addUserContextToSpan(String userId, String userRole) {
+        long overheadStart = overheadMonitor.start();
         Span currentSpan = Span.current();
         if (currentSpan != null) {
             currentSpan.setAllAttributes(Attributes.of(
@@ -217,9 +321,15 @@ public class ObservabilityService {
                     USER_ROLE, userRole
             ));
         }
+        overheadMonitor.record(Category.ATTRIBUTES, overheadStart);
+    }
+
+    public TelemetryOverheadMonitor getOverheadMonitor() {
+        return overheadMonitor;
     }
 
     private void logWithTraceContext(String event, String message, Severity severity) {
+        long overheadStart = overheadMonitor.start();
         // Get current trace context
         Span currentSpan = Span.current();
         String traceId = currentSpan.getSpanContext().getTraceId();
@@ -258,6 +368,7 @@ public class ObservabilityService {
             // Clean up MDC
             MDC.remove("traceId");
             MDC.remove("spanId");
+            overheadMonitor.record(Category.LOG_EMISSION, overheadStart);
         }
     }
 
@@ -299,20 +410,20 @@ public class ObservabilityService {
 
     // Overloaded recordDatabaseOperation methods
     public void recordDatabaseOperation(String operation, String table, double durationMs, boolean success, String details) {
-        recordDatabaseOperation(operation, table, (long) durationMs, success);
+        recordDatabaseOperation(operation, table, durationMs, success);
     }
 
     public void recordDatabaseOperation(String operation, String table, double durationMs, boolean success, Object nullParam) {
-        recordDatabaseOperation(operation, table, (long) durationMs, success);
+        recordDatabaseOperation(operation, table, durationMs, success);
     }
 
     // Overloaded recordHttpRequest method
     public void recordHttpRequest(String method, String route, int statusCode, double durationMs, String details) {
-        recordHttpRequest(method, route, statusCode, (long) durationMs);
+        recordHttpRequest(method, route, statusCode, durationMs);
     }
 
     public void recordHttpRequest(String method, String route, int statusCode, double durationMs, Object nullParam) {
-        recordHttpRequest(method, route, statusCode, (long) durationMs);
+        recordHttpRequest(method, route, statusCode, durationMs);
     }
 
     // Overloaded recordError methods
@@ -338,12 +449,14 @@ public class ObservabilityService {
     // Utility method for executing code within a properly isolated span
     public <T> T executeInSpan(String spanName, String component, java.util.function.Supplier<T> supplier) {
         // Create a new span with proper isolation
+        long overheadStart = overheadMonitor.start();
         Span span = tracer.spanBuilder(spanName)
                 .setAttribute("component", component)
                 .setAttribute("service.name", "serversage")
                 .setAttribute("operation.type", extractOperationType(spanName))
                 .setSpanKind(SpanKind.INTERNAL)
                 .startSpan();
+        overheadMonitor.record(Category.SPAN_CREATION, overheadStart);
         
         try (var scope = span.makeCurrent()) {
             // Add operation-specific attributes
@@ -355,11 +468,9 @@ public class ObservabilityService {
             span.setAttribute("operation.success", true);
             return result;
         } catch (Exception e) {
-            span.recordException(e);
-            span.setStatus(StatusCode.ERROR, e.getMessage());
             span.setAttribute("operation.success", false);
             span.setAttribute("error.type", e.getClass().getSimpleName());
-            recordError(e.getClass().getSimpleName(), e.getMessage());
+            observeError(span, e, component, spanName);
             throw e;
         } finally {
             span.end();
@@ -369,12 +480,14 @@ public class ObservabilityService {
     // Utility method for executing void operations within a properly isolated span
     public void executeInSpan(String spanName, String component, Runnable runnable) {
         // Create a new span with proper isolation
+        long overheadStart = overheadMonitor.start();
         Span span = tracer.spanBuilder(spanName)
                 .setAttribute("component", component)
                 .setAttribute("service.name", "serversage")
                 .setAttribute("operation.type", extractOperationType(spanName))
                 .setSpanKind(SpanKind.INTERNAL)
                 .startSpan();
+        overheadMonitor.record(Category.SPAN_CREATION, overheadStart);
         
         try (var scope = span.makeCurrent()) {
             // Add operation-specific attributes
@@ -385,11 +498,9 @@ public class ObservabilityService {
             span.setStatus(StatusCode.OK);
             span.setAttribute("operation.success", true);
         } catch (Exception e) {
-            span.recordException(e);
-            span.setStatus(StatusCode.ERROR, e.getMessage());
             span.setAttribute("operation.success", false);
             span.setAttribute("error.type", e.getClass().getSimpleName());
-            recordError(e.getClass().getSimpleName(), e.getMessage());
+            observeError(span, e, component, spanName);
             throw e;
         } finally {
             span.end();
@@ -399,6 +510,7 @@ public class ObservabilityService {
     // Create a new root span for HTTP operations
     public <T> T executeInNewTrace(String operationName, String httpMethod, String endpoint, java.util.function.Supplier<T> supplier) {
         // Create a new root span for this HTTP operation
+        long overheadStart = overheadMonitor.start();
         Span span = tracer.spanBuilder(operationName)
                 .setAttribute("http.method", httpMethod)
                 .setAttribute("http.route", endpoint)
@@ -406,6 +518,7 @@ public class ObservabilityService {
                 .setAttribute("component", "http-handler")
                 .setSpanKind(SpanKind.SERVER)
                 .startSpan();
+        overheadMonitor.record(Category.SPAN_CREATION, overheadStart);
         
         try (var scope = span.makeCurrent()) {
             span.setAttribute("operation.type", "http_request");
@@ -416,11 +529,9 @@ public class ObservabilityService {
             span.setAttribute("http.status_code", 200);
             return result;
         } catch (Exception e) {
-            span.recordException(e);
-            span.setStatus(StatusCode.ERROR, e.getMessage());
             span.setAttribute("http.status_code", 500);
             span.setAttribute("error.type", e.getClass().getSimpleName());
-            recordError(e.getClass().getSimpleName(), e.getMessage());
+            observeError(span, e, "http-handler", operationName);
             throw e;
         } finally {
             span.end();
@@ -0,0 +1,60 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.otlp.logs.LogsRequestMarshaler;
+import io.opentelemetry.exporter.internal.otlp.metrics.MetricsRequestMarshaler;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+/**
+ * Serializes telemetry into OTLP/protobuf export requests for the disk spool.
+ *
+ * This is the only class that uses {@code io.opentelemetry.exporter.internal}: those
+ * marshalers are not public API and may change in any OpenTelemetry release, which
+ * is why opentelemetry-exporter-otlp-common stays on the SDK's exact version. An
+ * upgrade that breaks them only needs this class adapted.
+ */
+public final class OtlpRequests {
+
+    /** One serialized export request. */
+    public interface Request {
+        int size();
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private OtlpRequests() {
+    }
+
+    public static Request spans(Collection<SpanData> spans) {
+        return of(TraceRequestMarshaler.create(spans));
+    }
+
+    public static Request metrics(Collection<MetricData> metrics) {
+        return of(MetricsRequestMarshaler.create(metrics));
+    }
+
+    public static Request logs(Collection<LogRecordData> logs) {
+        return of(LogsRequestMarshaler.create(logs));
+    }
+
+    private static Request of(Marshaler marshaler) {
+        return new Request() {
+            @Override
+            public int size() {
+                return marshaler.getBinarySerializedSize();
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                marshaler.writeBinaryTo(out);
+            }
+        };
+    }
+}
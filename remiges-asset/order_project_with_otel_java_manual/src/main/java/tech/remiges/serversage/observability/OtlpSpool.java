@@ -0,0 +1,198 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Durable export path for one OTLP signal.
+ *
+ * Batches go to the regular (gRPC) exporter while the collector is healthy. When an
+ * export fails the batch is serialized into a {@link DiskSpool} and the signal enters
+ * outage mode: later batches are spooled directly instead of waiting on a dead
+ * endpoint. A background thread replays spooled requests to the collector's OTLP/HTTP
+ * endpoint with exponential backoff and leaves outage mode once the spool is drained.
+ *
+ * Requests are serialized by {@link OtlpRequests}, so the spooled bytes are exactly
+ * the protobuf request the collector expects.
+ */
+public class OtlpSpool implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtlpSpool.class);
+    private static final AttributeKey<String> SIGNAL = AttributeKey.stringKey("signal");
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final int OTLP_HTTP_PORT = 4318;
+
+    private final String signal;
+    private final DiskSpool spool;
+    private final URI replayUri;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService replayer;
+    private final AtomicLong replayedRecords = new AtomicLong();
+
+    private volatile boolean outage;
+    private long backoffMillis = 1000;
+    private long nextAttemptNanos;
+
+    public OtlpSpool(String signal, DiskSpool spool, URI replayUri, Duration timeout) {
+        this.signal = signal;
+        this.spool = spool;
+        this.replayUri = replayUri;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.outage = spool.pendingRecords() > 0;
+        this.replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otlp-spool-replay-" + signal);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.replayer.scheduleWithFixedDelay(this::replay, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public CompletableResultCode export(Supplier<CompletableResultCode> delegateExport, Supplier<OtlpRequests.Request> request) {
+        if (outage) {
+            return store(request.get()) ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+        }
+
+        CompletableResultCode delegateResult = delegateExport.get();
+        CompletableResultCode result = new CompletableResultCode();
+        delegateResult.whenComplete(() -> {
+            if (delegateResult.isSuccess()) {
+                result.succeed();
+                return;
+            }
+            if (!outage) {
+                logger.warn("OTLP {} export failed, spooling to disk until the collector recovers", signal);
+                outage = true;
+            }
+            if (store(request.get())) {
+                result.succeed();
+            } else {
+                result.fail();
+            }
+        });
+        return result;
+    }
+
+    private boolean store(OtlpRequests.Request request) {
+        try {
+            if (spool.append(request.size(), request::writeTo)) {
+                return true;
+            }
+            logger.warn("OTLP {} request of {} bytes could not be spooled", signal, request.size());
+        } catch (IOException e) {
+            logger.warn("Failed to spool OTLP {} request", signal, e);
+        }
+        return false;
+    }
+
+    synchronized void replay() {
+        try {
+            if (spool.pendingRecords() == 0) {
+                outage = false;
+                return;
+            }
+            if (System.nanoTime() - nextAttemptNanos < 0) {
+                return;
+            }
+
+            DiskSpool.Record record;
+            while ((record = spool.peek()) != null) {
+                if (!send(record.payload())) {
+                    nextAttemptNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+                    backoffMillis = Math.min(MAX_BACKOFF_MILLIS, backoffMillis * 2);
+                    return;
+                }
+                spool.ack(record);
+                replayedRecords.incrementAndGet();
+            }
+
+            backoffMillis = 1000;
+            outage = false;
+            logger.info("OTLP {} spool drained, resuming direct export", signal);
+        } catch (RuntimeException e) {
+            logger.warn("OTLP {} spool replay failed", signal, e);
+        }
+    }
+
+    private boolean send(byte[] payload) {
+        HttpRequest request = HttpRequest.newBuilder(replayUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/x-protobuf")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void bindMetrics(Meter meter) {
+        Attributes attributes = Attributes.of(SIGNAL, signal);
+        meter.gaugeBuilder("serversage_telemetry_spool_pending_records")
+                .setDescription("Telemetry requests waiting in the disk spool")
+                .ofLongs()
+                .buildWithCallback(measurement -> measurement.record(spool.pendingRecords(), attributes));
+        meter.gaugeBuilder("serversage_telemetry_spool_size_bytes")
+                .setDescription("Disk space allocated by the telemetry spool")
+                .setUnit("By")
+                .ofLongs()
+                .buildWithCallback(measurement -> measurement.record(spool.sizeBytes(), attributes));
+        meter.counterBuilder("serversage_telemetry_spool_dropped_records_total")
+                .setDescription("Spooled telemetry requests discarded because the spool was full")
+                .buildWithCallback(measurement -> measurement.record(spool.droppedRecords(), attributes));
+        meter.counterBuilder("serversage_telemetry_spool_replayed_records_total")
+                .setDescription("Spooled telemetry requests replayed to the collector")
+                .buildWithCallback(measurement -> measurement.record(replayedRecords.get(), attributes));
+    }
+
+    /**
+     * OTLP/HTTP URI that spooled {@code signal} requests are replayed to. Without an
+     * explicit HTTP endpoint, the OTLP (gRPC) endpoint's host is used on port 4318.
+     */
+    public static URI replayUri(String httpEndpoint, String otlpEndpoint, String signal) {
+        String base = httpEndpoint;
+        if (base == null || base.isBlank()) {
+            URI otlp = URI.create(otlpEndpoint);
+            try {
+                base = new URI(otlp.getScheme(), null, otlp.getHost(), OTLP_HTTP_PORT, null, null, null).toString();
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid OTLP endpoint: " + otlpEndpoint, e);
+            }
+        }
+        return URI.create(base.replaceAll("/+$", "") + "/v1/" + signal);
+    }
+
+    public boolean isOutage() {
+        return outage;
+    }
+
+    @Override
+    public void close() {
+        replayer.shutdownNow();
+        spool.close();
+    }
+}
@@ -0,0 +1,193 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Counts the SQL statements each request executes and checks them against a budget.
+ *
+ * The HTTP interceptor opens a {@link Recording} on the request thread and the JDBC
+ * tracer reports every executed statement's fingerprint (its SQL with literals
+ * replaced by {@code ?}) to it. When the request completes the server span gets the
+ * statement count, and every fingerprint executed {@code suspect-repeats} or more
+ * times is reported as an N+1 suspect. Exceeding the route's budget is logged
+ * ({@code LOG}), also tagged on the span ({@code TAG}), or additionally kept as a
+ * violation that {@link #assertNoViolations()} fails on ({@code FAIL}, for tests).
+ *
+ * Statements issued on other threads, such as async service calls, are not counted.
+ */
+@Component
+public class QueryBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudget.class);
+
+    private static final int MAX_VIOLATIONS = 100;
+
+    static final AttributeKey<Long> QUERY_COUNT = AttributeKey.longKey("db.query.count");
+    static final AttributeKey<Long> QUERY_BUDGET = AttributeKey.longKey("db.query.budget");
+    static final AttributeKey<Boolean> BUDGET_EXCEEDED = AttributeKey.booleanKey("db.query.budget.exceeded");
+    static final AttributeKey<Long> SUSPECT_COUNT = AttributeKey.longKey("db.query.n_plus_one.suspects");
+    private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey("db.statement");
+    private static final AttributeKey<Long> REPEATS = AttributeKey.longKey("db.query.repeats");
+
+    public record Violation(String route, int queries, int budget, Map<String, Integer> suspects) {}
+
+    private final QueryBudgetProperties properties;
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+    private final ConcurrentLinkedDeque<Violation> violations = new ConcurrentLinkedDeque<>();
+
+    public QueryBudget(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts counting statements executed on the calling thread until the returned
+     * recording is closed. Recordings nest; a statement is counted by the innermost one.
+     */
+    public Recording record() {
+        Recording recording = new Recording(current.get());
+        current.set(recording);
+        return recording;
+    }
+
+    /** Called by the JDBC tracer for every statement executed. */
+    public void onStatement(String fingerprint) {
+        Recording recording = current.get();
+        if (recording != null) {
+            recording.add(fingerprint);
+        }
+    }
+
+    /** Opens the per-request recording; returns null when budgets are disabled. */
+    public Recording beginRequest() {
+        // A pooled thread starts each request clean, even if an earlier one was not ended
+        current.remove();
+        return properties.isEnabled() ? record() : null;
+    }
+
+    /** Closes the request's recording and reports it on the server span. */
+    public void endRequest(Recording recording, String route, Span span) {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        int queries = recording.count();
+        int budget = properties.getRoutes().getOrDefault(route, properties.getDefaultMaxQueries());
+        Map<String, Integer> suspects = recording.suspects(properties.getSuspectRepeats());
+        QueryBudgetProperties.Action action = properties.getAction();
+
+        span.setAttribute(QUERY_COUNT, queries);
+        span.setAttribute(QUERY_BUDGET, budget);
+        if (!suspects.isEmpty()) {
+            span.setAttribute(SUSPECT_COUNT, suspects.size());
+            suspects.forEach((fingerprint, repeats) -> span.addEvent("db.n_plus_one.suspect",
+                    Attributes.of(STATEMENT, fingerprint, REPEATS, (long) repeats)));
+            logger.warn("Possible N+1 on {}: {}", route, suspects);
+        }
+        if (queries <= budget) {
+            return;
+        }
+        logger.warn("Query budget exceeded on {}: {} statements, budget {}", route, queries, budget);
+        if (action != QueryBudgetProperties.Action.LOG) {
+            span.setAttribute(BUDGET_EXCEEDED, true);
+        }
+        if (action == QueryBudgetProperties.Action.FAIL) {
+            violations.addLast(new Violation(route, queries, budget, suspects));
+            while (violations.size() > MAX_VIOLATIONS) {
+                violations.pollFirst();
+            }
+        }
+    }
+
+    public List<Violation> violations() {
+        return List.copyOf(violations);
+    }
+
+    public void clearViolations() {
+        violations.clear();
+    }
+
+    /** Throws {@link AssertionError} if any request exceeded its budget in {@code FAIL} mode. */
+    public void assertNoViolations() {
+        List<Violation> recorded = violations();
+        if (!recorded.isEmpty()) {
+            throw new AssertionError("Query budget exceeded: " + recorded);
+        }
+    }
+
+    /** Statements executed on one thread between {@link #record()} and {@link #close()}. */
+    public final class Recording implements AutoCloseable {
+        private final Recording parent;
+        private final Map<String, Integer> fingerprints = new HashMap<>();
+        private int count;
+        private boolean closed;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        private void add(String fingerprint) {
+            count++;
+            fingerprints.merge(fingerprint, 1, Integer::sum);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /** Fingerprints executed at least {@code repeats} times, with their counts. */
+        public Map<String, Integer> suspects(int repeats) {
+            Map<String, Integer> suspects = new HashMap<>();
+            fingerprints.forEach((fingerprint, executions) -> {
+                if (executions >= repeats) {
+                    suspects.put(fingerprint, executions);
+                }
+            });
+            return suspects;
+        }
+
+        public Recording assertAtMost(int maxQueries) {
+            if (count > maxQueries) {
+                throw new AssertionError("Expected at most " + maxQueries + " statements but " + count
+                        + " were executed: " + fingerprints);
+            }
+            return this;
+        }
+
+        public Recording assertNoNPlusOne() {
+            Map<String, Integer> suspects = suspects(properties.getSuspectRepeats());
+            if (!suspects.isEmpty()) {
+                throw new AssertionError("Repeated statements (possible N+1): " + suspects);
+            }
+            return this;
+        }
+
+        public List<String> statements() {
+            return new ArrayList<>(fingerprints.keySet());
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (current.get() == this) {
+                    if (parent == null) {
+                        current.remove();
+                    } else {
+                        current.set(parent);
+                    }
+                }
+            }
+        }
+    }
+}
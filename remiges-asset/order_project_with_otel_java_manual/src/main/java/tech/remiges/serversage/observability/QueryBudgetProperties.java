@@ -0,0 +1,42 @@
+package tech.remiges.serversage.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budgets for {@link QueryBudget}, bound from
+ * {@code observability.query-budget.*}. Routes are the normalized route
+ * ({@code /api/users/{id}/activate}); routes without an entry in
+ * {@code routes[<route>]} use {@code default-max-queries}. A statement shape executed
+ * {@code suspect-repeats} or more times in one request is reported as an N+1 suspect.
+ */
+@Component
+@ConfigurationProperties(prefix = "observability.query-budget")
+public class QueryBudgetProperties {
+
+    public enum Action { LOG, TAG, FAIL }
+
+    private boolean enabled = true;
+    private int defaultMaxQueries = 20;
+    private int suspectRepeats = 3;
+    private Action action = Action.TAG;
+    private Map<String, Integer> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getDefaultMaxQueries() { return defaultMaxQueries; }
+    public void setDefaultMaxQueries(int defaultMaxQueries) { this.defaultMaxQueries = defaultMaxQueries; }
+
+    public int getSuspectRepeats() { return suspectRepeats; }
+    public void setSuspectRepeats(int suspectRepeats) { this.suspectRepeats = suspectRepeats; }
+
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+
+    public Map<String, Integer> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Integer> routes) { this.routes = routes; }
+}
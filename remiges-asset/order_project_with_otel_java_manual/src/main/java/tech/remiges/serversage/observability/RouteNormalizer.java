@@ -0,0 +1,87 @@
+package tech.remiges.serversage.observability;
+
+/**
+ * Turns a request path into a low-cardinality route for span names and metric labels.
+ *
+ * Query strings are dropped, path segments made only of digits become {@code {id}} and
+ * UUID-shaped segments become {@code {uuid}}. Only whole segments are replaced. The path
+ * is scanned once without regular expressions, and a path that needs no rewriting is
+ * returned as is, so the common case does not allocate.
+ */
+public final class RouteNormalizer {
+
+    private static final int UUID_LENGTH = 36;
+
+    private RouteNormalizer() {
+    }
+
+    public static String normalize(String uri) {
+        if (uri == null || uri.isEmpty()) {
+            return "/";
+        }
+        int end = uri.indexOf('?');
+        if (end < 0) {
+            end = uri.length();
+        }
+
+        StringBuilder normalized = null;
+        int copied = 0;
+        int segmentStart = 0;
+        while (segmentStart < end) {
+            int slash = uri.indexOf('/', segmentStart);
+            if (slash < 0 || slash >= end) {
+                break;
+            }
+            int start = slash + 1;
+            int next = uri.indexOf('/', start);
+            int segmentEnd = next < 0 || next > end ? end : next;
+
+            String placeholder = isNumeric(uri, start, segmentEnd) ? "{id}"
+                    : isUuid(uri, start, segmentEnd) ? "{uuid}"
+                    : null;
+            if (placeholder != null) {
+                if (normalized == null) {
+                    normalized = new StringBuilder(end);
+                }
+                normalized.append(uri, copied, start).append(placeholder);
+                copied = segmentEnd;
+            }
+            segmentStart = segmentEnd;
+        }
+
+        if (normalized == null) {
+            return end == uri.length() ? uri : uri.substring(0, end);
+        }
+        return normalized.append(uri, copied, end).toString();
+    }
+
+    private static boolean isNumeric(String value, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUuid(String value, int start, int end) {
+        if (end - start != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = value.charAt(start + i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
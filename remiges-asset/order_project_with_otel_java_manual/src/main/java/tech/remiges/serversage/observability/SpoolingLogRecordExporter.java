@@ -0,0 +1,37 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+
+import java.util.Collection;
+
+/**
+ * Log record exporter that falls back to the disk spool when the delegate cannot export.
+ */
+public class SpoolingLogRecordExporter implements LogRecordExporter {
+
+    private final LogRecordExporter delegate;
+    private final OtlpSpool spool;
+
+    public SpoolingLogRecordExporter(LogRecordExporter delegate, OtlpSpool spool) {
+        this.delegate = delegate;
+        this.spool = spool;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<LogRecordData> logs) {
+        return spool.export(() -> delegate.export(logs), () -> OtlpRequests.logs(logs));
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        spool.close();
+        return delegate.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.Collection;
+
+/**
+ * Span exporter that falls back to the disk spool when the delegate cannot export.
+ */
+public class SpoolingSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+    private final OtlpSpool spool;
+
+    public SpoolingSpanExporter(SpanExporter delegate, OtlpSpool spool) {
+        this.delegate = delegate;
+        this.spool = spool;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return spool.export(() -> delegate.export(spans), () -> OtlpRequests.spans(spans));
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        spool.close();
+        return delegate.shutdown();
+    }
+}
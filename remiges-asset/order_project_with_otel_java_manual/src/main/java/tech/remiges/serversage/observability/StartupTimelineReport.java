@@ -0,0 +1,85 @@
+package tech.remiges.serversage.observability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Startup timeline: when {@code startup.timeline.enabled} is set (system property or
+ * {@code STARTUP_TIMELINE_ENABLED}), and always in AOT-processed (fast-start) builds, the
+ * application records its startup steps, serves them at {@code /actuator/startup} and logs
+ * the slowest ones once it is ready.
+ *
+ * Step durations include nested steps, so a bean's instantiation time covers the
+ * dependencies it pulled in.
+ */
+@Component
+public class StartupTimelineReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReport.class);
+
+    private final int topSteps;
+
+    public StartupTimelineReport(@Value("${startup.timeline.top-steps:15}") int topSteps) {
+        this.topSteps = topSteps;
+    }
+
+    /**
+     * The {@link ApplicationStartup} to run with; it has to be chosen before the context
+     * exists, so it is switched on by a system property or environment variable rather
+     * than by application properties. AOT processing decides at build time whether the
+     * startup endpoint exists, and the fast-start build keeps it, so AOT runs record too.
+     */
+    public static ApplicationStartup applicationStartup() {
+        String enabled = System.getProperty("startup.timeline.enabled", System.getenv("STARTUP_TIMELINE_ENABLED"));
+        if (!Boolean.parseBoolean(enabled) && !AotDetector.useGeneratedArtifacts()) {
+            return ApplicationStartup.DEFAULT;
+        }
+        int capacity = Integer.getInteger("startup.timeline.capacity", 10000);
+        return new BufferingApplicationStartup(capacity);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        logger.info("Startup timeline: ready {} ms after context start, {} ms after JVM start, {} steps recorded",
+                event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime(),
+                timeline.getEvents().size());
+        for (String line : slowestSteps(timeline.getEvents(), topSteps)) {
+            logger.info("Startup step {}", line);
+        }
+    }
+
+    static List<String> slowestSteps(List<StartupTimeline.TimelineEvent> events, int limit) {
+        return events.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(limit)
+                .map(event -> String.format("%6d ms %s%s", event.getDuration().toMillis(),
+                        event.getStartupStep().getName(), tags(event.getStartupStep())))
+                .toList();
+    }
+
+    private static String tags(StartupStep step) {
+        StringJoiner tags = new StringJoiner(", ", " [", "]").setEmptyValue("");
+        for (StartupStep.Tag tag : step.getTags()) {
+            tags.add(tag.getKey() + "=" + tag.getValue());
+        }
+        return tags.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package tech.remiges.serversage.observability;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/telemetry}) showing what the telemetry pipeline costs.
+ */
+@Component
+@Endpoint(id = "telemetry")
+public class TelemetryOverheadEndpoint {
+
+    private final TelemetryOverheadMonitor monitor;
+
+    public TelemetryOverheadEndpoint(TelemetryOverheadMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> overhead() {
+        return monitor.snapshot();
+    }
+}
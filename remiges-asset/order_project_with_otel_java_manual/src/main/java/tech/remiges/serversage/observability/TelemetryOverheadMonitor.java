@@ -0,0 +1,241 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures what the telemetry pipeline costs the application.
+ *
+ * Call sites in the observability layer wrap their work in {@link #start()} /
+ * {@link #record(Category, long)}; time is accumulated globally and, between
+ * {@link #beginRequest()} and {@link #endRequest()}, into a per-thread request
+ * budget. Spans started per request are counted by {@link #spanCounter()}, which
+ * is registered on the tracer provider. At the end of each request the overhead
+ * per category and the span count are recorded as histograms, and requests whose
+ * total overhead exceeds the configured budget are counted so an SLO can be set
+ * on observability overhead.
+ *
+ * Work done on other threads (async handlers, exporters) is included in the
+ * global totals but not in the per-request figures.
+ */
+public class TelemetryOverheadMonitor {
+
+    private static final AttributeKey<String> CATEGORY = AttributeKey.stringKey("category");
+
+    public enum Category {
+        SPAN_CREATION("span_creation"),
+        ATTRIBUTES("attributes"),
+        LOG_EMISSION("log_emission"),
+        METRIC_RECORDING("metric_recording");
+
+        private final String label;
+        private final Attributes attributes;
+
+        Category(String label) {
+            this.label = label;
+            this.attributes = Attributes.of(CATEGORY, label);
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final long requestBudgetNanos;
+    private final ThreadLocal<RequestBudget> currentRequest = new ThreadLocal<>();
+    private final LongAdder[] totalNanos = new LongAdder[CATEGORIES.length];
+    private final LongAdder[] totalOperations = new LongAdder[CATEGORIES.length];
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder requestOverheadNanos = new LongAdder();
+    private final LongAdder spansStarted = new LongAdder();
+    private final LongAdder requestSpans = new LongAdder();
+    private final LongAdder budgetExceeded = new LongAdder();
+    private final Map<String, ExportQueue> exportQueues = new ConcurrentHashMap<>();
+
+    private volatile DoubleHistogram requestOverhead;
+    private volatile LongHistogram spansPerRequest;
+    private volatile LongCounter budgetExceededCounter;
+
+    public TelemetryOverheadMonitor() {
+        this(Duration.ofNanos(500_000));
+    }
+
+    public TelemetryOverheadMonitor(Duration requestBudget) {
+        this.requestBudgetNanos = requestBudget.toNanos();
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            totalNanos[i] = new LongAdder();
+            totalOperations[i] = new LongAdder();
+        }
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void record(Category category, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        totalNanos[category.ordinal()].add(elapsed);
+        totalOperations[category.ordinal()].increment();
+        RequestBudget budget = currentRequest.get();
+        if (budget != null) {
+            budget.nanos[category.ordinal()] += elapsed;
+        }
+    }
+
+    public void beginRequest() {
+        currentRequest.set(new RequestBudget());
+    }
+
+    public void endRequest() {
+        RequestBudget budget = currentRequest.get();
+        if (budget == null) {
+            return;
+        }
+        currentRequest.remove();
+
+        long total = 0;
+        for (long nanos : budget.nanos) {
+            total += nanos;
+        }
+        requests.increment();
+        requestOverheadNanos.add(total);
+        requestSpans.add(budget.spans);
+        if (total > requestBudgetNanos) {
+            budgetExceeded.increment();
+        }
+
+        DoubleHistogram overhead = requestOverhead;
+        if (overhead != null) {
+            for (Category category : CATEGORIES) {
+                overhead.record(budget.nanos[category.ordinal()] / 1_000_000_000.0, category.attributes);
+            }
+            spansPerRequest.record(budget.spans);
+            if (total > requestBudgetNanos) {
+                budgetExceededCounter.add(1);
+            }
+        }
+    }
+
+    /** Span processor that counts spans started, globally and for the current request. */
+    public SpanProcessor spanCounter() {
+        return new SpanProcessor() {
+            @Override
+            public void onStart(Context parentContext, ReadWriteSpan span) {
+                spansStarted.increment();
+                RequestBudget budget = currentRequest.get();
+                if (budget != null) {
+                    budget.spans++;
+                }
+            }
+
+            @Override
+            public boolean isStartRequired() {
+                return true;
+            }
+
+            @Override
+            public void onEnd(ReadableSpan span) {
+            }
+
+            @Override
+            public boolean isEndRequired() {
+                return false;
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+    }
+
+    public void registerExportQueue(String signal, LongSupplier backlog, LongSupplier dropped) {
+        exportQueues.put(signal, new ExportQueue(backlog, dropped));
+    }
+
+    public void bindMetrics(Meter meter) {
+        meter.counterBuilder("serversage_telemetry_overhead_nanoseconds_total")
+                .setDescription("Time spent inside telemetry calls, by category")
+                .setUnit("ns")
+                .buildWithCallback(measurement -> {
+                    for (Category category : CATEGORIES) {
+                        measurement.record(totalNanos[category.ordinal()].sum(), category.attributes);
+                    }
+                });
+        meter.counterBuilder("serversage_telemetry_spans_started_total")
+                .setDescription("Spans started by the application")
+                .buildWithCallback(measurement -> measurement.record(spansStarted.sum()));
+        this.spansPerRequest = meter.histogramBuilder("serversage_telemetry_spans_per_request")
+                .setDescription("Spans started on the request thread per HTTP request")
+                .ofLongs()
+                .build();
+        this.budgetExceededCounter = meter.counterBuilder("serversage_telemetry_overhead_budget_exceeded_total")
+                .setDescription("Requests whose telemetry overhead exceeded the per-request budget")
+                .build();
+        this.requestOverhead = meter.histogramBuilder("serversage_telemetry_request_overhead_seconds")
+                .setDescription("Telemetry overhead per HTTP request, by category")
+                .setUnit("s")
+                .build();
+    }
+
+    public Map<String, Object> snapshot() {
+        long requestCount = requests.sum();
+        Map<String, Object> categories = new LinkedHashMap<>();
+        for (Category category : CATEGORIES) {
+            long nanos = totalNanos[category.ordinal()].sum();
+            long operations = totalOperations[category.ordinal()].sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("totalNanos", nanos);
+            entry.put("operations", operations);
+            entry.put("avgNanosPerOperation", operations == 0 ? 0 : nanos / operations);
+            categories.put(category.label(), entry);
+        }
+
+        Map<String, Object> exporters = new LinkedHashMap<>();
+        exportQueues.forEach((signal, queue) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("backlog", queue.backlog().getAsLong());
+            entry.put("dropped", queue.dropped().getAsLong());
+            exporters.put(signal, entry);
+        });
+
+        Map<String, Object> perRequest = new LinkedHashMap<>();
+        perRequest.put("requests", requestCount);
+        perRequest.put("avgOverheadNanos", requestCount == 0 ? 0 : requestOverheadNanos.sum() / requestCount);
+        perRequest.put("avgSpans", requestCount == 0 ? 0.0 : (double) requestSpans.sum() / requestCount);
+        perRequest.put("budgetNanos", requestBudgetNanos);
+        perRequest.put("budgetExceeded", budgetExceeded.sum());
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("categories", categories);
+        snapshot.put("perRequest", perRequest);
+        snapshot.put("spansStarted", spansStarted.sum());
+        snapshot.put("exporters", exporters);
+        return snapshot;
+    }
+
+    private static final class RequestBudget {
+        final long[] nanos = new long[CATEGORIES.length];
+        int spans;
+    }
+
+    private record ExportQueue(LongSupplier backlog, LongSupplier dropped) {}
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tech.remiges.serversage.model.Order;
+import tech.remiges.serversage.model.VersionStamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -33,4 +34,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     @Query("SELECT o FROM Order o WHERE o.totalAmount > :amount")
     List<Order> findHighValueOrders(@Param("amount") BigDecimal amount);
+
+    @Query("SELECT new tech.remiges.serversage.model.VersionStamp(COUNT(o), MAX(o.updatedAt)) FROM Order o")
+    VersionStamp findVersionStamp();
 }
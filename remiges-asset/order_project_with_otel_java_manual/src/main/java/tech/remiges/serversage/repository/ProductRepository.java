@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tech.remiges.serversage.model.Product;
+import tech.remiges.serversage.model.VersionStamp;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -31,4 +32,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Long countByCategory(@Param("category") String category);
     
     boolean existsByName(String name);
+
+    @Query("SELECT new tech.remiges.serversage.model.VersionStamp(COUNT(p), MAX(p.updatedAt)) FROM Product p")
+    VersionStamp findVersionStamp();
 }
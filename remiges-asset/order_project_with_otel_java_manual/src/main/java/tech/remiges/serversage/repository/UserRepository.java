@@ -5,12 +5,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.VersionStamp;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
     Optional<User> findByEmail(String email);
     
@@ -23,4 +24,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Long countByRole(@Param("role") String role);
     
     boolean existsByEmail(String email);
+
+    @Query("SELECT new tech.remiges.serversage.model.VersionStamp(COUNT(u), MAX(u.updatedAt)) FROM User u")
+    VersionStamp findVersionStamp();
 }
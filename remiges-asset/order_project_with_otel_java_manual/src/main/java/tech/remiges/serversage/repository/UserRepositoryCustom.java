@@ -0,0 +1,15 @@
+package tech.remiges.serversage.repository;
+
+import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.UserPatch;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Applies the patch with a single conditional UPDATE and returns the updated row,
+     * or empty if no user has this id or the patch's precondition does not hold.
+     */
+    Optional<User> patch(Long id, UserPatch patch);
+}
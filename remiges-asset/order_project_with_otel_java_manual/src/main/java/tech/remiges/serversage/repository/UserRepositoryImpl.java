@@ -0,0 +1,125 @@
+package tech.remiges.serversage.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.UserPatch;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Single round trip partial updates for {@link UserRepository}.
+ *
+ * The UPDATE runs on the session's own connection, so it joins the caller's
+ * transaction and is traced like any other Hibernate statement. PostgreSQL returns
+ * the new row with {@code RETURNING}; H2 selects it from {@code FINAL TABLE (UPDATE ...)}.
+ * Other databases fall back to re-reading the row after the update. The persistence
+ * context is bypassed, so an instance of the same user already loaded in this
+ * session is not refreshed.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String COLUMNS = "id, name, email, role";
+
+    enum Style { RETURNING, FINAL_TABLE, REREAD }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Style style;
+
+    @Override
+    public Optional<User> patch(Long id, UserPatch patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch sets no fields");
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            if (style == null) {
+                style = style(connection.getMetaData().getDatabaseProductName());
+            }
+            return patch(connection, style, id, patch);
+        });
+    }
+
+    static Style style(String databaseProductName) {
+        return switch (databaseProductName.toLowerCase(Locale.ROOT)) {
+            case "postgresql" -> Style.RETURNING;
+            case "h2" -> Style.FINAL_TABLE;
+            default -> Style.REREAD;
+        };
+    }
+
+    static Optional<User> patch(Connection connection, Style style, Long id, UserPatch patch) throws SQLException {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder update = new StringBuilder("UPDATE users SET ");
+        set(update, parameters, "name", patch.name());
+        set(update, parameters, "email", patch.email());
+        set(update, parameters, "role", patch.role());
+        // Stands in for User's @PreUpdate, which this statement bypasses
+        update.append(", updated_at = ?");
+        parameters.add(LocalDateTime.now());
+        update.append(" WHERE id = ?");
+        parameters.add(id);
+        if (patch.requiredRole() != null) {
+            update.append(" AND role = ?");
+            parameters.add(patch.requiredRole());
+        }
+        if (patch.forbiddenRole() != null) {
+            update.append(" AND (role IS NULL OR role <> ?)");
+            parameters.add(patch.forbiddenRole());
+        }
+
+        String sql = switch (style) {
+            case RETURNING -> update + " RETURNING " + COLUMNS;
+            case FINAL_TABLE -> "SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ")";
+            case REREAD -> update.toString();
+        };
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            if (style != Style.REREAD) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return read(resultSet);
+                }
+            }
+            if (statement.executeUpdate() == 0) {
+                return Optional.empty();
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + COLUMNS + " FROM users WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return read(resultSet);
+            }
+        }
+    }
+
+    private static void set(StringBuilder update, List<Object> parameters, String column, String value) {
+        if (value != null) {
+            if (!parameters.isEmpty()) {
+                update.append(", ");
+            }
+            update.append(column).append(" = ?");
+            parameters.add(value);
+        }
+    }
+
+    private static Optional<User> read(ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            return Optional.empty();
+        }
+        User user = new User(resultSet.getString("name"), resultSet.getString("email"), resultSet.getString("role"));
+        user.setId(resultSet.getLong("id"));
+        return Optional.of(user);
+    }
+}
@@ -0,0 +1,244 @@
+package tech.remiges.serversage.resilience;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tech.remiges.serversage.exception.CustomExceptions;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs calls to external dependencies off the request thread.
+ *
+ * Each dependency gets its own bounded worker pool, a semaphore bulkhead and a
+ * circuit breaker. Every call has a deadline: when it expires the returned
+ * future fails with {@link CustomExceptions.TimeoutException} and the worker is
+ * interrupted. Rejections (bulkhead full, breaker open) fail immediately with
+ * {@link CustomExceptions.ExternalServiceException}.
+ */
+@Component
+public class ExternalCallExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalCallExecutor.class);
+
+    private static final AttributeKey<String> DEPENDENCY = AttributeKey.stringKey("dependency");
+    private static final AttributeKey<String> REASON = AttributeKey.stringKey("reason");
+    private static final AttributeKey<String> PEER_SERVICE = AttributeKey.stringKey("peer.service");
+
+    private final ExternalCallProperties properties;
+    private final Tracer tracer;
+    private final LongCounter rejections;
+    private final LongCounter timeouts;
+    private final Map<String, Dependency> dependencies = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor deadlineScheduler;
+
+    @Autowired
+    public ExternalCallExecutor(ExternalCallProperties properties, OpenTelemetry openTelemetry) {
+        this.properties = properties;
+        this.tracer = openTelemetry.getTracer("serversage");
+        Meter meter = openTelemetry.getMeter("serversage");
+
+        this.rejections = meter
+                .counterBuilder("serversage_external_call_rejections_total")
+                .setDescription("External calls rejected by a bulkhead or an open circuit breaker")
+                .build();
+
+        this.timeouts = meter
+                .counterBuilder("serversage_external_call_timeouts_total")
+                .setDescription("External calls that exceeded their deadline")
+                .build();
+
+        meter.gaugeBuilder("serversage_circuit_breaker_state")
+                .setDescription("Circuit breaker state per dependency (0=closed, 1=open, 2=half_open)")
+                .ofLongs()
+                .buildWithCallback(measurement -> dependencies.forEach((name, dependency) ->
+                        measurement.record(dependency.breaker.getState().ordinal(), Attributes.of(DEPENDENCY, name))));
+
+        this.deadlineScheduler = new ScheduledThreadPoolExecutor(1, daemonThreads("external-call-deadline"));
+        this.deadlineScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public <T> CompletableFuture<T> execute(String dependencyName, Supplier<T> call) {
+        Dependency dependency = dependencies.computeIfAbsent(dependencyName, this::createDependency);
+
+        if (!dependency.breaker.tryAcquirePermission()) {
+            rejections.add(1, Attributes.of(DEPENDENCY, dependencyName, REASON, "circuit_open"));
+            return CompletableFuture.failedFuture(new CustomExceptions.ExternalServiceException(
+                    dependencyName + " service is currently unavailable (circuit open)"));
+        }
+        if (!dependency.bulkhead.tryAcquire()) {
+            dependency.breaker.releasePermission();
+            rejections.add(1, Attributes.of(DEPENDENCY, dependencyName, REASON, "bulkhead_full"));
+            return CompletableFuture.failedFuture(new CustomExceptions.ExternalServiceException(
+                    dependencyName + " service is overloaded (too many concurrent calls)"));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CallHandle handle = new CallHandle();
+        Context parent = Context.current();
+
+        try {
+            dependency.executor.execute(() -> run(dependencyName, dependency, call, result, handle, parent));
+        } catch (RejectedExecutionException e) {
+            dependency.bulkhead.release();
+            dependency.breaker.releasePermission();
+            rejections.add(1, Attributes.of(DEPENDENCY, dependencyName, REASON, "executor_rejected"));
+            return CompletableFuture.failedFuture(new CustomExceptions.ExternalServiceException(
+                    dependencyName + " service is overloaded", e));
+        }
+
+        long timeoutMs = dependency.settings.getTimeoutMs();
+        ScheduledFuture<?> deadline = deadlineScheduler.schedule(() -> {
+            if (handle.settle()) {
+                timeouts.add(1, Attributes.of(DEPENDENCY, dependencyName));
+                dependency.breaker.onFailure();
+                result.completeExceptionally(new CustomExceptions.TimeoutException(
+                        dependencyName + " call timed out after " + timeoutMs + "ms"));
+                handle.interrupt();
+                logger.warn("External call to {} exceeded deadline of {}ms", dependencyName, timeoutMs);
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> deadline.cancel(false));
+
+        return result;
+    }
+
+    private <T> void run(String dependencyName, Dependency dependency, Supplier<T> call,
+                         CompletableFuture<T> result, CallHandle handle, Context parent) {
+        T value = null;
+        Throwable failure = null;
+        try {
+            if (!handle.start()) {
+                // Deadline expired while queued
+                return;
+            }
+            Span span = tracer.spanBuilder("external " + dependencyName)
+                    .setParent(parent)
+                    .setSpanKind(SpanKind.CLIENT)
+                    .setAttribute(PEER_SERVICE, dependencyName)
+                    .startSpan();
+            try (Scope scope = span.makeCurrent()) {
+                value = call.get();
+            } catch (Throwable t) {
+                failure = t;
+                span.setStatus(StatusCode.ERROR, t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName());
+                span.recordException(t);
+            } finally {
+                span.end();
+            }
+        } finally {
+            handle.finish();
+            dependency.bulkhead.release();
+        }
+
+        // Complete only once the slot is free and the breaker updated, so a caller
+        // reacting to the result sees the state this call left behind
+        if (handle.settle()) {
+            if (failure == null) {
+                dependency.breaker.onSuccess();
+                result.complete(value);
+            } else {
+                dependency.breaker.onFailure();
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState(String dependencyName) {
+        Dependency dependency = dependencies.get(dependencyName);
+        return dependency != null ? dependency.breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    private Dependency createDependency(String name) {
+        ExternalCallProperties.Settings settings = properties.settingsFor(name);
+        int threads = Math.max(1, settings.getMaxConcurrentCalls());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads), daemonThreads("external-" + name));
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Registered external dependency {}: timeout={}ms, maxConcurrent={}, failureThreshold={}",
+                name, settings.getTimeoutMs(), threads, settings.getFailureThreshold());
+        return new Dependency(settings, executor, new Semaphore(threads),
+                new CircuitBreaker(settings.getFailureThreshold(), settings.getOpenStateMs()));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlineScheduler.shutdownNow();
+        dependencies.values().forEach(dependency -> dependency.executor.shutdownNow());
+    }
+
+    private record Dependency(ExternalCallProperties.Settings settings, ThreadPoolExecutor executor,
+                              Semaphore bulkhead, CircuitBreaker breaker) {}
+
+    /**
+     * Tracks the worker thread of a single call so the deadline can interrupt it
+     * without ever interrupting a later task that reuses the same pool thread.
+     * {@link #settle()} decides whether the call or its deadline wins, so the
+     * breaker is updated exactly once and before the caller sees the outcome.
+     * The deadline settles before it interrupts, so checking the settled state
+     * in {@link #start()} under the same lock means a worker either starts in
+     * time to be interrupted or does not start at all.
+     */
+    private static final class CallHandle {
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private Thread runner;
+
+        boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+
+        synchronized boolean start() {
+            if (settled.get()) {
+                return false;
+            }
+            runner = Thread.currentThread();
+            return true;
+        }
+
+        synchronized void finish() {
+            runner = null;
+            Thread.interrupted();
+        }
+
+        synchronized void interrupt() {
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package tech.remiges.serversage.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-dependency deadline, bulkhead and circuit breaker settings, bound from
+ * {@code external-calls.*}. Dependencies without an entry use the defaults below.
+ */
+@Component
+@ConfigurationProperties(prefix = "external-calls")
+public class ExternalCallProperties {
+
+    private Map<String, Settings> dependencies = new LinkedHashMap<>();
+
+    public Map<String, Settings> getDependencies() { return dependencies; }
+    public void setDependencies(Map<String, Settings> dependencies) { this.dependencies = dependencies; }
+
+    public Settings settingsFor(String dependency) {
+        return dependencies.getOrDefault(dependency, new Settings());
+    }
+
+    public static class Settings {
+
+        private long timeoutMs = 2000;
+        private int maxConcurrentCalls = 20;
+        private int failureThreshold = 5;
+        private long openStateMs = 10000;
+
+        public long getTimeoutMs() { return timeoutMs; }
+        public void setTimeoutMs(long timeoutMs) { this.timeoutMs = timeoutMs; }
+
+        public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) { this.maxConcurrentCalls = maxConcurrentCalls; }
+
+        public int getFailureThreshold() { return failureThreshold; }
+        public void setFailureThreshold(int failureThreshold) { this.failureThreshold = failureThreshold; }
+
+        public long getOpenStateMs() { return openStateMs; }
+        public void setOpenStateMs(long openStateMs) { this.openStateMs = openStateMs; }
+    }
+}
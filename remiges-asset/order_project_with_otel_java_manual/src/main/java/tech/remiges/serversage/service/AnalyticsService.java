@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import tech.remiges.serversage.chaos.ChaosEngine;
 import tech.remiges.serversage.exception.CustomExceptions;
 import tech.remiges.serversage.model.Order;
 import tech.remiges.serversage.observability.ObservabilityService;
@@ -29,19 +30,22 @@ public class AnalyticsService {
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final ObservabilityService observabilityService;
+    private final ChaosEngine chaosEngine;
 
     @Autowired
     public AnalyticsService(UserRepository userRepository, ProductRepository productRepository, 
-                           OrderRepository orderRepository, ObservabilityService observabilityService) {
+                           OrderRepository orderRepository, ObservabilityService observabilityService,
+                           ChaosEngine chaosEngine) {
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.orderRepository = orderRepository;
         this.observabilityService = observabilityService;
+        this.chaosEngine = chaosEngine;
     }
 
     public Map<String, Object> getDashboardStatistics() {
         logger.info("Generating dashboard statistics");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getDashboardStatistics");
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalUsers", userRepository.count());
@@ -57,7 +61,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getUserStatistics() {
         logger.info("Generating user statistics");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getUserStatistics");
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalUsers", userRepository.count());
@@ -73,7 +77,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getProductStatistics() {
         logger.info("Generating product statistics");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getProductStatistics");
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalProducts", productRepository.count());
@@ -89,7 +93,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getOrderStatistics() {
         logger.info("Generating order statistics");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getOrderStatistics");
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalOrders", orderRepository.count());
@@ -106,7 +110,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getMonthlyRevenue(int year) {
         logger.info("Calculating monthly revenue for year: {}", year);
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getMonthlyRevenue");
 
         Map<String, Object> revenue = new HashMap<>();
         Map<String, BigDecimal> monthlyData = new HashMap<>();
@@ -143,13 +147,8 @@ public class AnalyticsService {
         
         try (var scope = span.makeCurrent()) {
             logger.info("🔍 Collecting performance metrics with database queries");
-            simulateRandomDelay();
-
-            // Simulate performance failure occasionally
-            if (ThreadLocalRandom.current().nextInt(100) < 10) { // 10% failure rate
-                logger.error("Performance metrics collection failed");
-                throw new CustomExceptions.ExternalServiceException("Performance monitoring service is unavailable");
-            }
+            chaosEngine.inject("analytics.getPerformanceMetrics", () -> new CustomExceptions.ExternalServiceException(
+                    "Performance monitoring service is unavailable"));
 
             Map<String, Object> metrics = new HashMap<>();
             Runtime runtime = Runtime.getRuntime();
@@ -165,15 +164,15 @@ public class AnalyticsService {
             metrics.put("errorRate", ThreadLocalRandom.current().nextDouble(0.01, 0.05));
             metrics.put("uptime", System.currentTimeMillis());
 
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
             
-            span.setAttribute("performance.collection.duration_ms", durationSeconds * 1000);
+            span.setAttribute("performance.collection.duration_ms", durationMs);
             span.setAttribute("performance.metrics.count", metrics.size());
             span.setAttribute("operation.success", true);
             span.setStatus(StatusCode.OK);
             
             logger.info("✅ Performance metrics collected successfully in " + 
-                    String.format("%.3f", durationSeconds) + "s");
+                    String.format("%.1f", durationMs) + "ms");
 
             return metrics;
             
@@ -192,7 +191,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getDetailedHealthCheck() {
         logger.info("Performing detailed health check");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getDetailedHealthCheck");
 
         Map<String, Object> health = new HashMap<>();
         
@@ -236,7 +235,7 @@ public class AnalyticsService {
             throw new CustomExceptions.ValidationException("Report type is required");
         }
 
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.generateCustomReport");
 
         Map<String, Object> report = new HashMap<>();
         report.put("reportType", reportType);
@@ -265,7 +264,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getErrorSummary() {
         logger.info("Generating error summary");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getErrorSummary");
 
         Map<String, Object> errorSummary = new HashMap<>();
         errorSummary.put("totalErrors", ThreadLocalRandom.current().nextInt(10, 100));
@@ -289,7 +288,7 @@ public class AnalyticsService {
 
     public Map<String, Object> getCacheStatistics() {
         logger.info("Collecting cache statistics");
-        simulateRandomDelay();
+        chaosEngine.inject("analytics.getCacheStatistics");
 
         Map<String, Object> cacheStats = new HashMap<>();
         cacheStats.put("hitRate", ThreadLocalRandom.current().nextDouble(0.7, 0.95));
@@ -302,12 +301,4 @@ public class AnalyticsService {
         return cacheStats;
     }
 
-    private void simulateRandomDelay() {
-        try {
-            // Random delay between 20-150ms to simulate real operations
-            Thread.sleep(ThreadLocalRandom.current().nextInt(20, 151));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
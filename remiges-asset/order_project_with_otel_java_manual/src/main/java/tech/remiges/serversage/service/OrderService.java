@@ -4,21 +4,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import tech.remiges.serversage.cache.Coalesced;
+import tech.remiges.serversage.cache.DataLoader;
+import tech.remiges.serversage.chaos.ChaosEngine;
 import tech.remiges.serversage.exception.CustomExceptions;
 import tech.remiges.serversage.model.Order;
 import tech.remiges.serversage.model.Product;
 import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.VersionStamp;
 import tech.remiges.serversage.observability.ObservabilityService;
 import tech.remiges.serversage.repository.OrderRepository;
 import tech.remiges.serversage.repository.ProductRepository;
 import tech.remiges.serversage.repository.UserRepository;
+import tech.remiges.serversage.resilience.ExternalCallExecutor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,22 +37,32 @@ public class OrderService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ObservabilityService observabilityService;
+    private final ChaosEngine chaosEngine;
+    private final ExternalCallExecutor externalCallExecutor;
 
     @Autowired
     public OrderService(OrderRepository orderRepository, UserRepository userRepository, 
-                       ProductRepository productRepository, ObservabilityService observabilityService) {
+                       ProductRepository productRepository, ObservabilityService observabilityService,
+                       ChaosEngine chaosEngine, ExternalCallExecutor externalCallExecutor) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.observabilityService = observabilityService;
+        this.chaosEngine = chaosEngine;
+        this.externalCallExecutor = externalCallExecutor;
     }
 
     public List<Order> getAllOrders() {
         logger.info("Fetching all orders");
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getAllOrders");
         return orderRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public VersionStamp getOrdersVersion() {
+        return orderRepository.findVersionStamp();
+    }
+
     public Optional<Order> getOrderById(Long id) {
         logger.info("Fetching order with id: {}", id);
         
@@ -54,7 +72,7 @@ public class OrderService {
             throw new CustomExceptions.RateLimitException("Too many requests. Please try again later.");
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getOrderById");
         return orderRepository.findById(id);
     }
 
@@ -92,7 +110,7 @@ public class OrderService {
         product.setStockQuantity(product.getStockQuantity() - order.getQuantity());
         productRepository.save(product);
         
-        simulateRandomDelay();
+        chaosEngine.inject("orders.createOrder");
         Order savedOrder = orderRepository.save(order);
         
         // Track order creation with proper observability
@@ -120,7 +138,7 @@ public class OrderService {
                     }
                     
                     order.setStatus(status);
-                    simulateRandomDelay();
+                    chaosEngine.inject("orders.updateOrderStatus");
                     Order updatedOrder = orderRepository.save(order);
                     logger.info("Order status updated successfully: {}", updatedOrder.getId());
                     return updatedOrder;
@@ -168,13 +186,45 @@ public class OrderService {
             throw new CustomExceptions.UserNotFoundException("User not found with id: " + userId);
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getOrdersByUser");
         return orderRepository.findByUserId(userId);
     }
 
+    /**
+     * Orders with their users and products resolved server-side. Referenced ids are
+     * collected through per-call DataLoaders and fetched with one findAllById each,
+     * so the whole view costs three queries regardless of the number of orders.
+     */
+    @Transactional(readOnly = true)
+    public List<Order.EnrichedOrderDTO> getEnrichedOrders(Order.OrderStatus status) {
+        logger.info("Fetching enriched orders, status filter: {}", status);
+        chaosEngine.inject("orders.getEnrichedOrders");
+
+        List<Order> orders = status != null ? orderRepository.findByStatus(status) : orderRepository.findAll();
+
+        DataLoader<Long, User> users = new DataLoader<>(ids -> userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity())));
+        DataLoader<Long, Product> products = new DataLoader<>(ids -> productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity())));
+
+        List<CompletableFuture<Order.EnrichedOrderDTO>> enriched = orders.stream()
+                .map(order -> users.load(order.getUserId())
+                        .thenCombine(products.load(order.getProductId()),
+                                (user, product) -> Order.EnrichedOrderDTO.fromEntity(order, user, product)))
+                .toList();
+
+        users.dispatch();
+        products.dispatch();
+
+        return enriched.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    @Coalesced(microCacheMillis = 10)
     public List<Order> getOrdersByStatus(Order.OrderStatus status) {
         logger.info("Fetching orders by status: {}", status);
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getOrdersByStatus");
         return orderRepository.findByStatus(status);
     }
 
@@ -185,7 +235,7 @@ public class OrderService {
             throw new CustomExceptions.ValidationException("Start date cannot be after end date");
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getOrdersBetweenDates");
         return orderRepository.findOrdersBetweenDates(startDate, endDate);
     }
 
@@ -197,57 +247,47 @@ public class OrderService {
             throw new CustomExceptions.UserNotFoundException("User not found with id: " + userId);
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getTotalAmountByUser");
         BigDecimal total = orderRepository.getTotalAmountByUser(userId);
         return total != null ? total : BigDecimal.ZERO;
     }
 
     public Long getOrderCountByStatus(Order.OrderStatus status) {
         logger.info("Getting order count for status: {}", status);
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getOrderCountByStatus");
         return orderRepository.countByStatus(status);
     }
 
     public List<Order> getHighValueOrders(BigDecimal threshold) {
         logger.info("Fetching high value orders above: {}", threshold);
-        simulateRandomDelay();
+        chaosEngine.inject("orders.getHighValueOrders");
         return orderRepository.findHighValueOrders(threshold);
     }
 
-    // Simulate payment processing with potential failures
-    public String processPayment(Long orderId, BigDecimal amount) {
+    // Simulate payment processing against an external provider (deadline, bulkhead, circuit breaker)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<String> processPaymentAsync(Long orderId, BigDecimal amount) {
         logger.info("Processing payment for order: {} with amount: {}", orderId, amount);
         
-        // Simulate payment service failure
-        if (ThreadLocalRandom.current().nextInt(100) < 15) { // 15% failure rate
-            logger.error("Payment processing failed for order: {}", orderId);
-            throw new CustomExceptions.ExternalServiceException("Payment service is currently unavailable");
-        }
-        
-        // Simulate payment timeout
-        if (ThreadLocalRandom.current().nextInt(100) < 5) { // 5% timeout rate
-            logger.error("Payment processing timed out for order: {}", orderId);
-            simulateTimeout();
-        }
-        
-        simulateRandomDelay();
-        String transactionId = "TXN_" + System.currentTimeMillis();
-        logger.info("Payment processed successfully for order: {} with transaction ID: {}", orderId, transactionId);
-        return transactionId;
+        return externalCallExecutor.execute("payment", () -> {
+            chaosEngine.inject("payment.process", () -> new CustomExceptions.ExternalServiceException(
+                    "Payment service is currently unavailable"));
+            String transactionId = "TXN_" + System.currentTimeMillis();
+            logger.info("Payment processed successfully for order: {} with transaction ID: {}", orderId, transactionId);
+            return transactionId;
+        });
     }
 
     // Simulate inventory check with external service
-    public boolean checkInventoryAvailability(Long productId, Integer quantity) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Boolean> checkInventoryAvailabilityAsync(Long productId, Integer quantity) {
         logger.info("Checking inventory availability for product: {} with quantity: {}", productId, quantity);
         
-        // Simulate external inventory service failure
-        if (ThreadLocalRandom.current().nextInt(100) < 10) { // 10% failure rate
-            logger.error("Inventory service failed for product: {}", productId);
-            throw new CustomExceptions.ExternalServiceException("Inventory service is currently unavailable");
-        }
-        
-        simulateRandomDelay();
-        return true; // Assume inventory is available
+        return externalCallExecutor.execute("inventory", () -> {
+            chaosEngine.inject("inventory.check", () -> new CustomExceptions.ExternalServiceException(
+                    "Inventory service is currently unavailable"));
+            return true; // Assume inventory is available
+        });
     }
 
     private void validateOrder(Order order) {
@@ -261,23 +301,4 @@ public class OrderService {
             throw new CustomExceptions.ValidationException("Quantity must be greater than 0");
         }
     }
-
-    private void simulateRandomDelay() {
-        try {
-            // Random delay between 20-150ms to simulate real operations
-            Thread.sleep(ThreadLocalRandom.current().nextInt(20, 151));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    private void simulateTimeout() {
-        try {
-            Thread.sleep(6000); // Simulate long operation
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new CustomExceptions.TimeoutException("Payment processing timed out");
-        }
-        throw new CustomExceptions.TimeoutException("Payment processing timed out");
-    }
 }
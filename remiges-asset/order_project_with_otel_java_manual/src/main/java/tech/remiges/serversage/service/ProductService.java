@@ -7,16 +7,20 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import tech.remiges.serversage.cache.Coalesced;
+import tech.remiges.serversage.chaos.ChaosEngine;
 import tech.remiges.serversage.exception.CustomExceptions;
 import tech.remiges.serversage.model.Product;
+import tech.remiges.serversage.model.VersionStamp;
 import tech.remiges.serversage.repository.ProductRepository;
+import tech.remiges.serversage.resilience.ExternalCallExecutor;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @Transactional
@@ -24,19 +28,30 @@ public class ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
     private final ProductRepository productRepository;
+    private final ChaosEngine chaosEngine;
+    private final ExternalCallExecutor externalCallExecutor;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ChaosEngine chaosEngine,
+                          ExternalCallExecutor externalCallExecutor) {
         this.productRepository = productRepository;
+        this.chaosEngine = chaosEngine;
+        this.externalCallExecutor = externalCallExecutor;
     }
 
     @Cacheable("products")
     public List<Product> getAllProducts() {
         logger.info("Fetching all products from database");
-        simulateRandomDelay();
+        chaosEngine.inject("products.getAllProducts");
         return productRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public VersionStamp getProductsVersion() {
+        return productRepository.findVersionStamp();
+    }
+
+    @Coalesced(microCacheMillis = 10)
     public Optional<Product> getProductById(Long id) {
         logger.info("Fetching product with id: {}", id);
         
@@ -54,7 +69,7 @@ public class ProductService {
             return Optional.of(new Product(nullString.toUpperCase(), "Error Product", BigDecimal.ZERO, 0, "ERROR")); // This will throw NullPointerException
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("products.getProductById");
         return productRepository.findById(id);
     }
 
@@ -77,7 +92,7 @@ public class ProductService {
         }
         
         try {
-            simulateRandomDelay();
+            chaosEngine.inject("products.createProduct");
             Product savedProduct = productRepository.save(product);
             logger.info("Product created successfully with ID: {}", savedProduct.getId());
             return savedProduct;
@@ -105,7 +120,7 @@ public class ProductService {
                     product.setStockQuantity(productDetails.getStockQuantity());
                     product.setCategory(productDetails.getCategory());
                     
-                    simulateRandomDelay();
+                    chaosEngine.inject("products.updateProduct");
                     Product updatedProduct = productRepository.save(product);
                     logger.info("Product updated successfully: {}", updatedProduct.getId());
                     return updatedProduct;
@@ -121,22 +136,26 @@ public class ProductService {
             throw new CustomExceptions.ProductNotFoundException("Product not found with id: " + id);
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("products.deleteProduct");
         productRepository.deleteById(id);
         logger.info("Product deleted successfully: {}", id);
     }
 
-    public List<Product> getProductsByCategory(String category) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<List<Product>> getProductsByCategoryAsync(String category) {
         logger.info("Fetching products by category: {}", category);
         
-        // Simulate timeout for specific categories
+        // Simulate a slow legacy catalog lookup for specific categories; the deadline fails it fast
         if ("timeout".equalsIgnoreCase(category)) {
             logger.error("Simulating timeout for category: {}", category);
-            simulateTimeout();
+            return externalCallExecutor.execute("catalog", () -> {
+                simulateTimeout();
+                return productRepository.findByCategory(category);
+            });
         }
         
-        simulateRandomDelay();
-        return productRepository.findByCategory(category);
+        chaosEngine.inject("products.getProductsByCategory");
+        return CompletableFuture.completedFuture(productRepository.findByCategory(category));
     }
 
     public List<Product> searchProducts(String keyword) {
@@ -146,7 +165,7 @@ public class ProductService {
             throw new CustomExceptions.ValidationException("Search keyword cannot be empty");
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("products.searchProducts");
         return productRepository.searchProducts(keyword);
     }
 
@@ -157,13 +176,13 @@ public class ProductService {
             throw new CustomExceptions.InvalidPriceException("Minimum price cannot be greater than maximum price");
         }
         
-        simulateRandomDelay();
+        chaosEngine.inject("products.getProductsByPriceRange");
         return productRepository.findByPriceBetween(minPrice, maxPrice);
     }
 
     public List<Product> getLowStockProducts(Integer threshold) {
         logger.info("Fetching low stock products with threshold: {}", threshold);
-        simulateRandomDelay();
+        chaosEngine.inject("products.getLowStockProducts");
         return productRepository.findByStockQuantityLessThan(threshold);
     }
 
@@ -192,22 +211,20 @@ public class ProductService {
 
     public Long getProductCountByCategory(String category) {
         logger.info("Getting product count for category: {}", category);
-        simulateRandomDelay();
+        chaosEngine.inject("products.getProductCountByCategory");
         return productRepository.countByCategory(category);
     }
 
     // Simulate external service call with potential failure
-    public String getProductRecommendations(Long productId) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<String> getProductRecommendationsAsync(Long productId) {
         logger.info("Fetching recommendations for product: {}", productId);
         
-        // Simulate external service failure
-        if (ThreadLocalRandom.current().nextInt(100) < 20) { // 20% failure rate
-            logger.error("External recommendation service failed for product: {}", productId);
-            throw new CustomExceptions.ExternalServiceException("Recommendation service is currently unavailable");
-        }
-        
-        simulateRandomDelay();
-        return "Recommended products: [1, 2, 3]";
+        return externalCallExecutor.execute("recommendations", () -> {
+            chaosEngine.inject("recommendations.fetch", () -> new CustomExceptions.ExternalServiceException(
+                    "Recommendation service is currently unavailable"));
+            return "Recommended products: [1, 2, 3]";
+        });
     }
 
     private void validateProduct(Product product) {
@@ -222,15 +239,6 @@ public class ProductService {
         }
     }
 
-    private void simulateRandomDelay() {
-        try {
-            // Random delay between 10-100ms to simulate real database operations
-            Thread.sleep(ThreadLocalRandom.current().nextInt(10, 101));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
     private void simulateTimeout() {
         try {
             // Simulate a long operation that times out
@@ -10,8 +10,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tech.remiges.serversage.cache.Coalesced;
+import tech.remiges.serversage.chaos.ChaosEngine;
 import tech.remiges.serversage.exception.CustomExceptions;
 import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.UserPatch;
+import tech.remiges.serversage.model.VersionStamp;
 import tech.remiges.serversage.observability.ObservabilityService;
 import tech.remiges.serversage.repository.UserRepository;
 
@@ -20,10 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Enhanced User Service with comprehensive observability
@@ -41,11 +43,14 @@ public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
     private final ObservabilityService observabilityService;
+    private final ChaosEngine chaosEngine;
 
     @Autowired
-    public UserService(UserRepository userRepository, ObservabilityService observabilityService) {
+    public UserService(UserRepository userRepository, ObservabilityService observabilityService,
+                       ChaosEngine chaosEngine) {
         this.userRepository = userRepository;
         this.observabilityService = observabilityService;
+        this.chaosEngine = chaosEngine;
     }
 
     public List<User> getAllUsers() {
@@ -64,24 +69,20 @@ public class UserService {
         try (var scope = span.makeCurrent()) {
             observabilityService.logInfo("🔍 Executing SQL: SELECT u.id, u.name, u.email, u.role FROM users u");
             
-            simulateRandomDelay();
-            
-            // Simulate potential database error
-            if (ThreadLocalRandom.current().nextInt(100) < 2) { // 2% chance
-                throw new CustomExceptions.DatabaseConnectionException("Database connection timeout while fetching users");
-            }
+            chaosEngine.inject("users.getAllUsers", () -> new CustomExceptions.DatabaseConnectionException(
+                    "Database connection timeout while fetching users"));
             
             List<User> users = userRepository.findAll();
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
             
             // Add detailed span attributes
             span.setAttribute("db.rows_affected", users.size());
-            span.setAttribute("db.query.duration_ms", durationSeconds * 1000);
+            span.setAttribute("db.query.duration_ms", durationMs);
             span.setAttribute("db.query.success", true);
             span.setAttribute("db.result.count", users.size());
             
-            observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+            observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
             
             // Calculate statistics for business metrics
             long totalUsers = users.size();
@@ -92,24 +93,29 @@ public class UserService {
             observabilityService.updateBusinessMetrics(totalUsers, 0, 0, activeUsers);
             
             observabilityService.logInfo("✅ Query completed successfully. Retrieved " + users.size() + 
-                    " users in " + String.format("%.3f", durationSeconds) + "s");
+                    " users in " + String.format("%.1f", durationMs) + "ms");
             
             span.setStatus(StatusCode.OK);
             return users;
             
         } catch (Exception e) {
-            span.recordException(e);
-            span.setStatus(StatusCode.ERROR, e.getMessage());
             span.setAttribute("db.query.success", false);
             span.setAttribute("error.type", e.getClass().getSimpleName());
             
-            observabilityService.logError("❌ SQL Query failed: " + e.getMessage());
+            // Counted and logged once, at the outermost boundary
+            observabilityService.observeError(span, e, "UserService", "getAllUsers");
             throw e;
         } finally {
             span.end();
         }
     }
 
+    @Transactional(readOnly = true)
+    public VersionStamp getUsersVersion() {
+        return userRepository.findVersionStamp();
+    }
+
+    @Coalesced
     public Optional<User> getUserById(Long id) {
         return observabilityService.executeInSpan("UserService.getUserById", "user-service", () -> {
             long startTime = System.nanoTime();
@@ -137,26 +143,26 @@ public class UserService {
                     .put("user.id", id != null ? id : -1)
                     .build());
             
-            simulateRandomDelay();
+            chaosEngine.inject("users.getUserById");
             
             Optional<User> user = userRepository.findById(id);
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
             
             if (user.isPresent()) {
                 observabilityService.logInfo("User found by ID", Attributes.builder()
                         .put("operation", "getUserById")
                         .put("user.id", id)
                         .put("user.email", user.get().getEmail())
-                        .put("duration_seconds", durationSeconds)
+                        .put("duration_ms", durationMs)
                         .put("found", true)
                         .build());
             } else {
                 observabilityService.logWarning("User not found by ID", Attributes.builder()
                         .put("operation", "getUserById")
                         .put("user.id", id)
-                        .put("duration_seconds", durationSeconds)
+                        .put("duration_ms", durationMs)
                         .put("found", false)
                         .build());
             }
@@ -179,18 +185,18 @@ public class UserService {
                     .put("user.email", email != null ? email : "null")
                     .build());
             
-            simulateRandomDelay();
+            chaosEngine.inject("users.getUserByEmail");
             
             Optional<User> user = userRepository.findByEmail(email);
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
             
             observabilityService.logInfo("User email lookup completed", Attributes.builder()
                     .put("operation", "getUserByEmail")
                     .put("user.email", email)
                     .put("found", user.isPresent())
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .build());
             
             return user;
@@ -206,17 +212,17 @@ public class UserService {
                     .put("user.role", role != null ? role : "null")
                     .build());
             
-            simulateRandomDelay();
+            chaosEngine.inject("users.getUsersByRole");
             List<User> users = userRepository.findByRole(role);
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
             
             observabilityService.logInfo("Users fetched by role", Attributes.builder()
                     .put("operation", "getUsersByRole")
                     .put("user.role", role)
                     .put("user.count", users.size())
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .build());
             
             return users;
@@ -236,17 +242,17 @@ public class UserService {
                     .put("search.keyword", keyword)
                     .build());
             
-            simulateRandomDelay();
+            chaosEngine.inject("users.searchUsers");
             List<User> users = userRepository.searchUsers(keyword);
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
             
             observabilityService.logInfo("User search completed", Attributes.builder()
                     .put("operation", "searchUsers")
                     .put("search.keyword", keyword)
                     .put("user.count", users.size())
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .build());
             
             return users;
@@ -262,17 +268,17 @@ public class UserService {
                     .put("user.role", role != null ? role : "null")
                     .build());
             
-            simulateRandomDelay();
+            chaosEngine.inject("users.getUserCountByRole");
             Long count = userRepository.countByRole(role);
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
             
             observabilityService.logInfo("User count by role retrieved", Attributes.builder()
                     .put("operation", "getUserCountByRole")
                     .put("user.role", role)
                     .put("user.count", count)
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .build());
             
             return count;
@@ -297,29 +303,23 @@ public class UserService {
             }
             
             try {
-                simulateRandomDelay();
+                chaosEngine.inject("users.createMultipleUsers");
                 List<User> savedUsers = userRepository.saveAll(users);
                 
-                double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-                observabilityService.recordDatabaseOperation("INSERT_BATCH", "users", durationSeconds, true, null);
+                double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+                observabilityService.recordDatabaseOperation("INSERT_BATCH", "users", durationMs, true, null);
                 
                 observabilityService.logInfo("Batch user creation completed", Attributes.builder()
                         .put("operation", "createMultipleUsers")
                         .put("user.batch_size", users.size())
                         .put("user.created_count", savedUsers.size())
-                        .put("duration_seconds", durationSeconds)
+                        .put("duration_ms", durationMs)
                         .build());
                 
                 return savedUsers;
             } catch (DataIntegrityViolationException e) {
-                double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-                observabilityService.recordDatabaseOperation("INSERT_BATCH", "users", durationSeconds, false, "DATA_INTEGRITY_VIOLATION");
-                
-                observabilityService.logError("Data integrity violation during batch user creation", e, Attributes.builder()
-                        .put("operation", "createMultipleUsers")
-                        .put("user.batch_size", users.size())
-                        .put("duration_seconds", durationSeconds)
-                        .build());
+                double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+                observabilityService.recordDatabaseOperation("INSERT_BATCH", "users", durationMs, false, "DATA_INTEGRITY_VIOLATION");
                 
                 throw new CustomExceptions.DuplicateEmailException("One or more users have duplicate email addresses", e);
             }
@@ -344,13 +344,13 @@ public class UserService {
         profile.put("lastLogin", "2024-07-05T10:30:00");
         profile.put("createdAt", "2024-01-01T00:00:00");
         
-        simulateRandomDelay();
+        chaosEngine.inject("users.getUserProfile");
         
-        double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-        observabilityService.recordDatabaseOperation("SELECT", "users", durationSeconds, true, null);
+        double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        observabilityService.recordDatabaseOperation("SELECT", "users", durationMs, true, null);
         
         observabilityService.logInfo("User profile retrieved successfully for ID: " + id + 
-                " in " + String.format("%.3f", durationSeconds) + "s");
+                " in " + String.format("%.1f", durationMs) + "ms");
         
         return profile;
     }
@@ -384,12 +384,6 @@ public class UserService {
             
             // Check for duplicate email
             if (userRepository.existsByEmail(user.getEmail())) {
-                observabilityService.logError("Duplicate email detected", 
-                        new CustomExceptions.DuplicateEmailException("User with email '" + user.getEmail() + "' already exists"),
-                        Attributes.builder()
-                                .put("operation", "createUser")
-                                .put("user.email", user.getEmail())
-                                .build());
                 throw new CustomExceptions.DuplicateEmailException("User with email '" + user.getEmail() + "' already exists");
             }
             
@@ -413,29 +407,23 @@ public class UserService {
             }
             
             try {
-                simulateRandomDelay();
+                chaosEngine.inject("users.createUser");
                 User savedUser = userRepository.save(user);
                 
-                double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-                observabilityService.recordDatabaseOperation("INSERT", "users", durationSeconds, true, null);
+                double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+                observabilityService.recordDatabaseOperation("INSERT", "users", durationMs, true, null);
                 
                 observabilityService.logInfo("User created successfully", Attributes.builder()
                         .put("operation", "createUser")
                         .put("user.id", savedUser.getId())
                         .put("user.email", savedUser.getEmail())
-                        .put("duration_seconds", durationSeconds)
+                        .put("duration_ms", durationMs)
                         .build());
                 
                 return savedUser;
             } catch (DataIntegrityViolationException e) {
-                double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-                observabilityService.recordDatabaseOperation("INSERT", "users", durationSeconds, false, "DATA_INTEGRITY_VIOLATION");
-                
-                observabilityService.logError("Data integrity violation during user creation", e, Attributes.builder()
-                        .put("operation", "createUser")
-                        .put("user.email", user.getEmail())
-                        .put("duration_seconds", durationSeconds)
-                        .build());
+                double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+                observabilityService.recordDatabaseOperation("INSERT", "users", durationMs, false, "DATA_INTEGRITY_VIOLATION");
                 
                 throw new CustomExceptions.DuplicateEmailException("User with this email already exists", e);
             }
@@ -462,17 +450,17 @@ public class UserService {
                         existingUser.setEmail(userDetails.getEmail());
                         existingUser.setRole(userDetails.getRole());
                         
-                        simulateRandomDelay();
+                        chaosEngine.inject("users.updateUser");
                         User updatedUser = userRepository.save(existingUser);
                         
-                        double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-                        observabilityService.recordDatabaseOperation("UPDATE", "users", durationSeconds, true, null);
+                        double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+                        observabilityService.recordDatabaseOperation("UPDATE", "users", durationMs, true, null);
                         
                         observabilityService.logInfo("User updated successfully", Attributes.builder()
                                 .put("operation", "updateUser")
                                 .put("user.id", updatedUser.getId())
                                 .put("user.email", updatedUser.getEmail())
-                                .put("duration_seconds", durationSeconds)
+                                .put("duration_ms", durationMs)
                                 .build());
                         
                         return updatedUser;
@@ -480,6 +468,37 @@ public class UserService {
         });
     }
 
+    /**
+     * Applies a partial update in one conditional UPDATE that returns the new row.
+     * Returns empty if the user does not exist; throws {@link CustomExceptions.BusinessLogicException}
+     * with the patch's conflict message if the user exists but the precondition failed.
+     */
+    public Optional<User> patchUser(Long id, UserPatch patch) {
+        return observabilityService.executeInSpan("UserService.patchUser", "user-service", () -> {
+            long startTime = System.nanoTime();
+
+            chaosEngine.inject("users.patchUser");
+            Optional<User> patchedUser = userRepository.patch(id, patch);
+
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("UPDATE", "users", durationMs, true, null);
+
+            // Only a failed conditional update needs a second look to tell "missing" from "conflict"
+            if (patchedUser.isEmpty() && patch.isConditional() && userRepository.existsById(id)) {
+                throw new CustomExceptions.BusinessLogicException(patch.conflictMessage());
+            }
+
+            patchedUser.ifPresent(user -> observabilityService.logInfo("User patched successfully", Attributes.builder()
+                    .put("operation", "patchUser")
+                    .put("user.id", user.getId())
+                    .put("user.role", user.getRole() != null ? user.getRole() : "null")
+                    .put("duration_ms", durationMs)
+                    .build()));
+
+            return patchedUser;
+        });
+    }
+
     public void deleteUser(Long id) {
         observabilityService.executeInSpan("UserService.deleteUser", "user-service", () -> {
             long startTime = System.nanoTime();
@@ -493,16 +512,16 @@ public class UserService {
                 throw new CustomExceptions.UserNotFoundException("User not found with id: " + id);
             }
             
-            simulateRandomDelay();
+            chaosEngine.inject("users.deleteUser");
             userRepository.deleteById(id);
             
-            double durationSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
-            observabilityService.recordDatabaseOperation("DELETE", "users", durationSeconds, true, null);
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            observabilityService.recordDatabaseOperation("DELETE", "users", durationMs, true, null);
             
             observabilityService.logInfo("User deleted successfully", Attributes.builder()
                     .put("operation", "deleteUser")
                     .put("user.id", id)
-                    .put("duration_seconds", durationSeconds)
+                    .put("duration_ms", durationMs)
                     .build());
         });
     }
@@ -523,12 +542,4 @@ public class UserService {
         return "Valid";
     }
 
-    private void simulateRandomDelay() {
-        try {
-            // Random delay between 10-100ms to simulate real database operations
-            Thread.sleep(ThreadLocalRandom.current().nextInt(10, 101));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
@@ -0,0 +1,110 @@
+package tech.remiges.serversage.alert;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertIngestionPipelineTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T12:00:00Z");
+
+    private static final class MutableClock extends Clock {
+        Instant now = START;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static Map<String, Object> payload(String title, String instance) {
+        return Map.of("title", title, "message", "firing",
+                "commonLabels", Map.of("alertname", "HighLatency", "instance", instance));
+    }
+
+    @Test
+    void testRepeatsWithinWindowAreCountedNotStored() {
+        // Given
+        MutableClock clock = new MutableClock();
+        AlertStore store = new AlertStore(100, "");
+        AlertIngestionPipeline pipeline = new AlertIngestionPipeline(store, clock, 100,
+                Duration.ofMinutes(5), Duration.ofHours(1), 100, "alertname", false);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            clock.now = START.plusSeconds(i);
+            pipeline.process(new AlertIngestionPipeline.Submission("CRITICAL", payload("Latency", "a")));
+        }
+        clock.now = START.plus(Duration.ofMinutes(6));
+        pipeline.process(new AlertIngestionPipeline.Submission("CRITICAL", payload("Latency", "a")));
+
+        // Then
+        assertEquals(2, store.count("critical"));
+        AlertIngestionPipeline.AlertSummary summary = pipeline.groups().get(0).alerts().get(0);
+        assertEquals(51, summary.count());
+        assertEquals(1, summary.countInWindow());
+        assertEquals(START.atZone(ZoneOffset.UTC).toLocalDateTime(), summary.firstSeen());
+        assertEquals(49L, pipeline.stats().get("deduplicated"));
+    }
+
+    @Test
+    void testAlertsAreGroupedByLabelAndPruned() {
+        // Given
+        MutableClock clock = new MutableClock();
+        AlertIngestionPipeline pipeline = new AlertIngestionPipeline(new AlertStore(100, ""), clock, 100,
+                Duration.ofMinutes(5), Duration.ofMinutes(30), 100, "alertname", false);
+
+        // When
+        pipeline.process(new AlertIngestionPipeline.Submission("WARNING", payload("Latency", "a")));
+        pipeline.process(new AlertIngestionPipeline.Submission("WARNING", payload("Latency", "b")));
+        pipeline.process(new AlertIngestionPipeline.Submission("WARNING", Map.of("title", "Disk full")));
+        List<AlertIngestionPipeline.AlertGroup> groups = pipeline.groups();
+        clock.now = START.plus(Duration.ofHours(1));
+        pipeline.prune();
+
+        // Then
+        assertEquals(2, groups.size());
+        AlertIngestionPipeline.AlertGroup latency = groups.stream()
+                .filter(group -> group.key().equals("warning|alertname=HighLatency")).findFirst().orElseThrow();
+        assertEquals(2, latency.alerts().size());
+        assertEquals(2, latency.count());
+        assertTrue(pipeline.groups().isEmpty());
+    }
+
+    @Test
+    void testWebhookBurstIsProcessedAsynchronously() throws InterruptedException {
+        // Given
+        AlertStore store = new AlertStore(100, "");
+        AlertIngestionPipeline pipeline = new AlertIngestionPipeline(store, Clock.systemUTC(), 10_000,
+                Duration.ofMinutes(5), Duration.ofHours(1), 100, "alertname", true);
+
+        // When
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(pipeline.submit("GENERAL", payload("Flapping", "a")));
+        }
+        pipeline.shutdown();
+
+        // Then
+        assertEquals(1, store.count("general"));
+        assertEquals(5000L, pipeline.stats().get("processed"));
+        assertFalse(pipeline.submit("GENERAL", payload("Flapping", "a")));
+    }
+}
@@ -0,0 +1,112 @@
+package tech.remiges.serversage.alert;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private static AlertNotification alert(String type, int minute) {
+        return new AlertNotification(type, "alert-" + minute, "message", START.plusMinutes(minute));
+    }
+
+    @Test
+    void testRingKeepsNewestAlertsAndCountsEverything() {
+        // Given
+        AlertStore store = new AlertStore(3, "");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            store.append(alert("CRITICAL", i));
+        }
+        store.append(alert("WARNING", 0));
+
+        // Then
+        assertEquals(List.of("alert-4", "alert-3", "alert-2"),
+                store.query("critical", null, null, 0, 10).stream().map(AlertNotification::title).toList());
+        assertEquals(List.of("alert-3"),
+                store.query("critical", null, null, 1, 1).stream().map(AlertNotification::title).toList());
+        assertEquals(List.of("alert-3", "alert-2"),
+                store.query("critical", START.plusMinutes(2), START.plusMinutes(4), 0, 10).stream()
+                        .map(AlertNotification::title).toList());
+        assertEquals(5, store.count("critical"));
+        assertEquals(6, store.totalCount());
+        assertTrue(store.query("general", null, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testConcurrentAppendsStayBounded() throws InterruptedException {
+        // Given
+        AlertStore store = new AlertStore(100, "");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    store.append(alert("GENERAL", i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(80_000, store.count("general"));
+        assertEquals(100, store.query("general", null, null, 0, 1000).size());
+    }
+
+    @Test
+    void testAlertsSurviveRestartAndFileIsCompacted(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = directory.resolve("alerts.jsonl");
+        AlertStore store = new AlertStore(2, file.toString());
+        for (int i = 0; i < 4; i++) {
+            store.append(alert("WARNING", i));
+        }
+        store.close();
+        Files.writeString(file, "{\"type\":\"WARN", StandardOpenOption.APPEND);
+
+        // When
+        AlertStore restarted = new AlertStore(2, file.toString());
+
+        // Then
+        assertEquals(List.of(alert("WARNING", 3), alert("WARNING", 2)),
+                restarted.query("warning", null, null, 0, 10));
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void testFileIsCompactedWhileRunning(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = directory.resolve("alerts.jsonl");
+        AlertStore store = new AlertStore(2, file.toString());
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            store.append(alert(i % 2 == 0 ? "WARNING" : "CRITICAL", i));
+        }
+        store.close();
+
+        // Then - never more than twice capacity per type on disk
+        assertTrue(Files.readAllLines(file).size() <= 8, "file holds " + Files.readAllLines(file).size() + " lines");
+        AlertStore restarted = new AlertStore(2, file.toString());
+        assertEquals(List.of(alert("WARNING", 48), alert("WARNING", 46)),
+                restarted.query("warning", null, null, 0, 10));
+        assertEquals(List.of(alert("CRITICAL", 49), alert("CRITICAL", 47)),
+                restarted.query("critical", null, null, 0, 10));
+    }
+}
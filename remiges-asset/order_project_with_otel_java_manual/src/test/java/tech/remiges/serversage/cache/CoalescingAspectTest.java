@@ -0,0 +1,107 @@
+package tech.remiges.serversage.cache;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tech.remiges.serversage.model.Product;
+import tech.remiges.serversage.service.ProductService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CoalescingAspectTest {
+
+    private InMemoryMetricReader metricReader;
+    private ProductService target;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        metricReader = InMemoryMetricReader.create();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+                .build();
+        target = mock(ProductService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new CoalescingAspect(openTelemetry, true));
+        productService = factory.getProxy();
+    }
+
+    private long coalescedCalls() {
+        return metricReader.collectAllMetrics().stream()
+                .filter(metric -> metric.getName().equals("serversage_coalesced_calls_total"))
+                .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+                .mapToLong(LongPointData::getValue)
+                .sum();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneInvocation() throws Exception {
+        // Given
+        int callers = 6;
+        Product laptop = new Product();
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        when(target.getProductById(1L)).thenAnswer(invocation -> {
+            invocations.incrementAndGet();
+            leaderStarted.countDown();
+            releaseLeader.await();
+            return Optional.of(laptop);
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<Optional<Product>>> results = new ArrayList<>();
+        results.add(pool.submit(() -> productService.getProductById(1L)));
+        assertTrue(leaderStarted.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(pool.submit(() -> productService.getProductById(1L)));
+        }
+        while (coalescedCalls() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        releaseLeader.countDown();
+
+        // Then
+        for (Future<Optional<Product>> result : results) {
+            assertSame(laptop, result.get(1, TimeUnit.SECONDS).orElseThrow());
+        }
+        assertEquals(1, invocations.get());
+        assertEquals(callers - 1, coalescedCalls());
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testMethodsWithoutAnnotationAreNotCoalesced() {
+        // Given
+        AtomicInteger invocations = new AtomicInteger();
+        when(target.getAllProducts()).thenAnswer(invocation -> {
+            invocations.incrementAndGet();
+            return List.of();
+        });
+
+        // When
+        productService.getAllProducts();
+        productService.getAllProducts();
+
+        // Then
+        assertEquals(2, invocations.get());
+        assertEquals(0, coalescedCalls());
+    }
+}
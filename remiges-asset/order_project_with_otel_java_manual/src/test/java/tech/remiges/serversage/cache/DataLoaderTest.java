@@ -0,0 +1,80 @@
+package tech.remiges.serversage.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderTest {
+
+    @Test
+    void testLoadsAreBatchedAndDeduplicated() {
+        // Given
+        List<Collection<Long>> batches = new ArrayList<>();
+        DataLoader<Long, String> loader = new DataLoader<>(ids -> {
+            batches.add(List.copyOf(ids));
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> "user-" + id));
+        });
+
+        // When
+        CompletableFuture<String> first = loader.load(1L);
+        CompletableFuture<String> second = loader.load(2L);
+        CompletableFuture<String> duplicate = loader.load(1L);
+        loader.dispatch();
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(List.of(1L, 2L), batches.get(0));
+        assertEquals("user-1", first.join());
+        assertEquals("user-2", second.join());
+        assertSame(first, duplicate);
+        assertEquals(1, loader.getBatchCount());
+    }
+
+    @Test
+    void testCachedKeysAreNotReloaded() {
+        // Given
+        List<Collection<Long>> batches = new ArrayList<>();
+        DataLoader<Long, String> loader = new DataLoader<>(ids -> {
+            batches.add(List.copyOf(ids));
+            return ids.stream().collect(Collectors.toMap(id -> id, id -> "product-" + id));
+        });
+        loader.load(1L);
+        loader.dispatch();
+
+        // When
+        CompletableFuture<String> cached = loader.load(1L);
+        CompletableFuture<String> fresh = loader.load(3L);
+        loader.dispatch();
+
+        // Then
+        assertEquals("product-1", cached.join());
+        assertEquals("product-3", fresh.join());
+        assertEquals(List.of(3L), batches.get(1));
+    }
+
+    @Test
+    void testMissingKeysResolveToNullAndFailuresPropagate() {
+        // Given
+        DataLoader<Long, String> partial = new DataLoader<>(ids -> Map.of(1L, "found"));
+        DataLoader<Long, String> failing = new DataLoader<>(ids -> {
+            throw new IllegalStateException("db down");
+        });
+
+        // When
+        CompletableFuture<String> missing = partial.load(42L);
+        CompletableFuture<String> failed = failing.load(1L);
+        partial.dispatch();
+        failing.dispatch();
+
+        // Then
+        assertNull(missing.join());
+        assertTrue(failed.isCompletedExceptionally());
+    }
+}
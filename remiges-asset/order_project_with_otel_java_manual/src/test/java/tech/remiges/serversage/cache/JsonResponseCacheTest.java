@@ -0,0 +1,79 @@
+package tech.remiges.serversage.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import tech.remiges.serversage.model.VersionStamp;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonResponseCacheTest {
+
+    private static final VersionStamp V1 = new VersionStamp(2, LocalDateTime.of(2025, 1, 15, 10, 30));
+    private static final VersionStamp V2 = new VersionStamp(3, LocalDateTime.of(2025, 1, 15, 10, 31));
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Test
+    void testSameVersionIsServedFromBytes() {
+        // Given
+        JsonResponseCache cache = new JsonResponseCache(new ObjectMapper(), true, 64, 1024);
+
+        // When
+        byte[] first = cache.get("products", "", V1, () -> body("laptop", "mouse"));
+        byte[] second = cache.get("products", "", V1, () -> body("laptop", "mouse"));
+        byte[] otherParams = cache.get("products", "category=books", V1, () -> body("novel"));
+        byte[] changed = cache.get("products", "", V2, () -> body("laptop", "mouse", "chair"));
+
+        // Then
+        assertEquals("[\"laptop\",\"mouse\"]", new String(first, StandardCharsets.UTF_8));
+        assertSame(first, second);
+        assertEquals("[\"novel\"]", new String(otherParams, StandardCharsets.UTF_8));
+        assertEquals("[\"laptop\",\"mouse\",\"chair\"]", new String(changed, StandardCharsets.UTF_8));
+        assertEquals(3, builds.get());
+        assertEquals(2, cache.size(), "the new version replaced the old entry");
+    }
+
+    @Test
+    void testEvictionAndLimits() {
+        // Given
+        JsonResponseCache cache = new JsonResponseCache(new ObjectMapper(), true, 2, 16);
+        cache.get("products", "", V1, () -> body("laptop"));
+        cache.get("users", "", V1, () -> body("alice"));
+
+        // When
+        cache.get("orders", "", V1, () -> body("order"));
+        cache.get("users", "", V2, () -> body("alice", "bob", "carol", "dave"));
+        cache.evict("products");
+        cache.get("products", "", V1, () -> body("laptop"));
+
+        // Then
+        assertEquals(1, cache.size(), "full cache skipped orders, oversized users were dropped");
+        assertEquals(5, builds.get());
+        assertEquals("[\"laptop\"]".length(), cache.bytes());
+    }
+
+    @Test
+    void testDisabledCacheStillSerializes() {
+        // Given
+        JsonResponseCache cache = new JsonResponseCache(new ObjectMapper(), false, 64, 1024);
+
+        // When
+        cache.get("products", "", V1, () -> body("laptop"));
+        byte[] json = cache.get("products", "", V1, () -> body("laptop"));
+
+        // Then
+        assertEquals("[\"laptop\"]", new String(json, StandardCharsets.UTF_8));
+        assertEquals(2, builds.get());
+        assertEquals(0, cache.size());
+    }
+
+    private List<String> body(String... items) {
+        builds.incrementAndGet();
+        return List.of(items);
+    }
+}
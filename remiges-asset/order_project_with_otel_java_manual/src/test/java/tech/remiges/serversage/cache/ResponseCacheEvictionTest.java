@@ -0,0 +1,37 @@
+package tech.remiges.serversage.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tech.remiges.serversage.model.VersionStamp;
+import tech.remiges.serversage.service.ProductService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheEvictionTest {
+
+    private static final VersionStamp VERSION = new VersionStamp(1, null);
+
+    @Test
+    void testCacheEvictMethodsDropTheirResponses() {
+        // Given
+        JsonResponseCache cache = new JsonResponseCache(new ObjectMapper(), true, 64, 1024);
+        AspectJProxyFactory factory = new AspectJProxyFactory(mock(ProductService.class));
+        factory.addAspect(new ResponseCacheEviction(cache));
+        ProductService productService = factory.getProxy();
+        cache.get("products", "", VERSION, () -> List.of("laptop"));
+        cache.get("users", "", VERSION, () -> List.of("alice"));
+
+        // When
+        productService.getAllProducts();
+        int afterRead = cache.size();
+        productService.deleteProduct(1L);
+
+        // Then
+        assertEquals(2, afterRead);
+        assertEquals(1, cache.size(), "only the products responses are dropped");
+    }
+}
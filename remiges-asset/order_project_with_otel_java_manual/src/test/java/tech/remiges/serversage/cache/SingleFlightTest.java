@@ -0,0 +1,104 @@
+package tech.remiges.serversage.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void testConcurrentCallsShareOneExecution() throws Exception {
+        // Given
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger coalesced = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        results.add(pool.submit(() -> call("user:1", 0, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            releaseLeader.await();
+            return "alice";
+        }, coalesced)));
+        assertTrue(leaderStarted.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(pool.submit(() -> call("user:1", 0, () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            }, coalesced)));
+        }
+        while (coalesced.get() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        releaseLeader.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("alice", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, coalesced.get());
+        assertEquals(0, singleFlight.size());
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testMicroCacheServesRecentResult() throws Throwable {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger coalesced = new AtomicInteger();
+
+        // When
+        String first = call("product:1", 1000, () -> "laptop-" + loads.incrementAndGet(), coalesced);
+        String second = call("product:1", 1000, () -> "laptop-" + loads.incrementAndGet(), coalesced);
+
+        // Then
+        assertEquals("laptop-1", first);
+        assertEquals("laptop-1", second);
+        assertEquals(1, coalesced.get());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> call("order:1", 1000, () -> {
+                loads.incrementAndGet();
+                throw new IllegalStateException("db down");
+            }, new AtomicInteger()));
+        }
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    private String call(String key, long microCacheMillis, SingleFlight.Loader<String> loader,
+                        AtomicInteger coalesced) throws Exception {
+        try {
+            return singleFlight.execute(key, microCacheMillis, loader, source -> coalesced.incrementAndGet());
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package tech.remiges.serversage.chaos;
+
+import org.junit.jupiter.api.Test;
+import tech.remiges.serversage.exception.CustomExceptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChaosEngineTest {
+
+    private final Random random = new Random(42);
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private ChaosEngine engine(boolean enabled, String operation, ChaosProfile profile) {
+        ChaosProperties properties = new ChaosProperties();
+        properties.setEnabled(enabled);
+        properties.getProfiles().put(operation, profile);
+        return new ChaosEngine(properties, () -> random, sleeps::add);
+    }
+
+    @Test
+    void testProfileResolvesByExactNameThenGroupThenDefault() {
+        // Given
+        ChaosProfile exact = new ChaosProfile();
+        ChaosProfile group = new ChaosProfile();
+        ChaosProfile fallback = new ChaosProfile();
+        ChaosEngine engine = engine(true, "payment.process", exact);
+        engine.putProfile("payment", group);
+
+        // Then
+        assertSame(exact, engine.resolve("payment.process"));
+        assertSame(group, engine.resolve("payment.refund"));
+        assertSame(group, engine.resolve("payment"));
+        assertNull(engine.resolve("inventory.check"), "no default profile yet");
+
+        engine.putProfile("default", fallback);
+        assertSame(fallback, engine.resolve("inventory.check"));
+        assertSame(fallback, engine.resolve(".hidden"), "a leading dot has no group");
+    }
+
+    @Test
+    void testErrorRateIsHonoured() {
+        // Given
+        ChaosEngine engine = engine(true, "inventory", new ChaosProfile(0, 0, 0.25, 0, 0));
+        int calls = 4000;
+
+        // When
+        int failures = 0;
+        for (int i = 0; i < calls; i++) {
+            try {
+                engine.inject("inventory.check");
+            } catch (CustomExceptions.ExternalServiceException e) {
+                failures++;
+            }
+        }
+
+        // Then
+        assertEquals(0.25, failures / (double) calls, 0.03);
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void testLatencyIsDrawnWithinBounds() {
+        // Given
+        ChaosEngine engine = engine(true, "orders", new ChaosProfile(20, 25, 0, 0, 0));
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            engine.inject("orders.create");
+        }
+
+        // Then
+        assertEquals(500, sleeps.size());
+        assertTrue(sleeps.stream().allMatch(millis -> millis >= 20 && millis <= 25));
+        assertTrue(sleeps.contains(20L) && sleeps.contains(25L), "both bounds are inclusive");
+    }
+
+    @Test
+    void testTimeoutWaitsThenFails() {
+        // Given
+        ChaosEngine engine = engine(true, "payment", new ChaosProfile(0, 0, 0, 1.0, 6000));
+
+        // When / Then
+        assertThrows(CustomExceptions.TimeoutException.class, () -> engine.inject("payment.process"));
+        assertEquals(List.of(6000L), sleeps);
+    }
+
+    @Test
+    void testDisabledEngineInjectsNothing() {
+        // Given
+        ChaosEngine engine = engine(false, "default", new ChaosProfile(10, 10, 1.0, 1.0, 100));
+
+        // When
+        engine.inject("users.getAllUsers");
+
+        // Then
+        assertTrue(sleeps.isEmpty());
+        engine.setEnabled(true);
+        assertThrows(CustomExceptions.ExternalServiceException.class, () -> engine.inject("users.getAllUsers"));
+    }
+}
@@ -0,0 +1,82 @@
+package tech.remiges.serversage.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.semconv.SemanticAttributes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import tech.remiges.serversage.observability.QueryBudget;
+import tech.remiges.serversage.observability.QueryBudgetProperties;
+import tech.remiges.serversage.repository.ProductRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots Hibernate with {@link JpaConfig} to check that repository calls reach the
+ * tracing DataSource rather than the raw pool.
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import({JpaConfig.class, DatabaseTracingConfig.class, JpaConfigTest.Telemetry.class})
+class JpaConfigTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+    }
+
+    @Test
+    void testRepositoryCallProducesClientDatabaseSpan() {
+        // When
+        productRepository.findById(42L);
+
+        // Then
+        List<SpanData> selects = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getKind() == SpanKind.CLIENT)
+                .filter(span -> "SELECT".equals(span.getAttributes().get(SemanticAttributes.DB_OPERATION)))
+                .toList();
+        assertEquals(1, selects.size());
+        assertEquals("SELECT products", selects.get(0).getName());
+        assertEquals("h2", selects.get(0).getAttributes().get(SemanticAttributes.DB_SYSTEM));
+    }
+
+    @TestConfiguration
+    static class Telemetry {
+
+        @Bean
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        @Bean
+        OpenTelemetry openTelemetry(InMemorySpanExporter spanExporter) {
+            return OpenTelemetrySdk.builder()
+                    .setTracerProvider(SdkTracerProvider.builder()
+                            .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                            .build())
+                    .build();
+        }
+
+        @Bean
+        QueryBudget queryBudget() {
+            return new QueryBudget(new QueryBudgetProperties());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package tech.remiges.serversage.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import tech.remiges.serversage.alert.AlertNotification;
+import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.observability.ObservabilityAspect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServersageRuntimeHintsTest {
+
+    @Test
+    void testHintsCoverReflectionProxiesAndServiceLookups() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new ServersageRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.UserDTO.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AlertNotification.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ObservabilityAspect.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PreparedStatement.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.opentelemetry.exporter.sender.okhttp.internal.OkHttpGrpcSenderProvider"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.opentelemetry.exporter.internal.grpc.GrpcSenderProvider").test(hints));
+    }
+}
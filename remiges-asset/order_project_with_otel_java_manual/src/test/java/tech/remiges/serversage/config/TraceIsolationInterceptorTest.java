@@ -0,0 +1,85 @@
+package tech.remiges.serversage.config;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.remiges.serversage.observability.BodyCapture;
+import tech.remiges.serversage.observability.ObservabilityService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TraceIsolationInterceptorTest {
+
+    private InMemorySpanExporter spanExporter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                        .build())
+                .build();
+        TraceIsolationInterceptor interceptor = new TraceIsolationInterceptor(
+                new ObservabilityService(openTelemetry), new BodyCapture(1024, 1024, false));
+        mockMvc = MockMvcBuilders.standaloneSetup(new AsyncController())
+                .addInterceptors(interceptor)
+                .build();
+    }
+
+    @Test
+    void testAsyncRequestEndsOneRootSpan() throws Exception {
+        // Given
+        MvcResult started = mockMvc.perform(get("/api/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then - the container thread is released without ending the span
+        assertFalse(Span.current().getSpanContext().isValid());
+        assertNull(MDC.get("traceId"));
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+
+        // When
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        // Then
+        List<SpanData> serverSpans = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER)
+                .toList();
+        assertEquals(1, serverSpans.size());
+        assertFalse(serverSpans.get(0).getParentSpanContext().isValid());
+        assertEquals(200L, serverSpans.get(0).getAttributes().get(AttributeKey.longKey("http.status_code")));
+        assertFalse(Span.current().getSpanContext().isValid());
+        assertNull(MDC.get("traceId"));
+    }
+
+    @RestController
+    static class AsyncController {
+
+        @GetMapping("/api/async")
+        CompletableFuture<String> async() {
+            return CompletableFuture.completedFuture("done");
+        }
+    }
+}
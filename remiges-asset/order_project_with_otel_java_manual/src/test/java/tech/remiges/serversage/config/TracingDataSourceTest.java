@@ -0,0 +1,114 @@
+package tech.remiges.serversage.config;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.semconv.SemanticAttributes;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingDataSourceTest {
+
+    private InMemorySpanExporter spanExporter;
+    private TracingDataSource tracingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tracing;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS orders (id BIGINT PRIMARY KEY, status VARCHAR(20))");
+            statement.execute("DELETE FROM orders");
+        }
+
+        spanExporter = InMemorySpanExporter.create();
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        tracingDataSource = new TracingDataSource(dataSource, tracerProvider.get("test"));
+    }
+
+    @Test
+    void testOneSpanPerExecutedStatementWithRealSql() throws SQLException {
+        // Given
+        String select = "select o1_0.id,o1_0.status from orders o1_0 where o1_0.status=?";
+
+        // When
+        Connection connection = tracingDataSource.getConnection();
+        try (PreparedStatement statement = connection.prepareStatement(select)) {
+            for (int i = 0; i < 3; i++) {
+                statement.setString(1, "PENDING");
+                try (ResultSet ignored = statement.executeQuery()) {
+                    // rows are not read; only execution is traced
+                }
+            }
+        }
+        connection.close();
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(3, spans.size());
+        SpanData span = spans.get(0);
+        assertEquals("SELECT orders", span.getName());
+        assertEquals(select, span.getAttributes().get(SemanticAttributes.DB_STATEMENT));
+        assertEquals("orders", span.getAttributes().get(SemanticAttributes.DB_SQL_TABLE));
+        assertEquals("h2", span.getAttributes().get(SemanticAttributes.DB_SYSTEM));
+    }
+
+    @Test
+    void testBatchIsOneSpanAndFailuresAreRecorded() throws SQLException {
+        // When
+        Connection connection = tracingDataSource.getConnection();
+        try (PreparedStatement insert = connection.prepareStatement("insert into orders (status,id) values (?,?)")) {
+            for (long id = 1; id <= 5; id++) {
+                insert.setString(1, "PENDING");
+                insert.setLong(2, id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class, () -> statement.executeUpdate("update missing set status = 'X'"));
+        }
+        connection.close();
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+        assertEquals("INSERT orders", spans.get(0).getName());
+        assertEquals(5L, spans.get(0).getAttributes().get(AttributeKey.longKey("db.operation.batch.size")));
+        assertEquals("UPDATE missing", spans.get(1).getName());
+        assertEquals(StatusCode.ERROR, spans.get(1).getStatus().getStatusCode());
+    }
+
+    @Test
+    void testSqlShapeParsing() {
+        TracingDataSource.SqlShape delete = TracingDataSource.parse("delete from users where id=?");
+        assertEquals("DELETE users", delete.spanName());
+        assertEquals("users", delete.table());
+        TracingDataSource.SqlShape select = TracingDataSource.parse("\n select p.id from \"public\".\"products\" p");
+        assertEquals("SELECT public.products", select.spanName());
+        TracingDataSource.SqlShape commented = TracingDataSource.parse("/* <criteria> */ select u1_0.id from users u1_0");
+        assertEquals("SELECT users", commented.spanName());
+        assertEquals("select u1_0.id from users u1_0", commented.fingerprint());
+        TracingDataSource.SqlShape commit = TracingDataSource.parse("commit");
+        assertEquals("COMMIT", commit.spanName());
+        assertNull(commit.table());
+        assertEquals("select * from t where name = ? and x1 = ? and v in (?, ?)",
+                TracingDataSource.fingerprint("select  *\n from t where name = 'o''brien' and x1 = 42 and v in (1.5, 7)"));
+    }
+}
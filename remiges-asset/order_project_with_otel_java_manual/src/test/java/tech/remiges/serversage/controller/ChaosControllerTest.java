@@ -0,0 +1,67 @@
+package tech.remiges.serversage.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tech.remiges.serversage.chaos.ChaosEngine;
+import tech.remiges.serversage.exception.CustomExceptions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ChaosControllerTest {
+
+    private ChaosEngine chaosEngine;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        chaosEngine = ChaosEngine.disabled();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ChaosController(chaosEngine)).build();
+    }
+
+    @Test
+    void testProfilesAreReconfiguredAtRuntime() throws Exception {
+        // When
+        mockMvc.perform(put("/api/chaos/profiles/payment.process")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"errorRate\": 1.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorRate").value(1.0));
+        mockMvc.perform(put("/api/chaos/enabled").param("enabled", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true));
+
+        // Then
+        mockMvc.perform(get("/api/chaos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.profiles['payment.process'].errorRate").value(1.0));
+        assertThrows(CustomExceptions.ExternalServiceException.class, () -> chaosEngine.inject("payment.process"));
+
+        mockMvc.perform(delete("/api/chaos/profiles/payment.process"))
+                .andExpect(status().isNoContent());
+        chaosEngine.inject("payment.process");
+        mockMvc.perform(delete("/api/chaos/profiles/payment.process"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testOutOfRangeProfileIsRejected() throws Exception {
+        // When
+        mockMvc.perform(put("/api/chaos/profiles/payment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"errorRate\": 1.5}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/chaos/profiles/payment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minLatencyMs\": -1}"))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        assertTrue(chaosEngine.getProfiles().isEmpty());
+    }
+}
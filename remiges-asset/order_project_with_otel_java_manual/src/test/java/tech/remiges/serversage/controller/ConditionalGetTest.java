@@ -0,0 +1,75 @@
+package tech.remiges.serversage.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import tech.remiges.serversage.model.VersionStamp;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetTest {
+
+    private static final VersionStamp VERSION = new VersionStamp(5, LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_456_000));
+
+    @Test
+    void testMatchingEtagAnswersNotModifiedWithoutLoadingBody() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        ResponseEntity<List<String>> first = ConditionalGet.ifNoneMatch(request("GET", null, new MockHttpServletResponse()),
+                VERSION, () -> load(loads));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ResponseEntity<List<String>> second = ConditionalGet.ifNoneMatch(
+                request("GET", first.getHeaders().getETag(), response), VERSION, () -> load(loads));
+
+        // Then
+        assertEquals(200, first.getStatusCode().value());
+        assertEquals(List.of("a", "b"), first.getBody());
+        assertTrue(first.getHeaders().getETag().startsWith("W/\"5-"));
+        assertNull(second);
+        assertEquals(304, response.getStatus());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testChangedVersionAnswersFullBody() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        String stale = VERSION.etag();
+        VersionStamp added = new VersionStamp(6, VERSION.lastModified());
+        VersionStamp updated = new VersionStamp(5, VERSION.lastModified().plusNanos(1_000));
+
+        // When
+        ResponseEntity<List<String>> afterInsert = ConditionalGet.ifNoneMatch(
+                request("GET", stale, new MockHttpServletResponse()), added, () -> load(loads));
+        ResponseEntity<List<String>> afterUpdate = ConditionalGet.ifNoneMatch(
+                request("GET", stale, new MockHttpServletResponse()), updated, () -> load(loads));
+
+        // Then
+        assertEquals(200, afterInsert.getStatusCode().value());
+        assertEquals(200, afterUpdate.getStatusCode().value());
+        assertNotEquals(afterInsert.getHeaders().getETag(), afterUpdate.getHeaders().getETag());
+        assertEquals(2, loads.get());
+        assertEquals("W/\"0-0\"", new VersionStamp(0, null).etag());
+    }
+
+    private static ServletWebRequest request(String method, String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/products");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private static List<String> load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of("a", "b");
+    }
+}
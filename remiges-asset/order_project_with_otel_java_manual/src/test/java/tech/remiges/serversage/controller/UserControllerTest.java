@@ -1,13 +1,23 @@
 package tech.remiges.serversage.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.OpenTelemetry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import tech.remiges.serversage.cache.JsonResponseCache;
 import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.VersionStamp;
+import tech.remiges.serversage.observability.BodyCapture;
+import tech.remiges.serversage.observability.ObservabilityService;
+import tech.remiges.serversage.observability.QueryBudget;
+import tech.remiges.serversage.observability.QueryBudgetProperties;
 import tech.remiges.serversage.service.UserService;
 
 import java.util.Arrays;
@@ -22,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import({BodyCapture.class, JsonResponseCache.class, UserControllerTest.Telemetry.class})
 class UserControllerTest {
 
     @Autowired
@@ -41,6 +52,7 @@ class UserControllerTest {
         User user2 = new User("Jane Smith", "jane@example.com", "USER");
         user2.setId(2L);
 
+        when(userService.getUsersVersion()).thenReturn(new VersionStamp(2, null));
         when(userService.getAllUsers()).thenReturn(Arrays.asList(user1, user2));
 
         // When & Then
@@ -206,4 +218,24 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name").value("John Doe"))
                 .andExpect(jsonPath("$.accountStatus").value("ACTIVE"));
     }
+
+    /** The web layer's interceptors, filter and exception handler, with no-op telemetry. */
+    @TestConfiguration
+    static class Telemetry {
+
+        @Bean
+        OpenTelemetry openTelemetry() {
+            return OpenTelemetry.noop();
+        }
+
+        @Bean
+        ObservabilityService observabilityService(OpenTelemetry openTelemetry) {
+            return new ObservabilityService(openTelemetry);
+        }
+
+        @Bean
+        QueryBudget queryBudget() {
+            return new QueryBudget(new QueryBudgetProperties());
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package tech.remiges.serversage.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import tech.remiges.serversage.observability.ErrorLedger;
+import tech.remiges.serversage.observability.ObservabilityService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GlobalExceptionHandlerTest {
+
+    private ObservabilityService observabilityService;
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+
+    @BeforeEach
+    void setUp() {
+        observabilityService = mock(ObservabilityService.class);
+        when(observabilityService.getErrorLedger()).thenReturn(new ErrorLedger());
+        when(observabilityService.claimError(any(), anyString())).thenReturn(true);
+        handler = new GlobalExceptionHandler(observabilityService);
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/users/42"));
+    }
+
+    @Test
+    void testBusinessExceptionsAreStacklessAndCoded() {
+        // When
+        CustomExceptions.UserNotFoundException notFound = new CustomExceptions.UserNotFoundException("User not found with id: 42");
+        CustomExceptions.DatabaseConnectionException database = new CustomExceptions.DatabaseConnectionException("Connection refused");
+
+        // Then
+        assertEquals(0, notFound.getStackTrace().length);
+        assertEquals("USER_NOT_FOUND", notFound.getCode());
+        assertTrue(database.getStackTrace().length > 0, "infrastructure failures keep their stack");
+        assertEquals("DATABASE_ERROR", database.getCode());
+    }
+
+    @Test
+    void testHandlerRecordsEachErrorOnce() {
+        // When
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> notFound = handler.handleUserNotFoundException(
+                new CustomExceptions.UserNotFoundException("User not found with id: 42"), request);
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> database = handler.handleDatabaseConnectionException(
+                new CustomExceptions.DatabaseConnectionException("Connection refused"), request);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertEquals("USER_NOT_FOUND", notFound.getBody().error());
+        assertEquals("DATABASE_ERROR", database.getBody().error());
+        verify(observabilityService).claimError(any(CustomExceptions.UserNotFoundException.class), eq("USER_NOT_FOUND"));
+        verify(observabilityService).claimError(any(CustomExceptions.DatabaseConnectionException.class), eq("DATABASE_ERROR"));
+        verify(observabilityService, never()).recordError(anyString(), anyString());
+        verify(observabilityService, never()).recordError(anyString(), anyString(), anyString(), any(Exception.class));
+        verify(observabilityService, never()).logError(anyString(), any(Exception.class), any());
+    }
+}
@@ -0,0 +1,257 @@
+package tech.remiges.serversage.nativeimage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Boots the native binary, and the JVM build for comparison, on an in-memory H2 database
+ * and runs the main user, product and order flows against each. Time to ready and
+ * resident memory are written to {@code smoke.report-dir/comparison.md}.
+ *
+ * Run through the native profile ({@code mvn -Pnative verify}), which builds both.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NativeSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private static final List<String> H2_ARGS = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:smoke;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--spring.sql.init.mode=never",
+            "--otel.exporter.spool.enabled=false",
+            "--otel.exporter.otlp.deferred=true");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Path reportDir = Path.of(System.getProperty("smoke.report-dir", "target/native-smoke"));
+    private final Map<String, Measurement> measurements = new LinkedHashMap<>();
+
+    record Measurement(long readyMillis, long readyRssKb, long afterFlowsRssKb) {
+    }
+
+    @Test
+    void nativeBinaryServesMainFlows() throws Exception {
+        // Given
+        assumeFalse(Boolean.getBoolean("smoke.skip-native"), "native build skipped");
+        Path binary = Path.of(System.getProperty("smoke.native-binary", "target/serversage"));
+        assertTrue(Files.isExecutable(binary), "native binary not built: " + binary);
+
+        // When / Then
+        measurements.put("native", boot("native", List.of(binary.toAbsolutePath().toString())));
+    }
+
+    @Test
+    void jvmBuildServesMainFlows() throws Exception {
+        // Given
+        Path jar = Path.of(System.getProperty("smoke.jvm-jar", "target/serversage-0.0.1-SNAPSHOT-exec.jar"));
+        assertTrue(Files.isRegularFile(jar), "JVM build not packaged: " + jar);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        // When / Then
+        measurements.put("jvm", boot("jvm", List.of(java, "-jar", jar.toAbsolutePath().toString())));
+    }
+
+    @AfterAll
+    void writeComparison() throws IOException {
+        StringBuilder report = new StringBuilder()
+                .append("| build | time to ready (ms) | RSS when ready (MiB) | RSS after flows (MiB) |\n")
+                .append("|---|---|---|---|\n");
+        measurements.forEach((build, m) -> report.append(String.format("| %s | %d | %s | %s |%n",
+                build, m.readyMillis(), mebibytes(m.readyRssKb()), mebibytes(m.afterFlowsRssKb()))));
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("comparison.md"), report);
+        System.out.print(report);
+    }
+
+    private Measurement boot(String build, List<String> command) throws Exception {
+        int port = freePort();
+        Path workDir = Files.createDirectories(reportDir.resolve(build));
+        List<String> arguments = new ArrayList<>(command);
+        arguments.addAll(H2_ARGS);
+        arguments.add("--server.port=" + port);
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("console.log").toFile())
+                .start();
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            awaitReady(process, base, workDir.resolve("console.log"));
+            long readyMillis = (System.nanoTime() - started) / 1_000_000;
+            long readyRss = rssKb(process.pid());
+
+            userFlow(base);
+            productFlow(base);
+            orderFlow(base);
+            assertEquals(200, get(base, "/api-docs").statusCode(), "springdoc");
+
+            return new Measurement(readyMillis, readyRss, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void userFlow(URI base) throws Exception {
+        HttpResponse<String> created = post(base, "/api/users",
+                Map.of("name", "Smoke User", "email", "smoke@test.com", "role", "USER"));
+        assertEquals(201, created.statusCode(), created.body());
+        long id = json(created).path("id").asLong();
+
+        HttpResponse<String> found = get(base, "/api/users/" + id);
+        assertEquals(200, found.statusCode());
+        assertEquals("smoke@test.com", json(found).path("email").asText());
+
+        HttpResponse<String> promoted = post(base, "/api/users/" + id + "/change-role?role=ADMIN", null);
+        assertEquals(200, promoted.statusCode(), promoted.body());
+        assertEquals("ADMIN", json(promoted).path("role").asText());
+
+        assertEquals(200, get(base, "/api/users").statusCode());
+        assertEquals(404, get(base, "/api/users/999999").statusCode());
+
+        // Error bodies come from GlobalExceptionHandler
+        HttpResponse<String> rejected = post(base, "/api/users/" + id + "/change-role?role=SUPER_ADMIN", null);
+        assertEquals(422, rejected.statusCode());
+        assertEquals("BUSINESS_LOGIC_ERROR", json(rejected).path("error").asText());
+    }
+
+    private void productFlow(URI base) throws Exception {
+        HttpResponse<String> created = post(base, "/api/products", Map.of("name", "Smoke Laptop",
+                "description", "Native smoke test", "price", 999.99, "stockQuantity", 10, "category", "electronics"));
+        assertEquals(201, created.statusCode(), created.body());
+        long id = json(created).path("id").asLong();
+
+        HttpResponse<String> restocked = send(base, "/api/products/" + id + "/stock?quantity=5", "PATCH", null);
+        assertEquals(200, restocked.statusCode(), restocked.body());
+
+        HttpResponse<String> found = get(base, "/api/products/" + id);
+        assertEquals(200, found.statusCode());
+        assertEquals(15, json(found).path("stockQuantity").asInt());
+        assertEquals(200, get(base, "/api/products/category/electronics").statusCode());
+        assertEquals(200, get(base, "/api/products").statusCode());
+    }
+
+    private void orderFlow(URI base) throws Exception {
+        long userId = json(post(base, "/api/users",
+                Map.of("name", "Smoke Buyer", "email", "buyer@test.com", "role", "USER"))).path("id").asLong();
+        long productId = json(post(base, "/api/products", Map.of("name", "Smoke Mouse",
+                "description", "Native smoke test", "price", 20.00, "stockQuantity", 10, "category", "electronics")))
+                .path("id").asLong();
+
+        HttpResponse<String> created = post(base, "/api/orders",
+                Map.of("userId", userId, "productId", productId, "quantity", 2));
+        assertEquals(201, created.statusCode(), created.body());
+        long id = json(created).path("id").asLong();
+
+        HttpResponse<String> confirmed = send(base, "/api/orders/" + id + "/status?status=CONFIRMED", "PATCH", null);
+        assertEquals(200, confirmed.statusCode(), confirmed.body());
+        assertEquals("CONFIRMED", json(confirmed).path("status").asText());
+
+        assertEquals(200, get(base, "/api/orders/" + id).statusCode());
+        assertEquals(200, get(base, "/api/orders/user/" + userId).statusCode());
+        assertEquals(200, get(base, "/api/orders").statusCode());
+    }
+
+    private void awaitReady(Process process, URI base, Path console) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                fail("exited with " + process.exitValue() + " before becoming ready:\n" + tail(console));
+            }
+            try {
+                if (get(base, "/actuator/health").statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(20);
+        }
+        fail("not ready after " + STARTUP_TIMEOUT + ":\n" + tail(console));
+    }
+
+    private HttpResponse<String> get(URI base, String path) throws IOException, InterruptedException {
+        return send(base, path, "GET", null);
+    }
+
+    private HttpResponse<String> post(URI base, String path, Object body) throws IOException, InterruptedException {
+        return send(base, path, "POST", body);
+    }
+
+    private HttpResponse<String> send(URI base, String path, String method, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body));
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        return mapper.readTree(response.body());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /** Resident set size from /proc, or -1 where that is not available. */
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux
+        }
+        return -1;
+    }
+
+    private static String mebibytes(long kb) {
+        return kb < 0 ? "n/a" : Long.toString(kb / 1024);
+    }
+
+    private static String tail(Path console) throws IOException {
+        List<String> lines = Files.exists(console) ? Files.readAllLines(console) : List.of();
+        return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+    }
+}
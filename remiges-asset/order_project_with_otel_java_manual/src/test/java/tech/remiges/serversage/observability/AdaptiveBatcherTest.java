@@ -0,0 +1,127 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBatcherTest {
+
+    private final List<List<Integer>> exported = new CopyOnWriteArrayList<>();
+    private AdaptiveBatcher<Integer> batcher;
+
+    private AdaptiveBatcher<Integer> batcher(int queueSize, Function<List<Integer>, CompletableResultCode> exporter) {
+        AdaptiveBatcher.Settings settings = new AdaptiveBatcher.Settings()
+                .setQueueSize(queueSize)
+                .setInitialBatchSize(8)
+                .setMinBatchSize(2)
+                .setMaxBatchSize(32)
+                .setInitialDelayMillis(60_000)
+                .setMinDelayMillis(100)
+                .setMaxDelayMillis(60_000)
+                .setTargetExportLatencyMillis(50);
+        batcher = new AdaptiveBatcher<>("test", exporter, settings, MeterProvider.noop());
+        return batcher;
+    }
+
+    private CompletableResultCode record(List<Integer> batch) {
+        exported.add(List.copyOf(batch));
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void testFullBatchIsExportedWithoutWaitingForDelay() throws InterruptedException {
+        // Given
+        AdaptiveBatcher<Integer> batcher = batcher(64, this::record);
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            batcher.add(i);
+        }
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (exported.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), exported.get(0));
+    }
+
+    @Test
+    void testBacklogGrowsBatchAndShortensDelay() {
+        // Given
+        AdaptiveBatcher<Integer> batcher = batcher(64, this::record);
+
+        // When
+        batcher.adapt(48, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // Then
+        assertEquals(16, batcher.batchSize());
+        assertEquals(30_000, batcher.delayMillis());
+    }
+
+    @Test
+    void testSlowExportShrinksBatchAndIdleQueueRelaxes() {
+        // Given
+        AdaptiveBatcher<Integer> batcher = batcher(64, this::record);
+
+        // When
+        batcher.adapt(20, TimeUnit.MILLISECONDS.toNanos(200));
+        int afterSlowExport = batcher.batchSize();
+        batcher.adapt(0, 0);
+
+        // Then
+        assertEquals(4, afterSlowExport);
+        assertEquals(3, batcher.batchSize());
+        assertEquals(60_000, batcher.delayMillis());
+    }
+
+    @Test
+    void testFullQueueDropsAndShutdownDrainsRest() throws InterruptedException {
+        // Given
+        CountDownLatch exporting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AdaptiveBatcher<Integer> batcher = batcher(4, batch -> {
+            exporting.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return record(batch);
+        });
+        for (int i = 0; i < 4; i++) {
+            assertTrue(batcher.add(i));
+        }
+        assertTrue(exporting.await(5, TimeUnit.SECONDS));
+
+        // When
+        int accepted = 0;
+        for (int i = 0; i < 6; i++) {
+            if (batcher.add(100 + i)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+        CompletableResultCode drained = batcher.shutdown();
+
+        // Then
+        assertEquals(4, accepted);
+        assertTrue(drained.join(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(0, batcher.queueDepth());
+        assertEquals(8, exported.stream().mapToInt(List::size).sum());
+    }
+}
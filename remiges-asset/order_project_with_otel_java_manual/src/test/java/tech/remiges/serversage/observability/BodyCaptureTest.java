@@ -0,0 +1,67 @@
+package tech.remiges.serversage.observability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyCaptureTest {
+
+    @Test
+    void testPrefixNeverSplitsMultiByteCharacter() throws IOException {
+        // Given
+        BodyCapture bodyCapture = new BodyCapture(1000, 5, false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ContentCachingResponseWrapper response = new ContentCachingResponseWrapper(new MockHttpServletResponse());
+        response.getOutputStream().write("abcd€fgh".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        String body = bodyCapture.responseBody(request, response);
+
+        // Then
+        assertEquals("abcd" + BodyCapture.TRUNCATED_SUFFIX, body);
+        assertEquals(10, response.getContentSize());
+    }
+
+    @Test
+    void testHashModeReplacesBodyWithDigest() throws IOException {
+        // Given
+        BodyCapture bodyCapture = new BodyCapture(4, 4, true);
+        MockHttpServletRequest mock = new MockHttpServletRequest("POST", "/api/users");
+        mock.setContent("{\"name\":\"secret\"}".getBytes(StandardCharsets.UTF_8));
+        ContentCachingRequestWrapper request = new ContentCachingRequestWrapper(mock);
+        request.getInputStream().readAllBytes();
+
+        // When
+        String body = bodyCapture.requestBody(request);
+
+        // Then
+        assertTrue(body.startsWith("sha256:"));
+        assertTrue(body.endsWith("(17 bytes)"));
+        assertFalse(body.contains("secret"));
+    }
+
+    @Test
+    void testBodyIsDecodedOnceAndShared() throws IOException {
+        // Given
+        BodyCapture bodyCapture = new BodyCapture(1000, 500, false);
+        MockHttpServletRequest mock = new MockHttpServletRequest("PUT", "/api/users/1");
+        mock.setContent("{\"name\":\"Ada\"}".getBytes(StandardCharsets.UTF_8));
+        ContentCachingRequestWrapper request = new ContentCachingRequestWrapper(mock);
+        request.getInputStream().readAllBytes();
+
+        // When
+        String fromFilter = bodyCapture.requestBody(request);
+        String fromInterceptor = bodyCapture.requestBody(mock);
+
+        // Then
+        assertEquals("{\"name\":\"Ada\"}", fromFilter);
+        assertSame(fromFilter, fromInterceptor);
+    }
+}
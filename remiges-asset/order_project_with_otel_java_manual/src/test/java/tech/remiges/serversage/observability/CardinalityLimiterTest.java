@@ -0,0 +1,102 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardinalityLimiterTest {
+
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+
+    @Test
+    void testCombinationsBeyondLimitGoToOverflow() {
+        // Given
+        CardinalityLimiter limiter = new CardinalityLimiter(100, Map.of("requests", 2));
+
+        // When
+        Attributes first = limiter.limit("requests", Attributes.of(ROUTE, "/a"));
+        Attributes second = limiter.limit("requests", Attributes.of(ROUTE, "/b"));
+        Attributes third = limiter.limit("requests", Attributes.of(ROUTE, "/c"));
+        Attributes repeated = limiter.limit("requests", Attributes.of(ROUTE, "/a"));
+
+        // Then
+        assertEquals(Attributes.of(ROUTE, "/a"), first);
+        assertEquals(Attributes.of(ROUTE, "/b"), second);
+        assertEquals(CardinalityLimiter.OVERFLOW, third);
+        assertEquals(Attributes.of(ROUTE, "/a"), repeated);
+        assertEquals(2, limiter.combinations("requests"));
+        assertEquals(1, limiter.rejected("requests"));
+        assertEquals(0, limiter.rejected("other"));
+    }
+
+    @Test
+    void testLimitHoldsUnderConcurrentAbuse() throws InterruptedException {
+        // Given
+        CardinalityLimiter limiter = new CardinalityLimiter(50, Map.of());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    limiter.limit("errors", Attributes.of(ROUTE, "/users/" + thread + "-" + i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(50, limiter.combinations("errors"));
+        assertEquals(8000 - 50, limiter.rejected("errors"));
+    }
+
+    @Test
+    void testObservabilityServiceRecordsOverflowAndRejections() {
+        // Given
+        InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+        SdkMeterProvider meterProvider = SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+        CardinalityLimiter limiter = new CardinalityLimiter(100, Map.of("serversage_errors_total", 1));
+        limiter.bindMetrics(meterProvider.get("serversage.telemetry"));
+        ObservabilityService observabilityService = new ObservabilityService(
+                OpenTelemetrySdk.builder().setMeterProvider(meterProvider).build(),
+                new TelemetryOverheadMonitor(), limiter);
+
+        // When
+        observabilityService.recordError("IllegalStateException", "first");
+        observabilityService.recordError("Random_" + System.nanoTime(), "second");
+        observabilityService.recordError("Random_" + System.nanoTime(), "third");
+        List<MetricData> metrics = List.copyOf(metricReader.collectAllMetrics());
+
+        // Then
+        Set<Attributes> errorSeries = metrics.stream()
+                .filter(metric -> metric.getName().equals("serversage_errors_total"))
+                .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+                .map(LongPointData::getAttributes)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(Attributes.of(AttributeKey.stringKey("error.type"), "IllegalStateException"),
+                CardinalityLimiter.OVERFLOW), errorSeries);
+        long rejected = metrics.stream()
+                .filter(metric -> metric.getName().equals("serversage_metric_cardinality_rejected_total"))
+                .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+                .mapToLong(LongPointData::getValue)
+                .sum();
+        assertEquals(2, rejected);
+    }
+}
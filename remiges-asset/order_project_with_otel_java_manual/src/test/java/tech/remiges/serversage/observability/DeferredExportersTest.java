@@ -0,0 +1,72 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricExporter;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredExportersTest {
+
+    @Test
+    void testDelegateIsBuiltByFirstExport() {
+        // Given
+        AtomicInteger built = new AtomicInteger();
+        InMemorySpanExporter delegate = InMemorySpanExporter.create();
+        SpanExporter exporter = DeferredExporters.spans(() -> {
+            built.incrementAndGet();
+            return delegate;
+        });
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        // When
+        int builtAtStartup = built.get();
+        tracer.spanBuilder("first").startSpan().end();
+        tracer.spanBuilder("second").startSpan().end();
+
+        // Then
+        assertEquals(0, builtAtStartup);
+        assertEquals(1, built.get());
+        assertEquals(2, delegate.getFinishedSpanItems().size());
+        tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testUnusedExporterIsNeverBuilt() {
+        // Given
+        AtomicInteger built = new AtomicInteger();
+        MetricExporter exporter = DeferredExporters.metrics(() -> {
+            built.incrementAndGet();
+            return InMemoryMetricExporter.create();
+        });
+
+        // When
+        PeriodicMetricReader reader = PeriodicMetricReader.builder(exporter).build();
+        AggregationTemporality temporality = exporter.getAggregationTemporality(InstrumentType.COUNTER);
+        exporter.flush().join(1, TimeUnit.SECONDS);
+        boolean shutdown = reader.shutdown().join(5, TimeUnit.SECONDS).isSuccess();
+
+        // Then
+        assertEquals(AggregationTemporality.CUMULATIVE, temporality);
+        assertTrue(shutdown);
+        assertEquals(0, built.get());
+        assertFalse(exporter.export(List.of()).join(1, TimeUnit.SECONDS).isSuccess(),
+                "no delegate is built after shutdown");
+        assertEquals(0, built.get());
+    }
+}
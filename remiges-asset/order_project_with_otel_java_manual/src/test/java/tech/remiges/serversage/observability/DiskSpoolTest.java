@@ -0,0 +1,204 @@
+package tech.remiges.serversage.observability;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskSpoolTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendPeekAndAck() throws IOException {
+        // Given
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+            append(spool, "first");
+            append(spool, "second");
+
+            // When
+            DiskSpool.Record first = spool.peek();
+            spool.ack(first);
+            DiskSpool.Record second = spool.peek();
+
+            // Then
+            assertEquals("first", text(first));
+            assertEquals("second", text(second));
+            assertEquals(1, spool.pendingRecords());
+        }
+    }
+
+    @Test
+    void testUnackedRecordsSurviveRestart() throws IOException {
+        // Given
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+            append(spool, "acked");
+            append(spool, "pending");
+            spool.ack(spool.peek());
+        }
+
+        // When
+        try (DiskSpool recovered = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+
+            // Then
+            assertEquals(1, recovered.pendingRecords());
+            assertEquals("pending", text(recovered.peek()));
+            append(recovered, "after-restart");
+            assertEquals(2, recovered.pendingRecords());
+        }
+    }
+
+    @Test
+    void testTornRecordIsTruncatedOnRecovery() throws IOException {
+        // Given
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+            append(spool, "intact");
+            append(spool, "torn");
+        }
+        Path segment = segments().get(0);
+        int tornRecordPayload = 8 + 9 + "intact".length() + 9;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), tornRecordPayload);
+        }
+
+        // When
+        try (DiskSpool recovered = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+
+            // Then
+            assertEquals(1, recovered.pendingRecords());
+            assertEquals("intact", text(recovered.peek()));
+        }
+    }
+
+    @Test
+    void testSpoolIsBoundedAndDrainedSegmentsAreDeleted() throws IOException {
+        // Given
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 2)) {
+            String payload = "x".repeat(400);
+
+            // When
+            for (int i = 0; i < 6; i++) {
+                append(spool, payload);
+            }
+
+            // Then
+            assertEquals(2, segments().size());
+            assertTrue(spool.droppedRecords() > 0);
+            assertFalse(spool.append(SEGMENT_BYTES, out -> {}));
+
+            DiskSpool.Record record;
+            while ((record = spool.peek()) != null) {
+                spool.ack(record);
+            }
+            assertEquals(0, spool.pendingRecords());
+            assertEquals(1, segments().size());
+        }
+    }
+
+    @Test
+    void testDirectoryIsLockedWhileOpen() throws IOException {
+        // Given
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+            append(spool, "owned");
+
+            // When / Then
+            assertThrows(IOException.class, () -> new DiskSpool(directory, SEGMENT_BYTES, 4));
+            assertEquals(1, spool.pendingRecords(), "the owner's segments are untouched");
+        }
+        try (DiskSpool reopened = new DiskSpool(directory, SEGMENT_BYTES, 4)) {
+            assertEquals(1, reopened.pendingRecords());
+        }
+    }
+
+    @Test
+    void testReplayUriFallsBackToOtlpHostOnHttpPort() {
+        assertEquals(URI.create("http://otel-collector:4318/v1/traces"),
+                OtlpSpool.replayUri("", "http://otel-collector:4317", "traces"));
+        assertEquals(URI.create("http://localhost:4318/v1/metrics"),
+                OtlpSpool.replayUri(null, "http://localhost:4317/", "metrics"));
+        assertEquals(URI.create("https://collector.example:9999/otlp/v1/logs"),
+                OtlpSpool.replayUri("https://collector.example:9999/otlp/", "http://localhost:4317", "logs"));
+    }
+
+    @Test
+    void testSpooledRequestsAreReplayedWhenCollectorRecovers() throws Exception {
+        // Given
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        HttpServer collector = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        collector.createContext("/v1/traces", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                received.add(body.readAllBytes());
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        collector.start();
+        URI replayUri = URI.create("http://127.0.0.1:" + collector.getAddress().getPort() + "/v1/traces");
+
+        try (OtlpSpool spool = new OtlpSpool("traces", new DiskSpool(directory, 64 * 1024, 4), replayUri, Duration.ofSeconds(2))) {
+            List<SpanData> batch = finishedSpans();
+
+            // When
+            CompletableResultCode result = spool.export(CompletableResultCode::ofFailure,
+                    () -> OtlpRequests.spans(batch));
+            spool.replay();
+
+            // Then
+            assertTrue(result.isSuccess());
+            assertEquals(1, received.size());
+            assertFalse(spool.isOutage());
+        } finally {
+            collector.stop(0);
+        }
+    }
+
+    private static List<SpanData> finishedSpans() {
+        InMemorySpanExporter exporter = InMemorySpanExporter.create();
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        tracerProvider.get("test").spanBuilder("GET /api/users").startSpan().end();
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        tracerProvider.shutdown();
+        return spans;
+    }
+
+    private static void append(DiskSpool spool, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        assertTrue(spool.append(bytes.length, out -> out.write(bytes)));
+    }
+
+    private static String text(DiskSpool.Record record) {
+        return new String(record.payload(), StandardCharsets.UTF_8);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".spool")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tech.remiges.serversage.observability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorLedgerTest {
+
+    private final ErrorLedger ledger = new ErrorLedger();
+
+    @Test
+    void testRequestAttributesToInnermostLayerAndRecordsOnce() {
+        // Given
+        RuntimeException cause = new IllegalStateException("constraint violated");
+        RuntimeException translated = new RuntimeException("duplicate email", cause);
+        ledger.beginRequest();
+
+        // When
+        boolean repositorySees = ledger.observe(cause, "database", "save");
+        boolean serviceSeesCause = ledger.observe(cause, "UserService", "createUser");
+        boolean serviceSeesTranslated = ledger.observe(translated, "UserService", "createUser");
+        boolean handlerClaims = ledger.claim(translated);
+        boolean interceptorClaims = ledger.claim(translated);
+        ErrorLedger.Origin origin = ledger.origin(translated);
+        ledger.endRequest();
+
+        // Then
+        assertTrue(repositorySees);
+        assertFalse(serviceSeesCause);
+        assertTrue(serviceSeesTranslated);
+        assertTrue(handlerClaims);
+        assertFalse(interceptorClaims);
+        assertEquals("database.save", origin.toString(), "attributed to where the root cause surfaced");
+    }
+
+    @Test
+    void testOutsideRequestFirstLayerRecords() {
+        // Given
+        RuntimeException failure = new IllegalStateException("scheduled job failed");
+
+        // When
+        boolean innerSees = ledger.observe(failure, "AnalyticsService", "refresh");
+        boolean innerClaims = ledger.claim(failure);
+        boolean outerSees = ledger.observe(failure, "Scheduler", "run");
+        boolean outerClaims = ledger.claim(failure);
+
+        // Then
+        assertFalse(ledger.inRequest());
+        assertTrue(innerSees);
+        assertTrue(innerClaims);
+        assertFalse(outerSees);
+        assertFalse(outerClaims);
+        assertNull(ledger.origin(failure));
+        assertTrue(ledger.claim(new IllegalStateException("next failure")));
+    }
+}
@@ -0,0 +1,77 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HibernateStatisticsMetricsTest {
+
+    private Statistics statistics;
+    private InMemoryMetricReader metricReader;
+
+    @BeforeEach
+    void setUp() {
+        statistics = mock(Statistics.class);
+        metricReader = InMemoryMetricReader.create();
+        SdkMeterProvider meterProvider = SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+        new HibernateStatisticsMetrics(statistics).bindMetrics(meterProvider.get("serversage"));
+    }
+
+    private MetricData metric(String name) {
+        return metricReader.collectAllMetrics().stream()
+                .filter(metric -> metric.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void testCountersReflectStatisticsAtCollection() {
+        // Given
+        when(statistics.getEntityLoadCount()).thenReturn(1000L);
+        when(statistics.getEntityFetchCount()).thenReturn(999L);
+        when(statistics.getQueryExecutionCount()).thenReturn(1L);
+        when(statistics.getQueryExecutionMaxTime()).thenReturn(250L);
+
+        // When
+        Map<String, Long> entityOperations = metric("serversage_hibernate_entity_operations_total")
+                .getLongSumData().getPoints().stream()
+                .collect(Collectors.toMap(point -> point.getAttributes().get(AttributeKey.stringKey("operation")),
+                        LongPointData::getValue));
+
+        // Then
+        assertEquals(1000L, entityOperations.get("load"));
+        assertEquals(999L, entityOperations.get("fetch"));
+        assertEquals(1L, metric("serversage_hibernate_queries_total").getLongSumData().getPoints().iterator().next().getValue());
+        assertEquals(0.25, metric("serversage_hibernate_query_execution_max_seconds")
+                .getDoubleGaugeData().getPoints().iterator().next().getValue(), 1e-9);
+    }
+
+    @Test
+    void testCacheHitRatioOnlyReportedOnceUsed() {
+        // Given
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(3L);
+        when(statistics.getSecondLevelCacheMissCount()).thenReturn(1L);
+
+        // When
+        Map<Attributes, Double> ratios = metric("serversage_hibernate_cache_hit_ratio")
+                .getDoubleGaugeData().getPoints().stream()
+                .collect(Collectors.toMap(DoublePointData::getAttributes, DoublePointData::getValue));
+
+        // Then
+        assertEquals(Map.of(Attributes.of(AttributeKey.stringKey("cache"), "second_level"), 0.75), ratios);
+    }
+}
@@ -0,0 +1,103 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramViewsTest {
+
+    private static final List<Double> HTTP_BOUNDARIES = List.of(0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0);
+
+    private InMemoryMetricReader metricReader;
+    private OpenTelemetry openTelemetry;
+    private ObservabilityService observabilityService;
+
+    @BeforeEach
+    void setUp() {
+        HistogramViewProperties.Settings http = new HistogramViewProperties.Settings();
+        http.setBoundaries(HTTP_BOUNDARIES);
+        HistogramViewProperties.Settings database = new HistogramViewProperties.Settings();
+        database.setAggregation(HistogramViewProperties.Aggregation.EXPONENTIAL);
+        database.setMaxBuckets(40);
+        HistogramViewProperties properties = new HistogramViewProperties();
+        properties.getInstruments().put("serversage_http_request_duration_seconds", http);
+        properties.getInstruments().put("serversage_database_operation_duration_seconds", database);
+
+        metricReader = InMemoryMetricReader.create();
+        SdkMeterProviderBuilder meterProviderBuilder = SdkMeterProvider.builder().registerMetricReader(metricReader);
+        HistogramViews.register(meterProviderBuilder, properties);
+        HistogramViews.setExemplarFilter(meterProviderBuilder, "trace_based");
+
+        openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().build())
+                .setMeterProvider(meterProviderBuilder.build())
+                .build();
+        observabilityService = new ObservabilityService(openTelemetry);
+    }
+
+    private MetricData metric(String name) {
+        return metricReader.collectAllMetrics().stream()
+                .filter(metric -> metric.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void testExplicitBoundariesSpreadSecondScaleLatencies() {
+        // When
+        observabilityService.recordHttpRequest("GET", "/api/users", 200, 3L);
+        observabilityService.recordHttpRequest("GET", "/api/users", 200, 40L);
+        observabilityService.recordHttpRequest("GET", "/api/users", 200, 700L);
+
+        // Then
+        HistogramPointData point = metric("serversage_http_request_duration_seconds")
+                .getHistogramData().getPoints().iterator().next();
+        assertEquals(HTTP_BOUNDARIES, point.getBoundaries());
+        assertEquals(List.of(1L, 0L, 0L, 1L, 0L, 0L, 0L, 1L, 0L), point.getCounts());
+    }
+
+    @Test
+    void testExponentialHistogramAndTraceBasedExemplars() {
+        // Given
+        Span span = openTelemetry.getTracer("test").spanBuilder("query").startSpan();
+
+        // When
+        try (Scope ignored = span.makeCurrent()) {
+            observabilityService.recordDatabaseOperation("SELECT", "users", 2L, true);
+        }
+        observabilityService.recordDatabaseOperation("SELECT", "users", 5L, true);
+        span.end();
+
+        // Then
+        MetricData database = metric("serversage_database_operation_duration_seconds");
+        assertEquals(MetricDataType.EXPONENTIAL_HISTOGRAM, database.getType());
+        var point = database.getExponentialHistogramData().getPoints().iterator().next();
+        assertEquals(2, point.getCount());
+        assertEquals(1, point.getExemplars().size());
+        assertEquals(span.getSpanContext().getTraceId(), point.getExemplars().get(0).getSpanContext().getTraceId());
+    }
+
+    @Test
+    void testExplicitAggregationRequiresBoundaries() {
+        // Given
+        HistogramViewProperties.Settings settings = new HistogramViewProperties.Settings();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> HistogramViews.aggregation("x", settings));
+        assertThrows(IllegalArgumentException.class, () -> HistogramViews.exemplarFilter("sometimes"));
+    }
+}
@@ -0,0 +1,126 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class HttpObservabilityInterceptorTest {
+
+    private InMemorySpanExporter spanExporter;
+    private InMemoryMetricReader metricReader;
+    private ObservabilityService observabilityService;
+    private QueryBudget queryBudget;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        metricReader = InMemoryMetricReader.create();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                        .build())
+                .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+                .build();
+        observabilityService = new ObservabilityService(openTelemetry);
+        queryBudget = new QueryBudget(new QueryBudgetProperties());
+        mockMvc = MockMvcBuilders.standaloneSetup(new AsyncController())
+                .addInterceptors(new HttpObservabilityInterceptor(observabilityService, queryBudget))
+                .build();
+    }
+
+    @Test
+    void testAsyncRequestEndsOneServerSpanAndReleasesThread() throws Exception {
+        // Given
+        MvcResult started = mockMvc.perform(get("/api/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then - nothing from the first dispatch is left on the container thread
+        assertFalse(Span.current().getSpanContext().isValid());
+        assertFalse(observabilityService.getErrorLedger().inRequest());
+        queryBudget.onStatement("select * from users");
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty(), "span stays open until the async dispatch");
+
+        // When
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        // Then
+        List<SpanData> serverSpans = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER)
+                .toList();
+        assertEquals(1, serverSpans.size());
+        assertEquals("GET /api/async", serverSpans.get(0).getName());
+        assertEquals(0L, serverSpans.get(0).getAttributes().get(QueryBudget.QUERY_COUNT));
+        assertFalse(Span.current().getSpanContext().isValid());
+        assertFalse(observabilityService.getErrorLedger().inRequest());
+    }
+
+    @Test
+    void testSyncRequestClosesItsScope() throws Exception {
+        // When
+        mockMvc.perform(get("/api/sync")).andExpect(status().isOk());
+
+        // Then
+        assertEquals(1, spanExporter.getFinishedSpanItems().size());
+        assertFalse(Span.current().getSpanContext().isValid());
+    }
+
+    @Test
+    void testRequestDurationIsRecordedInSeconds() throws Exception {
+        // When
+        mockMvc.perform(get("/api/slow")).andExpect(status().isOk());
+
+        // Then
+        HistogramPointData point = metricReader.collectAllMetrics().stream()
+                .filter(metric -> metric.getName().equals("serversage_http_request_duration_seconds"))
+                .flatMap(metric -> metric.getHistogramData().getPoints().stream())
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, point.getCount());
+        assertTrue(point.getSum() >= 0.05 && point.getSum() < 5.0, "50ms sleep recorded as " + point.getSum() + "s");
+    }
+
+    @RestController
+    static class AsyncController {
+
+        @GetMapping("/api/async")
+        CompletableFuture<String> async() {
+            return CompletableFuture.completedFuture("done");
+        }
+
+        @GetMapping("/api/sync")
+        String sync() {
+            return "done";
+        }
+
+        @GetMapping("/api/slow")
+        String slow() throws InterruptedException {
+            Thread.sleep(50);
+            return "done";
+        }
+    }
+}
@@ -152,6 +152,38 @@ class ObservabilityServiceTest {
         assertEquals("Test exception", span.getStatus().getDescription());
     }
 
+    @Test
+    void testNestedFailureIsRecordedOnce() {
+        // Given
+        RuntimeException failure = new IllegalStateException("inner failure");
+
+        // When
+        observabilityService.getErrorLedger().beginRequest();
+        assertThrows(IllegalStateException.class, () ->
+            observabilityService.executeInSpan("outer", "test-component", () ->
+                observabilityService.executeInSpan("inner", "test-component", () -> {
+                    throw failure;
+                })));
+        boolean firstClaim = observabilityService.claimError(failure, "IllegalStateException");
+        boolean secondClaim = observabilityService.claimError(failure, "IllegalStateException");
+        ErrorLedger.Origin origin = observabilityService.getErrorLedger().origin(failure);
+        observabilityService.getErrorLedger().endRequest();
+
+        // Then
+        var spans = spanExporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+        assertTrue(spans.stream().allMatch(span -> span.getStatus().getStatusCode() == StatusCode.ERROR));
+        assertEquals(1, spans.stream().mapToLong(span -> span.getEvents().size()).sum(), "one exception event");
+        assertEquals(1, spans.stream().filter(span -> span.getName().equals("inner")).findFirst().orElseThrow().getEvents().size());
+        assertEquals("test-component.inner", origin.toString());
+        assertTrue(firstClaim);
+        assertFalse(secondClaim);
+        var errors = metricReader.collectAllMetrics().stream()
+                .filter(metric -> metric.getName().equals("serversage_errors_total"))
+                .findFirst().orElseThrow();
+        assertEquals(1, errors.getLongSumData().getPoints().iterator().next().getValue());
+    }
+
     @Test
     void testExecuteInSpanVoid() {
         // Given
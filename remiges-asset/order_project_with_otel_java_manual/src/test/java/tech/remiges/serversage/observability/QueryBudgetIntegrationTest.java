@@ -0,0 +1,92 @@
+package tech.remiges.serversage.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.remiges.serversage.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests through the real interceptor, Hibernate and tracing DataSource with the
+ * test profile, where {@code observability.query-budget.action=fail} keeps over-budget
+ * requests as violations.
+ */
+@SpringBootTest(properties = "spring.sql.init.mode=never")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudgetIntegrationTest.NPlusOneController.class)
+class QueryBudgetIntegrationTest {
+
+    private static final int USERS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @AfterEach
+    void tearDown() {
+        queryBudget.clearViolations();
+    }
+
+    @Test
+    void testNPlusOneRequestFailsTheBudget() throws Exception {
+        // When
+        mockMvc.perform(get("/api/test/users-one-by-one")).andExpect(status().isOk());
+
+        // Then
+        List<QueryBudget.Violation> violations = queryBudget.violations();
+        assertEquals(1, violations.size());
+        QueryBudget.Violation violation = violations.get(0);
+        assertEquals("/api/test/users-one-by-one", violation.route());
+        assertEquals(USERS, violation.queries());
+        assertEquals(20, violation.budget());
+        assertEquals(List.of(USERS), List.copyOf(violation.suspects().values()), "one statement repeated per user");
+        assertThrows(AssertionError.class, queryBudget::assertNoViolations);
+    }
+
+    @Test
+    void testRequestWithinBudgetPasses() throws Exception {
+        // When
+        mockMvc.perform(get("/api/test/users-at-once")).andExpect(status().isOk());
+
+        // Then
+        queryBudget.assertNoViolations();
+    }
+
+    @RestController
+    static class NPlusOneController {
+
+        private final UserRepository userRepository;
+
+        NPlusOneController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @GetMapping("/api/test/users-one-by-one")
+        long usersOneByOne() {
+            return LongStream.rangeClosed(1, USERS)
+                    .filter(id -> userRepository.findById(id).isPresent())
+                    .count();
+        }
+
+        @GetMapping("/api/test/users-at-once")
+        int usersAtOnce() {
+            return userRepository.findAllById(LongStream.rangeClosed(1, USERS).boxed().toList()).size();
+        }
+    }
+}
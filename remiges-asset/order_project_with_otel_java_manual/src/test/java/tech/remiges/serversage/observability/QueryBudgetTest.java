@@ -0,0 +1,123 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.remiges.serversage.config.TracingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetTest {
+
+    private QueryBudgetProperties properties;
+    private QueryBudget queryBudget;
+    private InMemorySpanExporter spanExporter;
+    private Tracer tracer;
+    private TracingDataSource tracingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        properties = new QueryBudgetProperties();
+        properties.setSuspectRepeats(3);
+        properties.getRoutes().put("/api/users/{id}/activate", 2);
+        queryBudget = new QueryBudget(properties);
+
+        spanExporter = InMemorySpanExporter.create();
+        tracer = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build()
+                .get("test");
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:budget;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, role VARCHAR(20))");
+        }
+        tracingDataSource = new TracingDataSource(dataSource, tracer, queryBudget);
+    }
+
+    private void selectUsers(int times) throws SQLException {
+        Connection connection = tracingDataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (int id = 1; id <= times; id++) {
+                statement.executeQuery("select u.id, u.role from users u where u.id = " + id).close();
+            }
+        }
+        connection.close();
+    }
+
+    @Test
+    void testRepeatedShapesAreReportedAsNPlusOne() throws SQLException {
+        // When
+        QueryBudget.Recording recording = queryBudget.record();
+        try (recording) {
+            selectUsers(4);
+        }
+        selectUsers(1);
+
+        // Then
+        assertEquals(4, recording.count());
+        assertEquals(Map.of("select u.id, u.role from users u where u.id = ?", 4), recording.suspects(3));
+        assertDoesNotThrow(() -> recording.assertAtMost(4));
+        assertThrows(AssertionError.class, () -> recording.assertAtMost(3));
+        assertThrows(AssertionError.class, recording::assertNoNPlusOne);
+    }
+
+    @Test
+    void testExceededBudgetIsTaggedAndKeptInFailMode() throws SQLException {
+        // Given
+        properties.setAction(QueryBudgetProperties.Action.FAIL);
+        Span span = tracer.spanBuilder("POST /api/users/{id}/activate").startSpan();
+
+        // When
+        QueryBudget.Recording recording = queryBudget.beginRequest();
+        selectUsers(3);
+        queryBudget.endRequest(recording, "/api/users/{id}/activate", span);
+        span.end();
+
+        // Then
+        SpanData data = spanExporter.getFinishedSpanItems().stream()
+                .filter(finished -> finished.getName().startsWith("POST"))
+                .findFirst().orElseThrow();
+        assertEquals(3L, data.getAttributes().get(QueryBudget.QUERY_COUNT));
+        assertEquals(2L, data.getAttributes().get(QueryBudget.QUERY_BUDGET));
+        assertEquals(Boolean.TRUE, data.getAttributes().get(QueryBudget.BUDGET_EXCEEDED));
+        assertEquals(1L, data.getAttributes().get(QueryBudget.SUSPECT_COUNT));
+        assertEquals(1, queryBudget.violations().size());
+        assertThrows(AssertionError.class, queryBudget::assertNoViolations);
+    }
+
+    @Test
+    void testLogModeOnlyLogs() throws SQLException {
+        // Given
+        properties.setAction(QueryBudgetProperties.Action.LOG);
+        Span span = tracer.spanBuilder("GET /api/users").startSpan();
+
+        // When
+        QueryBudget.Recording recording = queryBudget.beginRequest();
+        selectUsers(1);
+        selectUsers(2);
+        queryBudget.endRequest(recording, "/api/users/{id}/activate", span);
+        span.end();
+
+        // Then
+        assertNull(spanExporter.getFinishedSpanItems().stream()
+                .filter(finished -> finished.getName().startsWith("GET"))
+                .findFirst().orElseThrow()
+                .getAttributes().get(QueryBudget.BUDGET_EXCEEDED));
+        assertTrue(queryBudget.violations().isEmpty());
+        assertDoesNotThrow(queryBudget::assertNoViolations);
+    }
+}
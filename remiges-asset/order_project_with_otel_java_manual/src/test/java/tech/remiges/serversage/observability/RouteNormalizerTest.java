@@ -0,0 +1,47 @@
+package tech.remiges.serversage.observability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteNormalizerTest {
+
+    @Test
+    void testNumericSegmentsBecomeIds() {
+        assertEquals("/api/users/{id}", RouteNormalizer.normalize("/api/users/42"));
+        assertEquals("/api/users/{id}/orders/{id}", RouteNormalizer.normalize("/api/users/7/orders/1001"));
+        assertEquals("/api/orders/{id}/", RouteNormalizer.normalize("/api/orders/12/"));
+    }
+
+    @Test
+    void testUuidSegmentsBecomeUuids() {
+        assertEquals("/api/sessions/{uuid}",
+                RouteNormalizer.normalize("/api/sessions/123e4567-e89b-12d3-a456-426614174000"));
+        assertEquals("/api/sessions/{uuid}/events",
+                RouteNormalizer.normalize("/api/sessions/ABCDEF01-2345-6789-ABCD-EF0123456789/events"));
+        assertEquals("/api/sessions/123e4567-e89b-12d3-a456-42661417400",
+                RouteNormalizer.normalize("/api/sessions/123e4567-e89b-12d3-a456-42661417400"), "one digit short");
+    }
+
+    @Test
+    void testMixedSegmentsAreKept() {
+        assertEquals("/api/v2/reports/2024-q1", RouteNormalizer.normalize("/api/v2/reports/2024-q1"));
+        assertEquals("/api/users/42abc", RouteNormalizer.normalize("/api/users/42abc"));
+        assertEquals("/api/products/category/electronics",
+                RouteNormalizer.normalize("/api/products/category/electronics"));
+    }
+
+    @Test
+    void testQueryStringIsDropped() {
+        assertEquals("/api/users/search", RouteNormalizer.normalize("/api/users/search?keyword=john"));
+        assertEquals("/api/users/{id}", RouteNormalizer.normalize("/api/users/42?fields=name/7"));
+        assertEquals("/", RouteNormalizer.normalize(""));
+        assertEquals("/", RouteNormalizer.normalize(null));
+    }
+
+    @Test
+    void testUnchangedPathIsReturnedAsIs() {
+        String path = "/api/users";
+        assertSame(path, RouteNormalizer.normalize(path));
+    }
+}
@@ -0,0 +1,169 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanProcessorTest {
+
+    private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+    private TailSamplingSpanProcessor processor;
+
+    private Tracer tracer(double ratio) {
+        return tracer(ratio, 500, 60_000);
+    }
+
+    private Tracer tracer(double ratio, long slowThresholdMillis, long decisionWaitMillis) {
+        processor = TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(spanExporter))
+                .setRatio(ratio)
+                .setSlowThresholdMillis(slowThresholdMillis)
+                .setDecisionWaitMillis(decisionWaitMillis)
+                .build();
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        return tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    @Test
+    void testFastSuccessfulTraceIsDropped() {
+        // Given
+        Tracer tracer = tracer(0.0);
+
+        // When
+        Span root = tracer.spanBuilder("GET /api/users").startSpan();
+        tracer.spanBuilder("UserService.getAllUsers").setParent(Context.current().with(root)).startSpan().end();
+        root.end();
+
+        // Then
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+        assertEquals(0, processor.bufferedTraceCount());
+    }
+
+    @Test
+    void testTraceWithErrorIsKeptCompletely() {
+        // Given
+        Tracer tracer = tracer(0.0);
+
+        // When
+        Span root = tracer.spanBuilder("GET /api/users/999").startSpan();
+        Span child = tracer.spanBuilder("UserService.getUserById").setParent(Context.current().with(root)).startSpan();
+        child.setStatus(StatusCode.ERROR, "boom");
+        child.end();
+        root.end();
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+    }
+
+    @Test
+    void testSlowTraceIsKept() {
+        // Given
+        Tracer tracer = tracer(0.0);
+        Instant start = Instant.now();
+
+        // When
+        Span root = tracer.spanBuilder("GET /api/analytics").setStartTimestamp(start).startSpan();
+        root.end(start.plusMillis(800));
+
+        // Then
+        assertEquals(1, spanExporter.getFinishedSpanItems().size());
+    }
+
+    @Test
+    void testRatioOneKeepsEverythingAndLateSpansFollowDecision() {
+        // Given
+        Tracer tracer = tracer(1.0);
+
+        // When
+        Span root = tracer.spanBuilder("GET /api/products").startSpan();
+        Span lateChild = tracer.spanBuilder("async-work").setParent(Context.current().with(root)).startSpan();
+        root.end();
+        lateChild.end(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.NANOSECONDS);
+
+        // Then
+        assertEquals(2, spanExporter.getFinishedSpanItems().size());
+    }
+
+    @Test
+    void testLateSpanOfDroppedTraceIsDropped() {
+        // Given
+        Tracer tracer = tracer(0.0);
+
+        // When
+        Span root = tracer.spanBuilder("GET /api/orders").startSpan();
+        Span lateChild = tracer.spanBuilder("async-work").setParent(Context.current().with(root)).startSpan();
+        root.end();
+        lateChild.end();
+
+        // Then
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    void testSweptTraceOpenLongerThanSlowThresholdIsKept() throws InterruptedException {
+        // Given - the root never ends
+        Tracer tracer = tracer(0.0, 20, 30);
+        Span root = tracer.spanBuilder("GET /api/reports").startSpan();
+        tracer.spanBuilder("ReportService.build").setParent(Context.current().with(root)).startSpan().end();
+
+        // When
+        Thread.sleep(40);
+        processor.sweep();
+
+        // Then
+        assertEquals(1, spanExporter.getFinishedSpanItems().size());
+        assertEquals(0, processor.bufferedTraceCount());
+    }
+
+    @Test
+    void testSweptTraceWithSlowSpanIsKept() throws InterruptedException {
+        // Given
+        Tracer tracer = tracer(0.0, 500, 30);
+        Instant start = Instant.now();
+        Span root = tracer.spanBuilder("GET /api/reports").setStartTimestamp(start).startSpan();
+        tracer.spanBuilder("ReportService.build").setParent(Context.current().with(root))
+                .setStartTimestamp(start).startSpan().end(start.plusMillis(800));
+
+        // When
+        Thread.sleep(40);
+        processor.sweep();
+
+        // Then
+        assertEquals(1, spanExporter.getFinishedSpanItems().size());
+    }
+
+    @Test
+    void testSweptFastTraceIsDropped() throws InterruptedException {
+        // Given
+        Tracer tracer = tracer(0.0, 500, 30);
+        Span root = tracer.spanBuilder("GET /api/reports").startSpan();
+        tracer.spanBuilder("ReportService.build").setParent(Context.current().with(root)).startSpan().end();
+
+        // When
+        Thread.sleep(40);
+        processor.sweep();
+
+        // Then
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+        assertEquals(0, processor.bufferedTraceCount());
+    }
+}
@@ -0,0 +1,99 @@
+package tech.remiges.serversage.observability;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryOverheadMonitorTest {
+
+    private TelemetryOverheadMonitor monitor;
+    private InMemoryMetricReader metricReader;
+    private ObservabilityService observabilityService;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new TelemetryOverheadMonitor(Duration.ofNanos(1));
+        metricReader = InMemoryMetricReader.create();
+        SdkMeterProvider meterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(metricReader)
+                .build();
+        monitor.bindMetrics(meterProvider.get("serversage.telemetry"));
+
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(monitor.spanCounter())
+                .build();
+        OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setMeterProvider(meterProvider)
+                .build();
+        observabilityService = new ObservabilityService(openTelemetry, monitor);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRequestOverheadIsAttributedByCategory() {
+        // Given
+        monitor.beginRequest();
+
+        // When
+        observabilityService.startSpan("UserService.getUserById").end();
+        observabilityService.addSpanAttribute("user.id", "42");
+        observabilityService.recordHttpRequest("GET", "/api/users/{id}", 200, 12L);
+        monitor.endRequest();
+
+        // Then
+        Map<String, Object> snapshot = monitor.snapshot();
+        Map<String, Object> categories = (Map<String, Object>) snapshot.get("categories");
+        for (TelemetryOverheadMonitor.Category category : TelemetryOverheadMonitor.Category.values()) {
+            Map<String, Object> entry = (Map<String, Object>) categories.get(category.label());
+            assertTrue((Long) entry.get("operations") > 0, category.label());
+        }
+        Map<String, Object> perRequest = (Map<String, Object>) snapshot.get("perRequest");
+        assertEquals(1L, perRequest.get("requests"));
+        assertEquals(1.0, perRequest.get("avgSpans"));
+        assertEquals(1L, perRequest.get("budgetExceeded"));
+    }
+
+    @Test
+    void testWorkOutsideRequestCountsOnlyGlobally() {
+        // When
+        observabilityService.startSpan("background").end();
+        monitor.endRequest();
+
+        // Then
+        assertEquals(1L, monitor.snapshot().get("spansStarted"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> perRequest = (Map<String, Object>) monitor.snapshot().get("perRequest");
+        assertEquals(0L, perRequest.get("requests"));
+    }
+
+    @Test
+    void testOverheadIsExportedAsMetrics() {
+        // Given
+        monitor.registerExportQueue("traces", () -> 7, () -> 2);
+        monitor.beginRequest();
+        observabilityService.logInfo("hello");
+
+        // When
+        monitor.endRequest();
+        Collection<MetricData> metrics = metricReader.collectAllMetrics();
+
+        // Then
+        assertTrue(metrics.stream().anyMatch(m -> m.getName().equals("serversage_telemetry_request_overhead_seconds")));
+        assertTrue(metrics.stream().anyMatch(m -> m.getName().equals("serversage_telemetry_spans_per_request")));
+        assertTrue(metrics.stream().anyMatch(m -> m.getName().equals("serversage_telemetry_overhead_budget_exceeded_total")));
+        assertEquals(Map.of("backlog", 7L, "dropped", 2L),
+                ((Map<?, ?>) monitor.snapshot().get("exporters")).get("traces"));
+    }
+}
@@ -0,0 +1,97 @@
+package tech.remiges.serversage.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.UserPatch;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryImplTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:user-patch;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+                    + "email VARCHAR(255), role VARCHAR(50), updated_at TIMESTAMP)");
+            statement.execute("DELETE FROM users");
+            statement.execute("INSERT INTO users (id, name, email, role) VALUES (1, 'John Doe', 'john@example.com', 'INACTIVE'), "
+                    + "(2, 'Jane Smith', 'jane@example.com', 'ADMIN')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testConditionalPatchReturnsUpdatedRow() throws SQLException {
+        // Given
+        UserPatch activate = UserPatch.role("USER").ifRoleIs("INACTIVE", "User is already active");
+
+        // When
+        Optional<User> patched = UserRepositoryImpl.patch(connection, UserRepositoryImpl.Style.FINAL_TABLE, 1L, activate);
+        Optional<User> again = UserRepositoryImpl.patch(connection, UserRepositoryImpl.Style.FINAL_TABLE, 1L, activate);
+
+        // Then
+        assertTrue(patched.isPresent());
+        assertEquals(1L, patched.get().getId());
+        assertEquals("John Doe", patched.get().getName());
+        assertEquals("USER", patched.get().getRole());
+        assertTrue(again.isEmpty(), "precondition no longer holds");
+        assertEquals("USER", role(1L));
+        assertNotNull(updatedAt(1L), "patch stamps updated_at");
+    }
+
+    @Test
+    void testFailedPreconditionLeavesRowUntouched() throws SQLException {
+        // Given
+        UserPatch deactivate = UserPatch.role("INACTIVE").unlessRoleIs("ADMIN", "Cannot deactivate admin users");
+
+        // When
+        Optional<User> admin = UserRepositoryImpl.patch(connection, UserRepositoryImpl.Style.FINAL_TABLE, 2L, deactivate);
+        Optional<User> missing = UserRepositoryImpl.patch(connection, UserRepositoryImpl.Style.FINAL_TABLE, 3L, deactivate);
+        Optional<User> reread = UserRepositoryImpl.patch(connection, UserRepositoryImpl.Style.REREAD, 1L, deactivate);
+
+        // Then
+        assertTrue(admin.isEmpty());
+        assertTrue(missing.isEmpty());
+        assertEquals("ADMIN", role(2L));
+        assertNull(updatedAt(2L));
+        assertEquals("INACTIVE", reread.orElseThrow().getRole());
+        assertEquals(UserRepositoryImpl.Style.RETURNING, UserRepositoryImpl.style("PostgreSQL"));
+        assertEquals(UserRepositoryImpl.Style.FINAL_TABLE, UserRepositoryImpl.style("H2"));
+    }
+
+    private String role(long id) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT role FROM users WHERE id = " + id)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private Timestamp updatedAt(long id) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT updated_at FROM users WHERE id = " + id)) {
+            resultSet.next();
+            return resultSet.getTimestamp(1);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package tech.remiges.serversage.resilience;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.remiges.serversage.exception.CustomExceptions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalCallExecutorTest {
+
+    private ExternalCallExecutor executor;
+    private InMemoryMetricReader metricReader;
+
+    @BeforeEach
+    void setUp() {
+        ExternalCallProperties.Settings settings = new ExternalCallProperties.Settings();
+        settings.setTimeoutMs(200);
+        settings.setMaxConcurrentCalls(1);
+        settings.setFailureThreshold(2);
+        settings.setOpenStateMs(60_000);
+
+        ExternalCallProperties properties = new ExternalCallProperties();
+        properties.getDependencies().put("payment", settings);
+
+        ExternalCallProperties.Settings singleSlot = new ExternalCallProperties.Settings();
+        singleSlot.setTimeoutMs(5000);
+        singleSlot.setMaxConcurrentCalls(1);
+        properties.getDependencies().put("inventory", singleSlot);
+
+        metricReader = InMemoryMetricReader.create();
+        OpenTelemetry openTelemetry = OpenTelemetrySdk.builder()
+                .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+                .build();
+
+        executor = new ExternalCallExecutor(properties, openTelemetry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testSuccessfulCallCompletes() throws Exception {
+        // When
+        CompletableFuture<String> result = executor.execute("payment", () -> "TXN_1");
+
+        // Then
+        assertEquals("TXN_1", result.get(1, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getCircuitState("payment"));
+    }
+
+    @Test
+    void testDeadlineFailsFastAndInterruptsWorker() throws Exception {
+        // Given
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<String> result = executor.execute("payment", () -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            } finally {
+                finished.countDown();
+            }
+            return "late";
+        });
+
+        // Then
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(CustomExceptions.TimeoutException.class, ex.getCause());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+        assertTrue(metricReader.collectAllMetrics().stream()
+                .anyMatch(metric -> metric.getName().equals("serversage_external_call_timeouts_total")));
+    }
+
+    @Test
+    void testBulkheadRejectsWhenFull() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = executor.execute("inventory", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        });
+
+        // When
+        CompletableFuture<String> second = executor.execute("inventory", () -> "second");
+
+        // Then
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(CustomExceptions.ExternalServiceException.class, ex.getCause());
+        release.countDown();
+        assertEquals("first", first.get(1, TimeUnit.SECONDS));
+        assertTrue(metricReader.collectAllMetrics().stream()
+                .anyMatch(metric -> metric.getName().equals("serversage_external_call_rejections_total")));
+    }
+
+    @Test
+    void testCircuitOpensAfterConsecutiveFailures() {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<String> failed = executor.execute("payment", () -> {
+                throw new CustomExceptions.ExternalServiceException("down");
+            });
+            assertThrows(ExecutionException.class, () -> failed.get(1, TimeUnit.SECONDS));
+        }
+
+        // When
+        CompletableFuture<String> rejected = executor.execute("payment", () -> "never");
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, executor.getCircuitState("payment"));
+        assertTrue(rejected.isCompletedExceptionally());
+        assertTrue(metricReader.collectAllMetrics().stream()
+                .anyMatch(metric -> metric.getName().equals("serversage_circuit_breaker_state")));
+    }
+
+    @Test
+    void testCircuitBreakerHalfOpenProbe() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, 100, clock::get);
+        breaker.onFailure();
+        assertFalse(breaker.tryAcquirePermission());
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+
+        // Then
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -7,8 +7,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import tech.remiges.serversage.chaos.ChaosEngine;
 import tech.remiges.serversage.exception.CustomExceptions;
 import tech.remiges.serversage.model.User;
+import tech.remiges.serversage.model.UserPatch;
 import tech.remiges.serversage.observability.ObservabilityService;
 import tech.remiges.serversage.repository.UserRepository;
 
@@ -35,6 +37,9 @@ class UserServiceTest {
     @Mock
     private ObservabilityService observabilityService;
 
+    @Mock
+    private ChaosEngine chaosEngine;
+
     @InjectMocks
     private UserService userService;
 
@@ -458,6 +463,36 @@ class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void patchUser_ShouldReturnPatchedUser_WithoutReadingFirst() {
+        // Given
+        UserPatch patch = UserPatch.role("INACTIVE").unlessRoleIs("ADMIN", "Cannot deactivate admin users");
+        when(userRepository.patch(1L, patch)).thenReturn(Optional.of(testUser));
+
+        // When
+        Optional<User> result = userService.patchUser(1L, patch);
+
+        // Then
+        assertTrue(result.isPresent());
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void patchUser_ShouldDistinguishConflictFromMissingUser() {
+        // Given
+        UserPatch patch = UserPatch.role("INACTIVE").unlessRoleIs("ADMIN", "Cannot deactivate admin users");
+        when(userRepository.patch(anyLong(), eq(patch))).thenReturn(Optional.empty());
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.existsById(3L)).thenReturn(false);
+
+        // When & Then
+        CustomExceptions.BusinessLogicException conflict = assertThrows(CustomExceptions.BusinessLogicException.class,
+                () -> userService.patchUser(2L, patch));
+        assertEquals("Cannot deactivate admin users", conflict.getMessage());
+        assertFalse(userService.patchUser(3L, patch).isPresent());
+    }
+
     @Test
     void deleteUser_ShouldDeleteUser_WhenUserExists() {
         // Given
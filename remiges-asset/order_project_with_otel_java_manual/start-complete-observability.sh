@@ -189,7 +189,7 @@ java -javaagent:opentelemetry-javaagent.jar \
      -Dotel.instrumentation.spring-data.enabled=true \
      -Dotel.instrumentation.jdbc.enabled=true \
      -Dotel.instrumentation.logback-appender.enabled=true \
-     -jar target/serversage-0.0.1-SNAPSHOT.jar &
+     -jar target/serversage-0.0.1-SNAPSHOT-exec.jar &
 
 APP_PID=$!
 
@@ -24,7 +24,7 @@ DATABASE_URL=jdbc:postgresql://localhost:5432/serversage \
 DATABASE_USERNAME=postgres \
 DATABASE_PASSWORD=password \
 OTEL_EXPORTER_OTLP_ENDPOINT=http://localhost:4317 \
-java -jar target/serversage-0.0.1-SNAPSHOT.jar > app.log 2>&1 &
+java -jar target/serversage-0.0.1-SNAPSHOT-exec.jar > app.log 2>&1 &
 
 # Wait for app to start
 echo "⏳ Waiting for application to start..."